@@ -0,0 +1,31 @@
+package com.praktikum.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Menjalankan seluruh benchmark untuk beberapa jumlah thread sekaligus,
+ * dengan GC profiler untuk melaporkan alokasi per operasi (gc.alloc.rate.norm)
+ *
+ * Argumen opsional: regex benchmark, lalu daftar jumlah thread, misal
+ * "EnrollmentServiceBenchmark 1,4,8"
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com.praktikum.benchmark.*";
+        String threadList = args.length > 1 ? args[1] : "1,4,8";
+
+        for (String threads : threadList.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
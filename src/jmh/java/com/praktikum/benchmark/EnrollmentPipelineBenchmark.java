@@ -0,0 +1,88 @@
+package com.praktikum.benchmark;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentPipeline;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark throughput EnrollmentPipeline
+ * Publish menunggu jika ring buffer penuh, sehingga throughput publish dalam
+ * kondisi stabil sama dengan throughput tahap paling lambat. Perhatikan
+ * gc.alloc.rate.norm dari BenchmarkRunner untuk alokasi per perintah.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrollmentPipelineBenchmark {
+    private static final int STUDENT_COUNT = 1_024;
+    private static final int CATALOG_SIZE = 256;
+
+    @Param({"1024", "16384"})
+    public int bufferSize;
+
+    private EnrollmentService enrollmentService;
+    private EnrollmentPipeline pipeline;
+    private String[] studentIds;
+    private String[] courseCodes;
+    private final AtomicLong correlation = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        studentIds = new String[STUDENT_COUNT];
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            studentIds[i] = "S" + i;
+            studentRepository.update(new Student(studentIds[i], "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        courseCodes = new String[CATALOG_SIZE];
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            courseCodes[i] = "C" + i;
+            courseRepository.update(new Course(courseCodes[i], "Course " + i, 3,
+                    Integer.MAX_VALUE, 0, "Dr. " + i));
+        }
+
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                new EnrollmentServiceBenchmark.NoOpNotificationService(), new GradeCalculator());
+        // Kembalikan beban SKS di tahap hasil supaya batas SKS tidak menolak perintah berulang
+        pipeline = new EnrollmentPipeline(enrollmentService,
+                (correlationId, studentId, courseCode, error) -> enrollmentService.setCurrentCredits(studentId, 0),
+                bufferSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public long publish() {
+        long id = correlation.getAndIncrement();
+        return pipeline.publish(id, studentIds[(int) id & (STUDENT_COUNT - 1)],
+                courseCodes[(int) (id >>> 10) & (CATALOG_SIZE - 1)]);
+    }
+}
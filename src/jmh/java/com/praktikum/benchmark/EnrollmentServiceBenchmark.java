@@ -0,0 +1,114 @@
+package com.praktikum.benchmark;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import com.praktikum.tools.ZipfSampler;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark EnrollmentService dengan repository in-memory
+ * Jumlah thread diatur lewat opsi -t JMH atau BenchmarkRunner.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrollmentServiceBenchmark {
+    private static final int STUDENT_COUNT = 10_000;
+
+    @Param({"100", "20000"})
+    public int catalogSize;
+
+    // Exponent Zipf popularitas mata kuliah: 0 = seragam, 1.1 = sangat timpang
+    @Param({"0", "1.1"})
+    public double hotCourseSkew;
+
+    private EnrollmentService enrollmentService;
+    private String[] studentIds;
+    private String[] courseCodes;
+    private ZipfSampler courseSampler;
+
+    /**
+     * State per thread agar sumber acak tidak berbagi lock
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    static class NoOpNotificationService implements NotificationService {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        studentIds = new String[STUDENT_COUNT];
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            studentIds[i] = "S" + i;
+            studentRepository.update(new Student(studentIds[i], "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 1 + i % 8, 2.0 + (i % 200) / 100.0, "ACTIVE"));
+        }
+
+        courseCodes = new String[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            courseCodes[i] = "C" + i;
+            // Kapasitas tak terbatas agar benchmark mengukur jalur sukses
+            courseRepository.update(new Course(courseCodes[i], "Course " + i, 3,
+                    Integer.MAX_VALUE, 0, "Dr. " + (i % 50)));
+        }
+
+        courseSampler = new ZipfSampler(catalogSize, hotCourseSkew);
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                new NoOpNotificationService(), new GradeCalculator());
+    }
+
+    @Benchmark
+    public Enrollment enrollCourse(ThreadState state) {
+        String studentId = studentIds[state.random.nextInt(STUDENT_COUNT)];
+        // Reset beban SKS supaya batas SKS tidak menolak enrollment berulang
+        enrollmentService.setCurrentCredits(studentId, 0);
+        return enrollmentService.enrollCourse(studentId, courseCodes[courseSampler.next(state.random)]);
+    }
+
+    @Benchmark
+    public void dropCourse(ThreadState state) {
+        enrollmentService.dropCourse(studentIds[state.random.nextInt(STUDENT_COUNT)],
+                courseCodes[courseSampler.next(state.random)]);
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit(ThreadState state) {
+        return enrollmentService.validateCreditLimit(studentIds[state.random.nextInt(STUDENT_COUNT)],
+                12 + state.random.nextInt(16));
+    }
+}
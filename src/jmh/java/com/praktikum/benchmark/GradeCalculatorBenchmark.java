@@ -0,0 +1,76 @@
+package com.praktikum.benchmark;
+
+import com.praktikum.model.CourseGrade;
+import com.praktikum.service.GradeCalculator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark GradeCalculator
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GradeCalculatorBenchmark {
+    private static final int SAMPLE_COUNT = 4096;
+
+    // Jumlah mata kuliah per transkrip
+    @Param({"8", "64"})
+    public int gradeCount;
+
+    private GradeCalculator gradeCalculator;
+    private List<CourseGrade> grades;
+    private double[] gpas;
+    private int[] semesters;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        gradeCalculator = new GradeCalculator();
+        SplittableRandom random = new SplittableRandom(42);
+
+        grades = new ArrayList<>(gradeCount);
+        for (int i = 0; i < gradeCount; i++) {
+            grades.add(new CourseGrade("C" + i, 2 + random.nextInt(3), random.nextInt(5)));
+        }
+
+        gpas = new double[SAMPLE_COUNT];
+        semesters = new int[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            gpas[i] = Math.round(random.nextDouble() * 400) / 100.0;
+            semesters[i] = 1 + random.nextInt(8);
+        }
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return gradeCalculator.calculateGPA(grades);
+    }
+
+    @Benchmark
+    public String determineAcademicStatus() {
+        int i = cursor++ & (SAMPLE_COUNT - 1);
+        return gradeCalculator.determineAcademicStatus(gpas[i], semesters[i]);
+    }
+
+    @Benchmark
+    public int calculateMaxCredits() {
+        return gradeCalculator.calculateMaxCredits(gpas[cursor++ & (SAMPLE_COUNT - 1)]);
+    }
+}
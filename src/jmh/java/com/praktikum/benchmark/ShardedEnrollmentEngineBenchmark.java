@@ -0,0 +1,99 @@
+package com.praktikum.benchmark;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.ShardedEnrollmentEngine;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark skalabilitas ShardedEnrollmentEngine terhadap jumlah shard
+ * Setiap operasi mengirim satu batch perintah lalu menunggu semuanya selesai,
+ * sehingga throughput mencerminkan kapasitas thread shard, bukan pemanggil.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardedEnrollmentEngineBenchmark {
+    private static final int STUDENT_COUNT = 10_000;
+    private static final int CATALOG_SIZE = 1_000;
+    private static final int BATCH = 256;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private EnrollmentService enrollmentService;
+    private ShardedEnrollmentEngine engine;
+    private String[] studentIds;
+    private String[] courseCodes;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final SplittableRandom random = new SplittableRandom();
+        private final CompletableFuture<?>[] pending = new CompletableFuture<?>[BATCH];
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        studentIds = new String[STUDENT_COUNT];
+        for (int i = 0; i < STUDENT_COUNT; i++) {
+            studentIds[i] = "S" + i;
+            studentRepository.update(new Student(studentIds[i], "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 1 + i % 8, 3.5, "ACTIVE"));
+        }
+        courseCodes = new String[CATALOG_SIZE];
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            courseCodes[i] = "C" + i;
+            courseRepository.update(new Course(courseCodes[i], "Course " + i, 3,
+                    Integer.MAX_VALUE, 0, "Dr. " + (i % 50)));
+        }
+
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                new EnrollmentServiceBenchmark.NoOpNotificationService(), new GradeCalculator());
+        engine = new ShardedEnrollmentEngine(enrollmentService, shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void enrollBatch(ThreadState state) {
+        for (int i = 0; i < BATCH; i++) {
+            String studentId = studentIds[state.random.nextInt(STUDENT_COUNT)];
+            // Reset beban SKS supaya batas SKS tidak menolak enrollment berulang
+            enrollmentService.setCurrentCredits(studentId, 0);
+            state.pending[i] = engine.submitEnroll(studentId, courseCodes[state.random.nextInt(CATALOG_SIZE)]);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            state.pending[i].join();
+        }
+    }
+}
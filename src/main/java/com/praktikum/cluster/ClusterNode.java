@@ -0,0 +1,813 @@
+package com.praktikum.cluster;
+
+import com.praktikum.exception.ClusterException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
+import com.praktikum.repository.StudentRepository;
+import com.praktikum.service.CreditLedger;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.InMemoryCreditLedger;
+import com.praktikum.service.NotificationService;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Satu node dalam mode cluster enrollment
+ * Kode mata kuliah dibagi ke node-node dengan ConsistentHashRing. Setiap node
+ * menyimpan state kursi mata kuliah miliknya di repository lokal dan melayaninya
+ * dengan EnrollmentService lokal; permintaan untuk mata kuliah milik node lain
+ * diteruskan ke node pemiliknya lewat socket (ClusterProtocol).
+ *
+ * Beban SKS setiap mahasiswa dipegang satu node saja, yaitu pemilik ID mahasiswa
+ * di ring yang sama. EnrollmentService lokal memakai CreditLedger yang meneruskan
+ * setiap pemesanan dan pelepasan SKS ke node tersebut, sehingga batas SKS berlaku
+ * untuk gabungan mata kuliah mahasiswa di semua node.
+ *
+ * Saat keanggotaan berubah (join/leave), setiap node menghitung ulang ring dan
+ * menyerahkan state yang tidak lagi dimilikinya ke pemilik baru: data kursi dan
+ * enrollment yang tercatat per mata kuliah, serta beban SKS per mahasiswa.
+ * Selama penyerahan, permintaan lokal ditahan oleh write lock, sehingga state
+ * yang dikirim sudah mencakup semua perubahan yang selesai. State yang masih ada
+ * di node lokal selalu dilayani lokal, jadi node dengan view lama tetap
+ * diarahkan dengan benar oleh node yang menerima permintaannya.
+ *
+ * Batasan: data mahasiswa dibaca dari StudentRepository yang sama di setiap node,
+ * dan join harus dilakukan satu per satu. Selama view baru disebarkan, pemesanan
+ * SKS yang tiba di pemilik baru sebelum beban lama diserahkan hanya dicek terhadap
+ * sebagian beban. Tidak ada deteksi kegagalan node; perubahan SKS yang timeout
+ * setelah diterapkan di node pemegang tidak dibatalkan.
+ */
+public class ClusterNode implements AutoCloseable {
+    // Permintaan yang sudah diteruskan sebanyak ini dilayani lokal, agar view yang berbeda tidak berputar
+    private static final int MAX_HOPS = 2;
+
+    private final String nodeId;
+    private final int virtualNodes;
+    private final InMemoryCourseRepository localCourses;
+    private final InMemoryEnrollmentRepository localEnrollments = new InMemoryEnrollmentRepository();
+    private final EnrollmentService localService;
+
+    // Beban SKS mahasiswa yang dipegang node ini: miliknya di ring, atau belum diserahkan
+    private final InMemoryCreditLedger localCredits = new InMemoryCreditLedger();
+
+    // Read: melayani permintaan lokal. Write: mengganti view dan menyerahkan mata kuliah
+    private final ReentrantReadWriteLock ownership = new ReentrantReadWriteLock();
+    // Read: mengubah beban SKS lokal. Write: menyerahkan beban SKS. Terpisah dari ownership
+    // karena enroll yang memegang read lock ownership menunggu balasan SKS dari node lain
+    private final ReentrantReadWriteLock creditOwnership = new ReentrantReadWriteLock();
+    private final Object membershipLock = new Object();
+    private volatile Map<String, InetSocketAddress> members = Collections.emptyMap();
+    private volatile ConsistentHashRing ring;
+
+    private final Map<String, PeerClient> peers = new ConcurrentHashMap<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService handlers;
+    private ServerSocket serverSocket;
+    private volatile InetSocketAddress address;
+    private volatile boolean running;
+
+    @FunctionalInterface
+    private interface ResultWriter<T> {
+        void write(DataOutputStream out, T result) throws IOException;
+    }
+
+    public ClusterNode(String nodeId, StudentRepository studentRepository,
+                       NotificationService notificationService, GradeCalculator gradeCalculator) {
+        this(nodeId, studentRepository, notificationService, gradeCalculator,
+                ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param nodeId ID unik node di cluster
+     * @param virtualNodes Jumlah titik virtual per node di ring; harus sama di semua node
+     */
+    public ClusterNode(String nodeId, StudentRepository studentRepository,
+                       NotificationService notificationService, GradeCalculator gradeCalculator,
+                       int virtualNodes) {
+        this.nodeId = nodeId;
+        this.virtualNodes = virtualNodes;
+        this.localCourses = new InMemoryCourseRepository(studentRepository);
+        this.localService = new EnrollmentService(studentRepository, localCourses,
+                notificationService, gradeCalculator);
+        // Enrollment dicatat agar pendaftaran ganda ditolak dan bisa ikut diserahkan
+        localService.setEnrollmentRepository(localEnrollments);
+        localService.setCreditLedger(new ClusterCreditLedger());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.handlers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "cluster-" + nodeId + "-handler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Membuka socket di alamat loopback dengan port bebas
+     * @return Alamat node ini
+     */
+    public InetSocketAddress start() {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    /**
+     * Membuka socket node dan mulai menerima permintaan; node awalnya cluster satu anggota
+     *
+     * @param bindAddress Alamat yang dipakai, port 0 untuk port bebas
+     * @return Alamat node ini
+     * @throws IllegalStateException jika node sudah dijalankan
+     * @throws ClusterException jika socket tidak bisa dibuka
+     */
+    public synchronized InetSocketAddress start(InetSocketAddress bindAddress) {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Cluster node already started: " + nodeId);
+        }
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(bindAddress);
+        } catch (IOException e) {
+            throw new ClusterException("Failed to open cluster socket for " + nodeId, e);
+        }
+        address = new InetSocketAddress(bindAddress.getAddress(), serverSocket.getLocalPort());
+        running = true;
+        applyView(Map.of(nodeId, address));
+
+        Thread acceptor = new Thread(this::acceptLoop, "cluster-" + nodeId + "-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return address;
+    }
+
+    /**
+     * Bergabung ke cluster lewat salah satu anggotanya
+     * Anggota tersebut menyebarkan view baru ke semua node, dan setiap node
+     * menyerahkan mata kuliah yang kini dimiliki node ini.
+     *
+     * @param seed Alamat node mana pun yang sudah menjadi anggota
+     * @throws ClusterException jika seed tidak bisa dihubungi
+     */
+    public void join(InetSocketAddress seed) {
+        requireStarted();
+        try (PeerClient client = new PeerClient(seed)) {
+            client.call((in, out) -> {
+                out.writeByte(ClusterProtocol.JOIN);
+                ClusterProtocol.writeMember(out, nodeId, address);
+                out.flush();
+                ClusterProtocol.readStatus(in);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Keluar dari cluster: seluruh mata kuliah lokal diserahkan ke pemilik barunya,
+     * view baru dikirim ke anggota lain, lalu node ditutup
+     */
+    public void leave() {
+        requireStarted();
+        synchronized (membershipLock) {
+            Map<String, InetSocketAddress> view = new LinkedHashMap<>(members);
+            view.remove(nodeId);
+            if (!view.isEmpty()) {
+                applyView(view);
+                broadcastView(view);
+            }
+        }
+        close();
+    }
+
+    // ==================== Operasi enrollment ====================
+
+    /**
+     * Enroll di node pemilik mata kuliah; exception dari node lain dilempar ulang dengan tipe yang sama
+     * Jika ClusterException terjadi setelah permintaan terkirim (misal timeout baca), node pemilik
+     * mungkin sudah menyimpan enrollment. Permintaan aman diulang: enroll yang sudah tercatat
+     * ditolak dengan EnrollmentException "already enrolled" tanpa mengambil kursi kedua.
+     *
+     * @see EnrollmentService#enrollCourse(String, String)
+     * @throws ClusterException jika node pemilik tidak bisa dihubungi atau tidak membalas
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        return enroll(studentId, courseCode, 0);
+    }
+
+    /**
+     * Drop di node pemilik mata kuliah
+     * @see EnrollmentService#dropCourse(String, String)
+     * @throws ClusterException jika node pemilik tidak bisa dihubungi
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        drop(studentId, courseCode, 0);
+    }
+
+    /**
+     * Menyimpan (atau mengganti) mata kuliah di node pemiliknya
+     * @param course Data mata kuliah, disalin sebelum disimpan
+     */
+    public void addCourse(Course course) {
+        requireStarted();
+        String owner;
+        ownership.readLock().lock();
+        try {
+            owner = ring.ownerOf(course.getCourseCode());
+            if (owner.equals(nodeId)) {
+                localCourses.update(new Course(course));
+                return;
+            }
+        } finally {
+            ownership.readLock().unlock();
+        }
+        sendCourses(owner, List.of(new ClusterProtocol.CourseHandoff(course, List.of())));
+    }
+
+    /**
+     * Membaca salinan state mata kuliah dari node pemiliknya
+     * @return Course atau null jika tidak ditemukan
+     */
+    public Course findCourse(String courseCode) {
+        return find(courseCode, 0);
+    }
+
+    private Enrollment enroll(String studentId, String courseCode, int hops) {
+        String owner;
+        ownership.readLock().lock();
+        try {
+            owner = routeOf(courseCode, hops);
+            if (owner == null) {
+                return localService.enrollCourse(studentId, courseCode);
+            }
+        } finally {
+            ownership.readLock().unlock();
+        }
+        return peer(owner).call((in, out) -> {
+            out.writeByte(ClusterProtocol.ENROLL);
+            out.writeByte(hops + 1);
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return ModelCodec.readEnrollment(in);
+        });
+    }
+
+    private Void drop(String studentId, String courseCode, int hops) {
+        String owner;
+        ownership.readLock().lock();
+        try {
+            owner = routeOf(courseCode, hops);
+            if (owner == null) {
+                localService.dropCourse(studentId, courseCode);
+                return null;
+            }
+        } finally {
+            ownership.readLock().unlock();
+        }
+        return peer(owner).call((in, out) -> {
+            out.writeByte(ClusterProtocol.DROP);
+            out.writeByte(hops + 1);
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return null;
+        });
+    }
+
+    private Course find(String courseCode, int hops) {
+        String owner;
+        ownership.readLock().lock();
+        try {
+            owner = routeOf(courseCode, hops);
+            if (owner == null) {
+                Course course = localCourses.findByCourseCode(courseCode);
+                return course != null ? new Course(course) : null;
+            }
+        } finally {
+            ownership.readLock().unlock();
+        }
+        return peer(owner).call((in, out) -> {
+            out.writeByte(ClusterProtocol.FIND_COURSE);
+            out.writeByte(hops + 1);
+            out.writeUTF(courseCode);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return in.readBoolean() ? ModelCodec.readCourse(in) : null;
+        });
+    }
+
+    /**
+     * Menentukan ke mana permintaan dikirim; dipanggil dengan read lock
+     * @return ID node tujuan, atau null jika dilayani lokal
+     */
+    private String routeOf(String courseCode, int hops) {
+        requireStarted();
+        if (hops >= MAX_HOPS || localCourses.findByCourseCode(courseCode) != null) {
+            return null;
+        }
+        String owner = ring.ownerOf(courseCode);
+        return owner.equals(nodeId) ? null : owner;
+    }
+
+    // ==================== Beban SKS ====================
+
+    /**
+     * CreditLedger EnrollmentService lokal: setiap perubahan dijalankan di node pemegang beban mahasiswa
+     */
+    private final class ClusterCreditLedger implements CreditLedger {
+        @Override
+        public int adjust(String studentId, int releasedCredits, int reservedCredits, int maxCredits) {
+            return adjustCredits(studentId, releasedCredits, reservedCredits, maxCredits, 0);
+        }
+
+        @Override
+        public int get(String studentId) {
+            return adjustCredits(studentId, 0, 0, Integer.MAX_VALUE, 0);
+        }
+
+        @Override
+        public void set(String studentId, int credits) {
+            setCredits(studentId, credits, 0);
+        }
+    }
+
+    private int adjustCredits(String studentId, int releasedCredits, int reservedCredits, int maxCredits,
+                              int hops) {
+        String holder;
+        creditOwnership.readLock().lock();
+        try {
+            holder = creditRouteOf(studentId, hops);
+            if (holder == null) {
+                return localCredits.adjust(studentId, releasedCredits, reservedCredits, maxCredits);
+            }
+        } finally {
+            creditOwnership.readLock().unlock();
+        }
+        return peer(holder).call((in, out) -> {
+            out.writeByte(ClusterProtocol.ADJUST_CREDITS);
+            out.writeByte(hops + 1);
+            out.writeUTF(studentId);
+            out.writeInt(releasedCredits);
+            out.writeInt(reservedCredits);
+            out.writeInt(maxCredits);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return in.readInt();
+        });
+    }
+
+    private Void setCredits(String studentId, int credits, int hops) {
+        String holder;
+        creditOwnership.readLock().lock();
+        try {
+            holder = creditRouteOf(studentId, hops);
+            if (holder == null) {
+                localCredits.set(studentId, credits);
+                return null;
+            }
+        } finally {
+            creditOwnership.readLock().unlock();
+        }
+        return peer(holder).call((in, out) -> {
+            out.writeByte(ClusterProtocol.SET_CREDITS);
+            out.writeByte(hops + 1);
+            out.writeUTF(studentId);
+            out.writeInt(credits);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return null;
+        });
+    }
+
+    /**
+     * Menentukan node pemegang beban SKS mahasiswa; dipanggil dengan read lock creditOwnership
+     * @return ID node tujuan, atau null jika dilayani lokal
+     */
+    private String creditRouteOf(String studentId, int hops) {
+        requireStarted();
+        if (hops >= MAX_HOPS || localCredits.contains(studentId)) {
+            return null;
+        }
+        String holder = ring.ownerOf(studentId);
+        return holder.equals(nodeId) ? null : holder;
+    }
+
+    // ==================== Keanggotaan dan penyerahan ====================
+
+    /**
+     * Mengganti view keanggotaan lalu menyerahkan mata kuliah yang pindah pemilik
+     * @throws ClusterException jika sebagian mata kuliah gagal diserahkan (tetap dilayani lokal)
+     */
+    private void applyView(Map<String, InetSocketAddress> view) {
+        ownership.writeLock().lock();
+        try {
+            members = Collections.unmodifiableMap(new LinkedHashMap<>(view));
+            ring = new ConsistentHashRing(view.keySet(), virtualNodes);
+            peers.entrySet().removeIf(entry -> {
+                boolean removed = !view.containsKey(entry.getKey());
+                if (removed) {
+                    entry.getValue().close();
+                }
+                return removed;
+            });
+            ClusterException failure = null;
+            try {
+                handOffMisplacedCourses();
+            } catch (ClusterException e) {
+                failure = e;
+            }
+            try {
+                handOffMisplacedCredits();
+            } catch (ClusterException e) {
+                failure = e;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            ownership.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menyerahkan mata kuliah yang bukan milik node ini lagi; dipanggil dengan write lock
+     * Enrollment-nya ikut dipindah, lalu dihapus di sini setelah pemilik baru menerimanya.
+     */
+    private void handOffMisplacedCourses() {
+        Map<String, List<ClusterProtocol.CourseHandoff>> moving = new HashMap<>();
+        for (Course course : localCourses.findAll()) {
+            String owner = ring.ownerOf(course.getCourseCode());
+            if (!owner.equals(nodeId)) {
+                moving.computeIfAbsent(owner, key -> new ArrayList<>()).add(new ClusterProtocol.CourseHandoff(
+                        course, localEnrollments.findByCourse(course.getCourseCode())));
+            }
+        }
+        ClusterException failure = null;
+        for (Map.Entry<String, List<ClusterProtocol.CourseHandoff>> entry : moving.entrySet()) {
+            try {
+                sendCourses(entry.getKey(), entry.getValue());
+                for (ClusterProtocol.CourseHandoff handoff : entry.getValue()) {
+                    Course course = handoff.course;
+                    localCourses.remove(course.getCourseCode());
+                    for (Enrollment enrollment : handoff.enrollments) {
+                        localEnrollments.delete(enrollment.getStudentId(), course.getCourseCode());
+                    }
+                }
+            } catch (ClusterException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Menyimpan mata kuliah yang diserahkan node lain beserta enrollment-nya
+     * Enrollment yang sudah tercatat dilewati, sehingga penyerahan boleh diulang.
+     */
+    private void acceptCourses(List<ClusterProtocol.CourseHandoff> courses) {
+        for (ClusterProtocol.CourseHandoff handoff : courses) {
+            Course course = handoff.course;
+            for (Enrollment enrollment : handoff.enrollments) {
+                if (localEnrollments.findByStudentAndCourse(enrollment.getStudentId(), course.getCourseCode()) == null) {
+                    localEnrollments.save(enrollment);
+                }
+            }
+            // Disimpan terakhir: begitu mata kuliah terlihat, enrollment-nya sudah tercatat
+            localCourses.update(course);
+        }
+    }
+
+    /**
+     * Menyerahkan beban SKS mahasiswa yang bukan milik node ini lagi; dipanggil dengan
+     * write lock ownership. Beban dihapus di sini setelah pemilik baru menerimanya.
+     * Penerima tidak mengambil lock, sehingga write lock creditOwnership tidak pernah
+     * menunggu node lain yang juga sedang menyerahkan.
+     */
+    private void handOffMisplacedCredits() {
+        creditOwnership.writeLock().lock();
+        try {
+            Map<String, Map<String, Integer>> moving = new HashMap<>();
+            for (String studentId : localCredits.studentIds()) {
+                String holder = ring.ownerOf(studentId);
+                if (!holder.equals(nodeId)) {
+                    moving.computeIfAbsent(holder, key -> new HashMap<>())
+                            .put(studentId, localCredits.get(studentId));
+                }
+            }
+            ClusterException failure = null;
+            for (Map.Entry<String, Map<String, Integer>> entry : moving.entrySet()) {
+                try {
+                    peer(entry.getKey()).call((in, out) -> {
+                        out.writeByte(ClusterProtocol.PUT_CREDITS);
+                        ClusterProtocol.writeCredits(out, entry.getValue());
+                        out.flush();
+                        ClusterProtocol.readStatus(in);
+                        return null;
+                    });
+                    entry.getValue().keySet().forEach(localCredits::remove);
+                } catch (ClusterException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            creditOwnership.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menambahkan beban SKS yang diserahkan node lain ke beban yang sudah ada di sini
+     * Pemesanan dari node dengan view baru bisa tiba lebih dulu daripada penyerahan.
+     */
+    private void acceptCredits(Map<String, Integer> credits) {
+        for (Map.Entry<String, Integer> entry : credits.entrySet()) {
+            localCredits.adjust(entry.getKey(), 0, entry.getValue(), Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Menerima anggota baru (node ini sebagai seed) dan menyebarkan view baru
+     */
+    private void admit(String joiningId, InetSocketAddress joiningAddress) {
+        synchronized (membershipLock) {
+            Map<String, InetSocketAddress> view = new LinkedHashMap<>(members);
+            view.put(joiningId, joiningAddress);
+            ClusterException failure = null;
+            try {
+                broadcastView(view);
+            } catch (ClusterException e) {
+                failure = e;
+            }
+            applyView(view);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void broadcastView(Map<String, InetSocketAddress> view) {
+        ClusterException failure = null;
+        for (Map.Entry<String, InetSocketAddress> member : view.entrySet()) {
+            if (member.getKey().equals(nodeId)) {
+                continue;
+            }
+            try {
+                peers.computeIfAbsent(member.getKey(), id -> new PeerClient(member.getValue()))
+                        .call((in, out) -> {
+                            out.writeByte(ClusterProtocol.VIEW);
+                            ClusterProtocol.writeMembers(out, view);
+                            out.flush();
+                            ClusterProtocol.readStatus(in);
+                            return null;
+                        });
+            } catch (ClusterException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void sendCourses(String owner, List<ClusterProtocol.CourseHandoff> courses) {
+        peer(owner).call((in, out) -> {
+            out.writeByte(ClusterProtocol.PUT_COURSES);
+            ClusterProtocol.writeCourses(out, courses);
+            out.flush();
+            ClusterProtocol.readStatus(in);
+            return null;
+        });
+    }
+
+    private PeerClient peer(String memberId) {
+        InetSocketAddress memberAddress = members.get(memberId);
+        if (memberAddress == null) {
+            throw new ClusterException("Unknown cluster member: " + memberId);
+        }
+        return peers.computeIfAbsent(memberId, id -> new PeerClient(memberAddress));
+    }
+
+    // ==================== Server ====================
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                handlers.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    continue;
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            int type;
+            while ((type = in.read()) >= 0) {
+                handle((byte) type, in, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Koneksi ditutup oleh peer atau saat node ditutup
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void handle(byte type, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (type) {
+            case ClusterProtocol.ENROLL: {
+                int hops = in.readByte();
+                String studentId = in.readUTF();
+                String courseCode = in.readUTF();
+                respond(out, () -> enroll(studentId, courseCode, hops), ModelCodec::writeEnrollment);
+                break;
+            }
+            case ClusterProtocol.DROP: {
+                int hops = in.readByte();
+                String studentId = in.readUTF();
+                String courseCode = in.readUTF();
+                respond(out, () -> drop(studentId, courseCode, hops), (o, result) -> { });
+                break;
+            }
+            case ClusterProtocol.FIND_COURSE: {
+                int hops = in.readByte();
+                String courseCode = in.readUTF();
+                respond(out, () -> find(courseCode, hops), (o, course) -> {
+                    o.writeBoolean(course != null);
+                    if (course != null) {
+                        ModelCodec.writeCourse(o, course);
+                    }
+                });
+                break;
+            }
+            case ClusterProtocol.PUT_COURSES: {
+                List<ClusterProtocol.CourseHandoff> courses = ClusterProtocol.readCourses(in);
+                respond(out, () -> {
+                    acceptCourses(courses);
+                    return null;
+                }, (o, result) -> { });
+                break;
+            }
+            case ClusterProtocol.ADJUST_CREDITS: {
+                int hops = in.readByte();
+                String studentId = in.readUTF();
+                int releasedCredits = in.readInt();
+                int reservedCredits = in.readInt();
+                int maxCredits = in.readInt();
+                respond(out, () -> adjustCredits(studentId, releasedCredits, reservedCredits, maxCredits, hops),
+                        DataOutputStream::writeInt);
+                break;
+            }
+            case ClusterProtocol.SET_CREDITS: {
+                int hops = in.readByte();
+                String studentId = in.readUTF();
+                int credits = in.readInt();
+                respond(out, () -> setCredits(studentId, credits, hops), (o, result) -> { });
+                break;
+            }
+            case ClusterProtocol.PUT_CREDITS: {
+                Map<String, Integer> credits = ClusterProtocol.readCredits(in);
+                respond(out, () -> {
+                    acceptCredits(credits);
+                    return null;
+                }, (o, result) -> { });
+                break;
+            }
+            case ClusterProtocol.VIEW: {
+                Map<String, InetSocketAddress> view = ClusterProtocol.readMembers(in);
+                respond(out, () -> {
+                    applyView(view);
+                    return null;
+                }, (o, result) -> { });
+                break;
+            }
+            case ClusterProtocol.JOIN: {
+                String joiningId = in.readUTF();
+                InetSocketAddress joiningAddress = new InetSocketAddress(in.readUTF(), in.readInt());
+                respond(out, () -> {
+                    admit(joiningId, joiningAddress);
+                    return null;
+                }, (o, result) -> { });
+                break;
+            }
+            default:
+                throw new IOException("Unknown request type: " + type);
+        }
+    }
+
+    private static <T> void respond(DataOutputStream out, Supplier<T> action, ResultWriter<T> writer)
+            throws IOException {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            ClusterProtocol.writeError(out, e);
+            return;
+        }
+        ClusterProtocol.writeOk(out);
+        writer.write(out, result);
+    }
+
+    // ==================== Info ====================
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * ID seluruh anggota menurut view node ini
+     */
+    public Set<String> getMembers() {
+        return members.keySet();
+    }
+
+    /**
+     * Node pemilik mata kuliah menurut view node ini
+     */
+    public String ownerOf(String courseCode) {
+        requireStarted();
+        return ring.ownerOf(courseCode);
+    }
+
+    /**
+     * Jumlah mata kuliah yang state-nya disimpan di node ini
+     */
+    public int getLocalCourseCount() {
+        return localCourses.size();
+    }
+
+    /**
+     * EnrollmentService lokal yang melayani mata kuliah milik node ini
+     * Beban SKS yang dibacanya selalu berasal dari node pemegang mahasiswa.
+     */
+    public EnrollmentService getLocalService() {
+        return localService;
+    }
+
+    private void requireStarted() {
+        if (!running) {
+            throw new IllegalStateException("Cluster node is not running: " + nodeId);
+        }
+    }
+
+    /**
+     * Menutup socket dan koneksi tanpa menyerahkan mata kuliah; gunakan leave() untuk keluar dengan rapi
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+            // Sudah tertutup
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Sudah tertutup
+            }
+        }
+        handlers.shutdownNow();
+        peers.values().forEach(PeerClient::close);
+        peers.clear();
+    }
+}
@@ -0,0 +1,181 @@
+package com.praktikum.cluster;
+
+import com.praktikum.exception.ClusterException;
+import com.praktikum.exception.ConcurrentUpdateException;
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.CourseNotFoundException;
+import com.praktikum.exception.CreditLimitExceededException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.exception.PrerequisiteNotMetException;
+import com.praktikum.exception.RateLimitExceededException;
+import com.praktikum.exception.ServiceOverloadedException;
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Protokol biner antar node cluster
+ * Setiap permintaan adalah satu byte tipe diikuti field-nya (DataOutput);
+ * setiap balasan diawali satu byte status. Balasan ERROR membawa nama class
+ * exception dan pesannya, lalu dilempar ulang di node pemanggil sebagai
+ * exception yang sama agar pemanggil tidak perlu tahu permintaannya diteruskan.
+ */
+final class ClusterProtocol {
+    // Tipe permintaan
+    static final byte ENROLL = 1;
+    static final byte DROP = 2;
+    static final byte PUT_COURSES = 3;
+    static final byte VIEW = 4;
+    static final byte JOIN = 5;
+    static final byte FIND_COURSE = 6;
+    static final byte ADJUST_CREDITS = 7;
+    static final byte SET_CREDITS = 8;
+    static final byte PUT_CREDITS = 9;
+
+    // Status balasan
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private static final Map<String, Function<String, RuntimeException>> KNOWN_ERRORS = new HashMap<>();
+
+    /**
+     * Satu mata kuliah yang diserahkan ke node pemiliknya beserta enrollment-nya
+     */
+    static final class CourseHandoff {
+        final Course course;
+        final List<Enrollment> enrollments;
+
+        CourseHandoff(Course course, List<Enrollment> enrollments) {
+            this.course = course;
+            this.enrollments = enrollments;
+        }
+    }
+
+    static {
+        KNOWN_ERRORS.put(StudentNotFoundException.class.getName(), StudentNotFoundException::new);
+        KNOWN_ERRORS.put(CourseNotFoundException.class.getName(), CourseNotFoundException::new);
+        KNOWN_ERRORS.put(CourseFullException.class.getName(), CourseFullException::new);
+        KNOWN_ERRORS.put(EnrollmentException.class.getName(), EnrollmentException::new);
+        KNOWN_ERRORS.put(PrerequisiteNotMetException.class.getName(), PrerequisiteNotMetException::new);
+        KNOWN_ERRORS.put(CreditLimitExceededException.class.getName(), CreditLimitExceededException::new);
+        KNOWN_ERRORS.put(RateLimitExceededException.class.getName(), RateLimitExceededException::new);
+        KNOWN_ERRORS.put(ServiceOverloadedException.class.getName(), ServiceOverloadedException::new);
+        KNOWN_ERRORS.put(ConcurrentUpdateException.class.getName(), ConcurrentUpdateException::new);
+        KNOWN_ERRORS.put(ClusterException.class.getName(), ClusterException::new);
+        KNOWN_ERRORS.put(IllegalArgumentException.class.getName(), IllegalArgumentException::new);
+        KNOWN_ERRORS.put(IllegalStateException.class.getName(), IllegalStateException::new);
+    }
+
+    private ClusterProtocol() {
+    }
+
+    // ==================== Balasan ====================
+
+    static void writeOk(DataOutputStream out) throws IOException {
+        out.writeByte(OK);
+    }
+
+    static void writeError(DataOutputStream out, Throwable error) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(error.getClass().getName());
+        ModelCodec.writeNullableString(out, error.getMessage());
+    }
+
+    /**
+     * Membaca byte status; jika ERROR, sisa balasan dibaca lalu exception-nya dilempar
+     */
+    static void readStatus(DataInputStream in) throws IOException {
+        byte status = in.readByte();
+        if (status == OK) {
+            return;
+        }
+        if (status != ERROR) {
+            throw new IOException("Unknown response status: " + status);
+        }
+        String type = in.readUTF();
+        String message = ModelCodec.readNullableString(in);
+        Function<String, RuntimeException> factory = KNOWN_ERRORS.get(type);
+        if (factory != null) {
+            throw factory.apply(message);
+        }
+        throw new ClusterException("Remote node failed with " + type + ": " + message);
+    }
+
+    static void writeCourses(DataOutputStream out, List<CourseHandoff> courses) throws IOException {
+        out.writeInt(courses.size());
+        for (CourseHandoff handoff : courses) {
+            ModelCodec.writeCourse(out, handoff.course);
+            out.writeInt(handoff.enrollments.size());
+            for (Enrollment enrollment : handoff.enrollments) {
+                ModelCodec.writeEnrollment(out, enrollment);
+            }
+        }
+    }
+
+    static List<CourseHandoff> readCourses(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<CourseHandoff> courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Course course = ModelCodec.readCourse(in);
+            int enrollmentCount = in.readInt();
+            List<Enrollment> enrollments = new ArrayList<>(enrollmentCount);
+            for (int e = 0; e < enrollmentCount; e++) {
+                enrollments.add(ModelCodec.readEnrollment(in));
+            }
+            courses.add(new CourseHandoff(course, enrollments));
+        }
+        return courses;
+    }
+
+    static void writeCredits(DataOutputStream out, Map<String, Integer> credits) throws IOException {
+        out.writeInt(credits.size());
+        for (Map.Entry<String, Integer> entry : credits.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    static Map<String, Integer> readCredits(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Integer> credits = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            credits.put(in.readUTF(), in.readInt());
+        }
+        return credits;
+    }
+
+    // ==================== Keanggotaan ====================
+
+    static void writeMember(DataOutputStream out, String nodeId, InetSocketAddress address) throws IOException {
+        out.writeUTF(nodeId);
+        out.writeUTF(address.getHostString());
+        out.writeInt(address.getPort());
+    }
+
+    static void writeMembers(DataOutputStream out, Map<String, InetSocketAddress> members) throws IOException {
+        out.writeInt(members.size());
+        for (Map.Entry<String, InetSocketAddress> member : members.entrySet()) {
+            writeMember(out, member.getKey(), member.getValue());
+        }
+    }
+
+    static Map<String, InetSocketAddress> readMembers(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, InetSocketAddress> members = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String nodeId = in.readUTF();
+            members.put(nodeId, new InetSocketAddress(in.readUTF(), in.readInt()));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,75 @@
+package com.praktikum.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Ring consistent hashing untuk menentukan node pemilik sebuah kode mata kuliah
+ * Setiap node ditempatkan di ring sebagai beberapa titik virtual agar beban rata.
+ * Sebuah key dimiliki titik pertama searah jarum jam dari hash key tersebut,
+ * sehingga saat node bertambah atau berkurang hanya sekitar 1/N key yang berpindah.
+ * Ring bersifat immutable; perubahan keanggotaan membuat ring baru.
+ */
+public final class ConsistentHashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Set<String> nodes;
+
+    /**
+     * @param nodes ID node anggota ring
+     * @param virtualNodes Jumlah titik virtual per node
+     * @throws IllegalArgumentException jika virtualNodes tidak positif
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Tabrakan hash sangat jarang; node dengan ID terkecil menang agar semua node sepakat
+                points.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    /**
+     * Node pemilik sebuah key
+     * @param key Kode mata kuliah
+     * @return ID node pemilik
+     * @throws IllegalStateException jika ring kosong
+     */
+    public String ownerOf(String key) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Hash 64-bit FNV-1a atas UTF-8 lalu diacak dengan finalizer SplitMix64,
+     * stabil di semua JVM (tidak bergantung pada String.hashCode)
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
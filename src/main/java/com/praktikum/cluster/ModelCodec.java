@@ -0,0 +1,93 @@
+package com.praktikum.cluster;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Encoding biner model (DataOutput) yang dipakai bersama protokol cluster dan replikasi
+ */
+public final class ModelCodec {
+    private ModelCodec() {
+    }
+
+    public static void writeCourse(DataOutputStream out, Course course) throws IOException {
+        out.writeUTF(course.getCourseCode());
+        writeNullableString(out, course.getCourseName());
+        out.writeInt(course.getCredits());
+        out.writeInt(course.getCapacity());
+        out.writeInt(course.getEnrolledCount());
+        writeNullableString(out, course.getLecturer());
+        List<String> prerequisites = course.getPrerequisites() != null ? course.getPrerequisites() : List.of();
+        out.writeInt(prerequisites.size());
+        for (String prerequisite : prerequisites) {
+            out.writeUTF(prerequisite);
+        }
+        out.writeLong(course.getVersion());
+        out.writeBoolean(course.isCancelled());
+    }
+
+    public static Course readCourse(DataInputStream in) throws IOException {
+        Course course = new Course(in.readUTF(), readNullableString(in), in.readInt(),
+                in.readInt(), in.readInt(), readNullableString(in));
+        int prerequisites = in.readInt();
+        for (int i = 0; i < prerequisites; i++) {
+            course.addPrerequisite(in.readUTF());
+        }
+        course.setVersion(in.readLong());
+        course.setCancelled(in.readBoolean());
+        return course;
+    }
+
+    public static void writeEnrollment(DataOutputStream out, Enrollment enrollment) throws IOException {
+        writeNullableString(out, enrollment.getEnrollmentId());
+        writeNullableString(out, enrollment.getStudentId());
+        writeNullableString(out, enrollment.getCourseCode());
+        LocalDateTime date = enrollment.getEnrollmentDate();
+        writeNullableString(out, date != null ? date.toString() : null);
+        writeNullableString(out, enrollment.getStatus());
+    }
+
+    public static Enrollment readEnrollment(DataInputStream in) throws IOException {
+        String enrollmentId = readNullableString(in);
+        String studentId = readNullableString(in);
+        String courseCode = readNullableString(in);
+        String date = readNullableString(in);
+        String status = readNullableString(in);
+        return new Enrollment(enrollmentId, studentId, courseCode,
+                date != null ? LocalDateTime.parse(date) : null, status);
+    }
+
+    public static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        out.writeUTF(student.getStudentId());
+        writeNullableString(out, student.getName());
+        writeNullableString(out, student.getEmail());
+        writeNullableString(out, student.getMajor());
+        out.writeInt(student.getSemester());
+        out.writeDouble(student.getGpa());
+        writeNullableString(out, student.getAcademicStatus());
+    }
+
+    public static Student readStudent(DataInputStream in) throws IOException {
+        return new Student(in.readUTF(), readNullableString(in), readNullableString(in),
+                readNullableString(in), in.readInt(), in.readDouble(), readNullableString(in));
+    }
+
+    // ==================== Primitif ====================
+
+    public static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
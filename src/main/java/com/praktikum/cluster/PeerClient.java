@@ -0,0 +1,122 @@
+package com.praktikum.cluster;
+
+import com.praktikum.exception.ClusterException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Klien ke satu node lain, dengan pool koneksi TCP yang dipakai ulang
+ * Satu koneksi hanya dipakai satu permintaan pada satu waktu; permintaan
+ * bersamaan membuka koneksi tambahan yang dikembalikan ke pool setelahnya.
+ */
+final class PeerClient implements Closeable {
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int READ_TIMEOUT_MILLIS = 10_000;
+
+    private final InetSocketAddress address;
+    private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * Satu pertukaran permintaan-balasan di atas sebuah koneksi
+     */
+    @FunctionalInterface
+    interface Exchange<T> {
+        T run(DataInputStream in, DataOutputStream out) throws IOException;
+    }
+
+    private static final class Connection implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(InetSocketAddress address) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Koneksi dibuang
+            }
+        }
+    }
+
+    PeerClient(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    InetSocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Menjalankan satu permintaan ke node ini
+     * Exception dari node lain (hasil ClusterProtocol.readStatus) diteruskan apa adanya;
+     * kegagalan jaringan dibungkus ClusterException dan koneksinya dibuang.
+     *
+     * @throws ClusterException jika koneksi atau I/O gagal
+     */
+    <T> T call(Exchange<T> exchange) {
+        if (closed) {
+            throw new ClusterException("Peer client is closed: " + address);
+        }
+        Connection connection = idle.poll();
+        try {
+            if (connection == null) {
+                connection = new Connection(address);
+            }
+            T result = exchange.run(connection.in, connection.out);
+            release(connection);
+            return result;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            throw new ClusterException("Request to " + address + " failed", e);
+        } catch (RuntimeException e) {
+            // Balasan ERROR sudah dibaca penuh, koneksi masih bisa dipakai
+            release(connection);
+            throw e;
+        }
+    }
+
+    private void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        idle.offer(connection);
+        if (closed && idle.remove(connection)) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+}
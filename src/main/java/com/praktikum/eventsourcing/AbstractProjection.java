@@ -0,0 +1,92 @@
+package com.praktikum.eventsourcing;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dasar proyeksi: melacak posisi dan mengabaikan event yang sudah diterapkan,
+ * sehingga replay dan update inkremental boleh tumpang tindih.
+ * Satu penulis (append log atau rebuild), banyak pembaca.
+ */
+public abstract class AbstractProjection implements Projection {
+    private volatile long position = -1;
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public final void apply(EnrollmentEvent event) {
+        if (event.getSequence() <= position) {
+            return;
+        }
+        handle(event);
+        position = event.getSequence();
+    }
+
+    @Override
+    public final Checkpoint checkpoint() {
+        return new Checkpoint(getName(), position, snapshotState());
+    }
+
+    @Override
+    public final void restore(Checkpoint checkpoint) {
+        clearState();
+        if (checkpoint == null) {
+            position = -1;
+        } else {
+            restoreState(checkpoint.getState());
+            position = checkpoint.getPosition();
+        }
+    }
+
+    protected abstract void handle(EnrollmentEvent event);
+
+    /**
+     * Salinan state yang tidak akan diubah lagi
+     */
+    protected abstract Object snapshotState();
+
+    /**
+     * Mengisi state kosong dari hasil snapshotState()
+     */
+    protected abstract void restoreState(Object state);
+
+    protected abstract void clearState();
+
+    // ==================== Helpers ====================
+
+    protected static Map<String, Set<String>> copyOf(Map<String, Set<String>> source) {
+        Map<String, Set<String>> copy = new HashMap<>(source.size() * 2);
+        for (Map.Entry<String, Set<String>> entry : source.entrySet()) {
+            copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    protected static void restoreInto(Map<String, Set<String>> target, Map<String, Set<String>> source) {
+        for (Map.Entry<String, Set<String>> entry : source.entrySet()) {
+            Set<String> values = ConcurrentHashMap.newKeySet();
+            values.addAll(entry.getValue());
+            target.put(entry.getKey(), values);
+        }
+    }
+
+    protected static void addTo(Map<String, Set<String>> map, String key, String value) {
+        map.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(value);
+    }
+
+    protected static void removeFrom(Map<String, Set<String>> map, String key, String value) {
+        Set<String> values = map.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.praktikum.eventsourcing;
+
+/**
+ * Salinan state sebuah proyeksi pada posisi log tertentu
+ * State tidak boleh diubah setelah checkpoint dibuat.
+ */
+public final class Checkpoint {
+    private final String projection;
+    private final long position;
+    private final Object state;
+
+    public Checkpoint(String projection, long position, Object state) {
+        this.projection = projection;
+        this.position = position;
+        this.state = state;
+    }
+
+    public String getProjection() {
+        return projection;
+    }
+
+    /**
+     * Nomor urut event terakhir yang sudah termasuk dalam state
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    public Object getState() {
+        return state;
+    }
+}
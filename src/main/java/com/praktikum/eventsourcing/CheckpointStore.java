@@ -0,0 +1,17 @@
+package com.praktikum.eventsourcing;
+
+/**
+ * Penyimpanan checkpoint proyeksi
+ */
+public interface CheckpointStore {
+    /**
+     * Menyimpan checkpoint, menggantikan checkpoint lama proyeksi yang sama
+     */
+    void save(Checkpoint checkpoint);
+
+    /**
+     * Checkpoint terakhir sebuah proyeksi
+     * @return Checkpoint, atau null jika belum ada
+     */
+    Checkpoint load(String projection);
+}
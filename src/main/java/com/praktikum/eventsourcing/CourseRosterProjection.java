@@ -0,0 +1,54 @@
+package com.praktikum.eventsourcing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi daftar peserta (roster) per mata kuliah
+ */
+public class CourseRosterProjection extends AbstractProjection {
+    public static final String NAME = "course-rosters";
+
+    private final Map<String, Set<String>> rosters = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * ID mahasiswa yang terdaftar di mata kuliah, terurut
+     */
+    public Set<String> getRoster(String courseCode) {
+        Set<String> roster = rosters.get(courseCode);
+        return roster == null ? Collections.emptySet() : new TreeSet<>(roster);
+    }
+
+    @Override
+    protected void handle(EnrollmentEvent event) {
+        if (event.getType() == EnrollmentEvent.Type.ENROLLED) {
+            addTo(rosters, event.getCourseCode(), event.getStudentId());
+        } else {
+            removeFrom(rosters, event.getCourseCode(), event.getStudentId());
+        }
+    }
+
+    @Override
+    protected Object snapshotState() {
+        return copyOf(rosters);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreState(Object state) {
+        restoreInto(rosters, (Map<String, Set<String>>) state);
+    }
+
+    @Override
+    protected void clearState() {
+        rosters.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.praktikum.eventsourcing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi jumlah kursi terisi per mata kuliah
+ */
+public class CourseSeatProjection extends AbstractProjection {
+    public static final String NAME = "course-seats";
+
+    private final Map<String, Integer> seats = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Jumlah mahasiswa yang terdaftar di mata kuliah
+     */
+    public int getSeatsTaken(String courseCode) {
+        return seats.getOrDefault(courseCode, 0);
+    }
+
+    @Override
+    protected void handle(EnrollmentEvent event) {
+        int delta = event.getType() == EnrollmentEvent.Type.ENROLLED ? 1 : -1;
+        seats.merge(event.getCourseCode(), delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    @Override
+    protected Object snapshotState() {
+        return new HashMap<>(seats);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreState(Object state) {
+        seats.putAll((Map<String, Integer>) state);
+    }
+
+    @Override
+    protected void clearState() {
+        seats.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package com.praktikum.eventsourcing;
+
+/**
+ * Event enrollment yang tidak dapat diubah, tersimpan di EnrollmentEventLog
+ */
+public final class EnrollmentEvent {
+    /**
+     * Jenis event
+     */
+    public enum Type {
+        ENROLLED, DROPPED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String studentId;
+    private final String courseCode;
+    private final int credits;
+    private final long timestamp;
+
+    /**
+     * @param sequence Nomor urut di log, dimulai dari 0
+     * @param type Jenis event
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param credits SKS mata kuliah saat event terjadi
+     * @param timestamp Waktu event (epoch millis)
+     */
+    public EnrollmentEvent(long sequence, Type type, String studentId, String courseCode,
+                           int credits, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.credits = credits;
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "EnrollmentEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", studentId='" + studentId + '\'' +
+                ", courseCode='" + courseCode + '\'' +
+                '}';
+    }
+}
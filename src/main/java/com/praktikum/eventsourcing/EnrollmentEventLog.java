@@ -0,0 +1,109 @@
+package com.praktikum.eventsourcing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Log event enrollment yang hanya bisa ditambah (append-only), di memori
+ * Event disimpan dalam chunk berukuran tetap sehingga tidak pernah disalin
+ * ulang saat log tumbuh. Penulisan diserialisasi; pembacaan tidak memakai
+ * lock dan hanya melihat event sampai batas yang sudah dipublikasikan.
+ */
+public class EnrollmentEventLog {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    private final AtomicReferenceArray<EnrollmentEvent[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final List<Consumer<EnrollmentEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Jumlah event yang sudah terlihat oleh pembaca
+    private volatile long size;
+
+    /**
+     * Menambah event baru di akhir log, lalu meneruskannya ke subscriber secara berurutan
+     *
+     * @param type Jenis event
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param credits SKS mata kuliah
+     * @return Event yang tersimpan beserta nomor urutnya
+     * @throws IllegalStateException jika log sudah penuh
+     */
+    public synchronized EnrollmentEvent append(EnrollmentEvent.Type type, String studentId,
+                                               String courseCode, int credits) {
+        long sequence = size;
+        int chunk = (int) (sequence >>> CHUNK_BITS);
+        if (chunk >= MAX_CHUNKS) {
+            throw new IllegalStateException("Event log is full");
+        }
+        EnrollmentEvent[] events = chunks.get(chunk);
+        if (events == null) {
+            events = new EnrollmentEvent[CHUNK_SIZE];
+            chunks.set(chunk, events);
+        }
+        EnrollmentEvent event = new EnrollmentEvent(sequence, type, studentId, courseCode,
+                credits, System.currentTimeMillis());
+        events[(int) sequence & (CHUNK_SIZE - 1)] = event;
+        size = sequence + 1;
+
+        for (Consumer<EnrollmentEvent> subscriber : subscribers) {
+            subscriber.accept(event);
+        }
+        return event;
+    }
+
+    /**
+     * Mendaftarkan penerima event baru; dipanggil di dalam urutan append
+     * @param subscriber Penerima event
+     */
+    public void subscribe(Consumer<EnrollmentEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<EnrollmentEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Jumlah event di log; nomor urut event terakhir adalah size() - 1
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Mengambil event pada nomor urut tertentu
+     * @throws IndexOutOfBoundsException jika nomor urut belum ada
+     */
+    public EnrollmentEvent get(long sequence) {
+        if (sequence < 0 || sequence >= size) {
+            throw new IndexOutOfBoundsException("No event at sequence " + sequence);
+        }
+        return chunks.get((int) (sequence >>> CHUNK_BITS))[(int) sequence & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Memutar ulang event dari nomor urut tertentu sampai batas log saat ini
+     *
+     * @param fromSequence Nomor urut pertama (inklusif)
+     * @param consumer Penerima event
+     * @return Nomor urut terakhir yang diputar, atau fromSequence - 1 jika tidak ada
+     */
+    public long replay(long fromSequence, Consumer<EnrollmentEvent> consumer) {
+        long end = size;
+        long sequence = Math.max(0, fromSequence);
+        while (sequence < end) {
+            EnrollmentEvent[] events = chunks.get((int) (sequence >>> CHUNK_BITS));
+            int offset = (int) sequence & (CHUNK_SIZE - 1);
+            int limit = (int) Math.min(CHUNK_SIZE, offset + (end - sequence));
+            for (int i = offset; i < limit; i++) {
+                consumer.accept(events[i]);
+            }
+            sequence += limit - offset;
+        }
+        return end - 1 < fromSequence ? fromSequence - 1 : end - 1;
+    }
+}
@@ -0,0 +1,219 @@
+package com.praktikum.eventsourcing;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.CourseNotFoundException;
+import com.praktikum.exception.CreditLimitExceededException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.exception.PrerequisiteNotMetException;
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.CourseRepository;
+import com.praktikum.repository.StudentRepository;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Mode enrollment berbasis event sourcing
+ * Enroll dan drop tidak mengubah Course.enrolledCount; keduanya hanya menambah
+ * event ENROLLED atau DROPPED ke log. Jumlah kursi, daftar mata kuliah per
+ * mahasiswa, dan roster per mata kuliah adalah proyeksi yang diperbarui
+ * setiap event, di-checkpoint berkala, dan dibangun ulang paralel saat start.
+ */
+public class EventSourcedEnrollmentService {
+    static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final NotificationService notificationService;
+    private final GradeCalculator gradeCalculator;
+    private final EnrollmentEventLog log;
+    private final ProjectionRebuilder rebuilder;
+    private final int checkpointInterval;
+
+    private final CourseSeatProjection seats = new CourseSeatProjection();
+    private final StudentEnrollmentsProjection studentEnrollments = new StudentEnrollmentsProjection();
+    private final CourseRosterProjection rosters = new CourseRosterProjection();
+    private final List<Projection> projections = List.of(seats, studentEnrollments, rosters);
+
+    public EventSourcedEnrollmentService(StudentRepository studentRepository,
+                                         CourseRepository courseRepository,
+                                         NotificationService notificationService,
+                                         GradeCalculator gradeCalculator,
+                                         EnrollmentEventLog log,
+                                         CheckpointStore checkpointStore) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator,
+                log, checkpointStore, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Membuat service dan langsung memulihkan proyeksi dari checkpoint dan log yang ada
+     *
+     * @param checkpointInterval Checkpoint otomatis setiap sekian event
+     * @throws IllegalArgumentException jika checkpointInterval tidak positif
+     */
+    public EventSourcedEnrollmentService(StudentRepository studentRepository,
+                                         CourseRepository courseRepository,
+                                         NotificationService notificationService,
+                                         GradeCalculator gradeCalculator,
+                                         EnrollmentEventLog log,
+                                         CheckpointStore checkpointStore,
+                                         int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.notificationService = notificationService;
+        this.gradeCalculator = gradeCalculator;
+        this.log = log;
+        this.rebuilder = new ProjectionRebuilder(log, checkpointStore);
+        this.checkpointInterval = checkpointInterval;
+
+        recover();
+        log.subscribe(this::applyToProjections);
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah dengan menambah event ENROLLED
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Enrollment dengan ID berdasarkan nomor urut event
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend atau sudah terdaftar
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws CourseFullException jika mata kuliah sudah penuh
+     * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     * @throws CreditLimitExceededException jika SKS melebihi batas berdasarkan IPK
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        Student student = findStudent(studentId);
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw new EnrollmentException("Student is suspended");
+        }
+        Course course = findCourse(courseCode);
+        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+            throw new PrerequisiteNotMetException("Prerequisites not met");
+        }
+        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+
+        EnrollmentEvent event;
+        // Keputusan dan append harus atomik terhadap proyeksi yang dibaca
+        synchronized (this) {
+            if (studentEnrollments.isEnrolled(studentId, courseCode)) {
+                throw new EnrollmentException("Student already enrolled in " + courseCode);
+            }
+            if (seats.getSeatsTaken(courseCode) >= course.getCapacity()) {
+                throw new CourseFullException("Course is full");
+            }
+            int credits = studentEnrollments.getCredits(studentId) + course.getCredits();
+            if (credits > maxCredits) {
+                throw new CreditLimitExceededException("Credit limit exceeded: " + credits + " of " + maxCredits);
+            }
+            event = append(EnrollmentEvent.Type.ENROLLED, studentId, courseCode, course.getCredits());
+        }
+
+        notificationService.sendEmail(student.getEmail(),
+                "Enrollment Confirmation",
+                "You have been enrolled in: " + course.getCourseName());
+        return toEnrollment(event);
+    }
+
+    /**
+     * Membatalkan mata kuliah dengan menambah event DROPPED
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa tidak terdaftar di mata kuliah tersebut
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        Student student = findStudent(studentId);
+        Course course = findCourse(courseCode);
+
+        synchronized (this) {
+            if (!studentEnrollments.isEnrolled(studentId, courseCode)) {
+                throw new EnrollmentException("Student is not enrolled in " + courseCode);
+            }
+            append(EnrollmentEvent.Type.DROPPED, studentId, courseCode, course.getCredits());
+        }
+
+        notificationService.sendEmail(student.getEmail(),
+                "Course Drop Confirmation",
+                "You have dropped: " + course.getCourseName());
+    }
+
+    /**
+     * Membangun ulang semua proyeksi dari checkpoint terakhir dan sisa log, secara paralel
+     * @return Jumlah event yang diputar ulang per proyeksi
+     */
+    public synchronized long[] recover() {
+        return rebuilder.rebuild(projections);
+    }
+
+    /**
+     * Menyimpan checkpoint semua proyeksi sekarang
+     */
+    public synchronized void checkpoint() {
+        rebuilder.checkpoint(projections);
+    }
+
+    public CourseSeatProjection getSeats() {
+        return seats;
+    }
+
+    public StudentEnrollmentsProjection getStudentEnrollments() {
+        return studentEnrollments;
+    }
+
+    public CourseRosterProjection getRosters() {
+        return rosters;
+    }
+
+    public EnrollmentEventLog getLog() {
+        return log;
+    }
+
+    private EnrollmentEvent append(EnrollmentEvent.Type type, String studentId, String courseCode, int credits) {
+        EnrollmentEvent event = log.append(type, studentId, courseCode, credits);
+        if ((event.getSequence() + 1) % checkpointInterval == 0) {
+            rebuilder.checkpoint(projections);
+        }
+        return event;
+    }
+
+    private void applyToProjections(EnrollmentEvent event) {
+        for (Projection projection : projections) {
+            projection.apply(event);
+        }
+    }
+
+    private Student findStudent(String studentId) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        return student;
+    }
+
+    private Course findCourse(String courseCode) {
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+        return course;
+    }
+
+    private static Enrollment toEnrollment(EnrollmentEvent event) {
+        return new Enrollment("ENR-" + event.getSequence(), event.getStudentId(), event.getCourseCode(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), ZoneId.systemDefault()),
+                "APPROVED");
+    }
+}
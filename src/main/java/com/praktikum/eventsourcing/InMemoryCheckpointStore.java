@@ -0,0 +1,23 @@
+package com.praktikum.eventsourcing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi CheckpointStore di memori
+ */
+public class InMemoryCheckpointStore implements CheckpointStore {
+    private final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        // Jangan pernah mundur ke checkpoint yang lebih lama
+        checkpoints.merge(checkpoint.getProjection(), checkpoint,
+                (current, next) -> next.getPosition() >= current.getPosition() ? next : current);
+    }
+
+    @Override
+    public Checkpoint load(String projection) {
+        return checkpoints.get(projection);
+    }
+}
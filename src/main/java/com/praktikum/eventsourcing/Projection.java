@@ -0,0 +1,33 @@
+package com.praktikum.eventsourcing;
+
+/**
+ * Proyeksi (read model) yang dibangun dari EnrollmentEventLog
+ */
+public interface Projection {
+    /**
+     * Nama unik proyeksi, dipakai sebagai key checkpoint
+     */
+    String getName();
+
+    /**
+     * Nomor urut event terakhir yang sudah diterapkan, -1 jika belum ada
+     */
+    long getPosition();
+
+    /**
+     * Menerapkan satu event; event dengan nomor urut &lt;= posisi diabaikan
+     * @param event Event dari log
+     */
+    void apply(EnrollmentEvent event);
+
+    /**
+     * Salinan state proyeksi beserta posisinya
+     */
+    Checkpoint checkpoint();
+
+    /**
+     * Mengganti state dengan isi checkpoint
+     * @param checkpoint Checkpoint, atau null untuk mengosongkan proyeksi
+     */
+    void restore(Checkpoint checkpoint);
+}
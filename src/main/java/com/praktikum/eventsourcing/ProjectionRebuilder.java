@@ -0,0 +1,77 @@
+package com.praktikum.eventsourcing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Membangun ulang proyeksi dari checkpoint terakhir ditambah sisa log
+ * Setiap proyeksi dibangun di thread-nya sendiri, sehingga waktu pemulihan
+ * dibatasi oleh proyeksi paling lambat dan jumlah event sejak checkpoint,
+ * bukan oleh panjang seluruh log.
+ */
+public class ProjectionRebuilder {
+    private final EnrollmentEventLog log;
+    private final CheckpointStore checkpointStore;
+
+    public ProjectionRebuilder(EnrollmentEventLog log, CheckpointStore checkpointStore) {
+        this.log = log;
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Memulihkan setiap proyeksi dari checkpoint lalu memutar ulang event setelahnya, secara paralel
+     *
+     * @param projections Proyeksi yang dibangun ulang
+     * @return Jumlah event yang diputar ulang per proyeksi, sesuai urutan argumen
+     * @throws IllegalStateException jika rebuild gagal atau terinterupsi
+     */
+    public long[] rebuild(List<? extends Projection> projections) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, projections.size()), runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (Projection projection : projections) {
+                futures.add(executor.submit(() -> rebuild(projection)));
+            }
+            long[] replayed = new long[futures.size()];
+            for (int i = 0; i < futures.size(); i++) {
+                replayed[i] = futures.get(i).get();
+            }
+            return replayed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Projection rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Projection rebuild failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Membangun ulang satu proyeksi di thread pemanggil
+     * @return Jumlah event yang diputar ulang
+     */
+    public long rebuild(Projection projection) {
+        projection.restore(checkpointStore.load(projection.getName()));
+        long from = projection.getPosition() + 1;
+        long last = log.replay(from, projection::apply);
+        return last - from + 1;
+    }
+
+    /**
+     * Menyimpan checkpoint semua proyeksi pada posisinya saat ini
+     */
+    public void checkpoint(List<? extends Projection> projections) {
+        for (Projection projection : projections) {
+            checkpointStore.save(projection.checkpoint());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.praktikum.eventsourcing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi mata kuliah yang sedang diambil setiap mahasiswa beserta total SKS-nya
+ */
+public class StudentEnrollmentsProjection extends AbstractProjection {
+    public static final String NAME = "student-enrollments";
+
+    private final Map<String, Set<String>> courses = new ConcurrentHashMap<>();
+    private final Map<String, Integer> credits = new ConcurrentHashMap<>();
+
+    private static final class State {
+        private final Map<String, Set<String>> courses;
+        private final Map<String, Integer> credits;
+
+        State(Map<String, Set<String>> courses, Map<String, Integer> credits) {
+            this.courses = courses;
+            this.credits = credits;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Kode mata kuliah yang sedang diambil mahasiswa, terurut
+     */
+    public Set<String> getCourses(String studentId) {
+        Set<String> enrolled = courses.get(studentId);
+        return enrolled == null ? Collections.emptySet() : new TreeSet<>(enrolled);
+    }
+
+    public boolean isEnrolled(String studentId, String courseCode) {
+        Set<String> enrolled = courses.get(studentId);
+        return enrolled != null && enrolled.contains(courseCode);
+    }
+
+    /**
+     * Total SKS yang sedang diambil mahasiswa
+     */
+    public int getCredits(String studentId) {
+        return credits.getOrDefault(studentId, 0);
+    }
+
+    @Override
+    protected void handle(EnrollmentEvent event) {
+        if (event.getType() == EnrollmentEvent.Type.ENROLLED) {
+            addTo(courses, event.getStudentId(), event.getCourseCode());
+            credits.merge(event.getStudentId(), event.getCredits(), Integer::sum);
+        } else {
+            removeFrom(courses, event.getStudentId(), event.getCourseCode());
+            credits.merge(event.getStudentId(), -event.getCredits(),
+                    (a, b) -> a + b <= 0 ? null : a + b);
+        }
+    }
+
+    @Override
+    protected Object snapshotState() {
+        return new State(copyOf(courses), new HashMap<>(credits));
+    }
+
+    @Override
+    protected void restoreState(Object state) {
+        State snapshot = (State) state;
+        restoreInto(courses, snapshot.courses);
+        credits.putAll(snapshot.credits);
+    }
+
+    @Override
+    protected void clearState() {
+        courses.clear();
+        credits.clear();
+    }
+}
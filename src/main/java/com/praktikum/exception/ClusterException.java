@@ -0,0 +1,15 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika komunikasi dengan node lain di cluster gagal,
+ * atau node lain melempar exception yang tidak dikenal
+ */
+public class ClusterException extends RuntimeException {
+    public ClusterException(String message) {
+        super(message);
+    }
+
+    public ClusterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika update optimistik terus bentrok dengan penulis lain
+ * sampai batas percobaan habis
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
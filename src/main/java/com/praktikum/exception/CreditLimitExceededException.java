@@ -0,0 +1,14 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika enrollment melebihi batas SKS mahasiswa
+ */
+public class CreditLimitExceededException extends RuntimeException {
+    public CreditLimitExceededException(String message) {
+        super(message);
+    }
+
+    public CreditLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
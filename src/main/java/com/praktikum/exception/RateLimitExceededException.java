@@ -0,0 +1,14 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika mahasiswa mengirim permintaan melebihi batas laju
+ */
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+
+    public RateLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika permintaan ditolak lebih awal karena service sedang kelebihan beban
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.praktikum.exception;
+
+/**
+ * Exception yang dilempar ketika replika baca tertinggal dari primary
+ * lebih lama dari batas staleness yang diizinkan
+ */
+public class StaleReplicaException extends RuntimeException {
+    public StaleReplicaException(String message) {
+        super(message);
+    }
+
+    public StaleReplicaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.praktikum.metrics;
+
+/**
+ * Sumber nilai concurrency limiter yang ditampilkan lewat EnrollmentMetrics
+ * Dipisah sebagai interface agar paket metrics tidak bergantung pada paket service.
+ */
+public interface ConcurrencyLimitGauge {
+    /**
+     * Batas permintaan bersamaan saat ini
+     */
+    int getLimit();
+
+    /**
+     * Jumlah permintaan yang sedang berjalan
+     */
+    int getInFlight();
+
+    /**
+     * Jumlah permintaan yang ditolak karena batas penuh
+     */
+    long getShedCount();
+}
@@ -0,0 +1,52 @@
+package com.praktikum.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event JFR untuk setiap percobaan enroll, drop, swap, atau pembatalan mata kuliah
+ * Aktif/nonaktif dan threshold diatur lewat setting JFR standar, misal
+ * -XX:StartFlightRecording:settings=profile atau file .jfc dengan
+ * &lt;event name="com.praktikum.EnrollmentAttempt"&gt;. Saat event nonaktif,
+ * shouldCommit() bernilai false dan field tidak pernah diisi.
+ */
+@Name("com.praktikum.EnrollmentAttempt")
+@Label("Enrollment Attempt")
+@Category({"Praktikum", "Enrollment"})
+@Description("Satu percobaan enroll, drop, swap, atau pembatalan mata kuliah beserta hasilnya")
+@StackTrace(false)
+public final class EnrollmentAttemptEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Student ID")
+    @Description("Kosong untuk pembatalan mata kuliah")
+    private String studentId;
+
+    @Label("Course Code")
+    private String courseCode;
+
+    @Label("Outcome")
+    @Description("SUCCESS, atau nama class exception jika ditolak")
+    private String outcome;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,226 @@
+package com.praktikum.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrik latency dan throughput EnrollmentService
+ * Menyimpan histogram latency, counter sukses, dan counter penolakan per tipe
+ * exception untuk setiap operasi. Dapat dibaca lewat snapshot() atau JMX.
+ */
+public class EnrollmentMetrics implements EnrollmentMetricsMXBean {
+
+    /**
+     * Operasi EnrollmentService yang diukur
+     */
+    public enum Operation {
+        ENROLL, DROP, SWAP, CANCEL, VALIDATE_CREDIT_LIMIT
+    }
+
+    private final Map<Operation, OperationMetrics> operations = new EnumMap<>(Operation.class);
+    private volatile ConcurrencyLimitGauge concurrencyLimitGauge;
+
+    private static final class OperationMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder successes = new LongAdder();
+        private final Map<Class<?>, LongAdder> rejections = new ConcurrentHashMap<>();
+        private final LongAdder conflicts = new LongAdder();
+    }
+
+    public EnrollmentMetrics() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationMetrics());
+        }
+    }
+
+    /**
+     * Mencatat pemanggilan yang berhasil
+     *
+     * @param operation Operasi yang diukur
+     * @param nanos Durasi dalam nanodetik
+     */
+    public void recordSuccess(Operation operation, long nanos) {
+        OperationMetrics metrics = operations.get(operation);
+        metrics.latency.record(nanos);
+        metrics.successes.increment();
+    }
+
+    /**
+     * Mencatat pemanggilan yang ditolak dengan exception
+     *
+     * @param operation Operasi yang diukur
+     * @param error Exception yang dilempar
+     * @param nanos Durasi dalam nanodetik
+     */
+    public void recordRejection(Operation operation, Throwable error, long nanos) {
+        OperationMetrics metrics = operations.get(operation);
+        metrics.latency.record(nanos);
+        LongAdder counter = metrics.rejections.get(error.getClass());
+        if (counter == null) {
+            counter = metrics.rejections.computeIfAbsent(error.getClass(), key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Mencatat update optimistik yang gagal karena versi mata kuliah sudah berubah
+     *
+     * @param operation Operasi yang sedang berjalan
+     */
+    public void recordConflict(Operation operation) {
+        operations.get(operation).conflicts.increment();
+    }
+
+    /**
+     * Menampilkan nilai concurrency limiter lewat JMX
+     * @param gauge Sumber nilai, null jika load shedding tidak aktif
+     */
+    public void setConcurrencyLimitGauge(ConcurrencyLimitGauge gauge) {
+        this.concurrencyLimitGauge = gauge;
+    }
+
+    /**
+     * Mengambil salinan seluruh metrik pada saat ini
+     * @return Snapshot metrik
+     */
+    public EnrollmentMetricsSnapshot snapshot() {
+        Map<Operation, EnrollmentMetricsSnapshot.OperationSnapshot> result = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, OperationMetrics> entry : operations.entrySet()) {
+            OperationMetrics metrics = entry.getValue();
+            Map<String, Long> rejections = new TreeMap<>();
+            for (Map.Entry<Class<?>, LongAdder> rejection : metrics.rejections.entrySet()) {
+                rejections.put(rejection.getKey().getSimpleName(), rejection.getValue().sum());
+            }
+            result.put(entry.getKey(), new EnrollmentMetricsSnapshot.OperationSnapshot(
+                    metrics.successes.sum(), rejections, metrics.conflicts.sum(), metrics.latency.snapshot()));
+        }
+        return new EnrollmentMetricsSnapshot(result);
+    }
+
+    /**
+     * Mendaftarkan metrik ini ke platform MBean server
+     *
+     * @param instanceName Nama instance, misal "primary"
+     * @return ObjectName yang didaftarkan
+     * @throws IllegalStateException jika pendaftaran gagal
+     */
+    public ObjectName registerMBean(String instanceName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.praktikum:type=EnrollmentMetrics,name="
+                    + ObjectName.quote(instanceName));
+            server.registerMBean(this, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register enrollment metrics MBean", e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (OperationMetrics metrics : operations.values()) {
+            metrics.latency.reset();
+            metrics.successes.reset();
+            metrics.rejections.clear();
+            metrics.conflicts.reset();
+        }
+    }
+
+    // ==================== JMX attributes ====================
+
+    @Override
+    public long getEnrollSuccessCount() {
+        return operations.get(Operation.ENROLL).successes.sum();
+    }
+
+    @Override
+    public long getEnrollRejectionCount() {
+        return snapshot().get(Operation.ENROLL).getRejectionCount();
+    }
+
+    @Override
+    public double getEnrollLatencyP50Micros() {
+        return operations.get(Operation.ENROLL).latency.snapshot().percentileMicros(50);
+    }
+
+    @Override
+    public double getEnrollLatencyP99Micros() {
+        return operations.get(Operation.ENROLL).latency.snapshot().percentileMicros(99);
+    }
+
+    @Override
+    public long getDropSuccessCount() {
+        return operations.get(Operation.DROP).successes.sum();
+    }
+
+    @Override
+    public long getDropRejectionCount() {
+        return snapshot().get(Operation.DROP).getRejectionCount();
+    }
+
+    @Override
+    public double getDropLatencyP50Micros() {
+        return operations.get(Operation.DROP).latency.snapshot().percentileMicros(50);
+    }
+
+    @Override
+    public double getDropLatencyP99Micros() {
+        return operations.get(Operation.DROP).latency.snapshot().percentileMicros(99);
+    }
+
+    @Override
+    public long getValidateCreditLimitCount() {
+        return operations.get(Operation.VALIDATE_CREDIT_LIMIT).latency.snapshot().getCount();
+    }
+
+    @Override
+    public double getValidateCreditLimitLatencyP99Micros() {
+        return operations.get(Operation.VALIDATE_CREDIT_LIMIT).latency.snapshot().percentileMicros(99);
+    }
+
+    @Override
+    public long getCourseUpdateConflictCount() {
+        long total = 0;
+        for (OperationMetrics metrics : operations.values()) {
+            total += metrics.conflicts.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        EnrollmentMetricsSnapshot snapshot = snapshot();
+        for (Operation operation : Operation.values()) {
+            for (Map.Entry<String, Long> entry : snapshot.get(operation).getRejections().entrySet()) {
+                result.put(operation + ":" + entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        ConcurrencyLimitGauge gauge = concurrencyLimitGauge;
+        return gauge == null ? 0 : gauge.getLimit();
+    }
+
+    @Override
+    public int getConcurrencyInFlight() {
+        ConcurrencyLimitGauge gauge = concurrencyLimitGauge;
+        return gauge == null ? 0 : gauge.getInFlight();
+    }
+
+    @Override
+    public long getLoadShedCount() {
+        ConcurrencyLimitGauge gauge = concurrencyLimitGauge;
+        return gauge == null ? 0 : gauge.getShedCount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.praktikum.metrics;
+
+import java.util.Map;
+
+/**
+ * Antarmuka JMX untuk metrik EnrollmentService
+ * Dapat dibaca dari JConsole atau JDK Mission Control tanpa server metrik eksternal
+ */
+public interface EnrollmentMetricsMXBean {
+    long getEnrollSuccessCount();
+
+    long getEnrollRejectionCount();
+
+    double getEnrollLatencyP50Micros();
+
+    double getEnrollLatencyP99Micros();
+
+    long getDropSuccessCount();
+
+    long getDropRejectionCount();
+
+    double getDropLatencyP50Micros();
+
+    double getDropLatencyP99Micros();
+
+    long getValidateCreditLimitCount();
+
+    double getValidateCreditLimitLatencyP99Micros();
+
+    /**
+     * Jumlah update optimistik mata kuliah yang harus diulang karena versinya sudah berubah
+     */
+    long getCourseUpdateConflictCount();
+
+    /**
+     * Jumlah penolakan per operasi dan tipe exception,
+     * dengan key "OPERASI:NamaException", misal "ENROLL:CourseFullException"
+     */
+    Map<String, Long> getRejectionCounts();
+
+    /**
+     * Batas adaptif permintaan bersamaan, 0 jika load shedding tidak aktif
+     */
+    int getConcurrencyLimit();
+
+    int getConcurrencyInFlight();
+
+    /**
+     * Jumlah permintaan yang ditolak concurrency limiter
+     */
+    long getLoadShedCount();
+
+    /**
+     * Mengosongkan seluruh counter dan histogram
+     */
+    void reset();
+}
@@ -0,0 +1,81 @@
+package com.praktikum.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Salinan metrik EnrollmentService pada satu waktu
+ */
+public class EnrollmentMetricsSnapshot {
+    private final Map<EnrollmentMetrics.Operation, OperationSnapshot> operations;
+
+    /**
+     * Metrik satu operasi: counter sukses, penolakan per tipe exception, dan latency
+     */
+    public static class OperationSnapshot {
+        private final long successCount;
+        private final Map<String, Long> rejections;
+        private final long conflictCount;
+        private final LatencySnapshot latency;
+
+        OperationSnapshot(long successCount, Map<String, Long> rejections, long conflictCount,
+                          LatencySnapshot latency) {
+            this.successCount = successCount;
+            this.rejections = Collections.unmodifiableMap(rejections);
+            this.conflictCount = conflictCount;
+            this.latency = latency;
+        }
+
+        public long getSuccessCount() {
+            return successCount;
+        }
+
+        /**
+         * Jumlah penolakan per nama class exception, misal "CourseFullException"
+         */
+        public Map<String, Long> getRejections() {
+            return rejections;
+        }
+
+        public long getRejectionCount() {
+            long total = 0;
+            for (long value : rejections.values()) {
+                total += value;
+            }
+            return total;
+        }
+
+        /**
+         * Jumlah penolakan untuk satu tipe exception
+         * @param exceptionType Class exception
+         * @return Jumlah penolakan
+         */
+        public long getRejectionCount(Class<? extends Throwable> exceptionType) {
+            return rejections.getOrDefault(exceptionType.getSimpleName(), 0L);
+        }
+
+        /**
+         * Jumlah konflik versi pada update optimistik mata kuliah
+         */
+        public long getConflictCount() {
+            return conflictCount;
+        }
+
+        public LatencySnapshot getLatency() {
+            return latency;
+        }
+    }
+
+    EnrollmentMetricsSnapshot(Map<EnrollmentMetrics.Operation, OperationSnapshot> operations) {
+        this.operations = Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * Metrik untuk satu operasi
+     * @param operation Operasi yang diukur
+     * @return Snapshot operasi tersebut
+     */
+    public OperationSnapshot get(EnrollmentMetrics.Operation operation) {
+        return operations.get(operation);
+    }
+}
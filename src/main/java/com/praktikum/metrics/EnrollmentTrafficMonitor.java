@@ -0,0 +1,78 @@
+package com.praktikum.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pemantau lalu lintas enrollCourse secara real time
+ * Melacak mata kuliah yang paling banyak diminta dan mahasiswa (klien) yang
+ * paling sering mencoba, dalam jendela waktu bergeser.
+ */
+public class EnrollmentTrafficMonitor {
+    static final int DEFAULT_TOP_K = 20;
+    static final long DEFAULT_WINDOW_SECONDS = 60;
+    static final int DEFAULT_SUB_WINDOWS = 6;
+
+    private final HeavyHitterTracker courses;
+    private final HeavyHitterTracker students;
+
+    /**
+     * Jendela 60 detik dengan 6 sub-jendela, melacak 20 teratas
+     */
+    public EnrollmentTrafficMonitor() {
+        this(new HeavyHitterTracker(DEFAULT_TOP_K, DEFAULT_WINDOW_SECONDS, TimeUnit.SECONDS, DEFAULT_SUB_WINDOWS),
+                new HeavyHitterTracker(DEFAULT_TOP_K, DEFAULT_WINDOW_SECONDS, TimeUnit.SECONDS, DEFAULT_SUB_WINDOWS));
+    }
+
+    public EnrollmentTrafficMonitor(HeavyHitterTracker courses, HeavyHitterTracker students) {
+        this.courses = courses;
+        this.students = students;
+    }
+
+    /**
+     * Mencatat satu percobaan enroll
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     */
+    public void recordAttempt(String studentId, String courseCode) {
+        if (courseCode != null) {
+            courses.record(courseCode);
+        }
+        if (studentId != null) {
+            students.record(studentId);
+        }
+    }
+
+    /**
+     * Mata kuliah yang paling banyak diminta dalam jendela saat ini
+     */
+    public List<HeavyHitterTracker.HeavyHitter> hottestCourses() {
+        return courses.topK();
+    }
+
+    /**
+     * Mahasiswa yang paling sering mencoba enroll dalam jendela saat ini
+     */
+    public List<HeavyHitterTracker.HeavyHitter> mostActiveStudents() {
+        return students.topK();
+    }
+
+    /**
+     * Mengecek apakah mata kuliah menerima setidaknya sebagian tertentu dari percobaan
+     *
+     * @param courseCode Kode mata kuliah
+     * @param fraction Porsi minimum, misal 0.05 untuk 5%
+     * @return true jika mata kuliah termasuk hot key
+     */
+    public boolean isHotCourse(String courseCode, double fraction) {
+        return courses.isHeavyHitter(courseCode, fraction);
+    }
+
+    public HeavyHitterTracker getCourseTracker() {
+        return courses;
+    }
+
+    public HeavyHitterTracker getStudentTracker() {
+        return students;
+    }
+}
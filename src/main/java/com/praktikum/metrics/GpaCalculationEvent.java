@@ -0,0 +1,41 @@
+package com.praktikum.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event JFR untuk setiap perhitungan IPK atas sekumpulan nilai
+ * Diatur lewat setting JFR standar dengan nama "com.praktikum.GpaCalculation"
+ */
+@Name("com.praktikum.GpaCalculation")
+@Label("GPA Calculation")
+@Category({"Praktikum", "Grades"})
+@Description("Satu perhitungan IPK dari daftar nilai mata kuliah")
+@StackTrace(false)
+public final class GpaCalculationEvent extends Event {
+    @Label("Grade Count")
+    private int gradeCount;
+
+    @Label("GPA")
+    private double gpa;
+
+    @Label("Outcome")
+    @Description("SUCCESS, atau nama class exception jika gagal")
+    private String outcome;
+
+    public void setGradeCount(int gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public void setGpa(double gpa) {
+        this.gpa = gpa;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,280 @@
+package com.praktikum.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Pelacak heavy hitter (key paling sering) dalam jendela waktu bergeser
+ * Frekuensi diperkirakan dengan count-min sketch per sub-jendela; jendela penuh
+ * adalah jumlah beberapa sub-jendela terakhir, sehingga data lama hilang
+ * bertahap tanpa perlu menyimpan setiap kejadian. Kandidat top-K disimpan di
+ * set kecil; lock hanya diambil bila sebuah key baru bisa menggeser kandidat
+ * terkecil, sehingga key yang sudah menjadi kandidat dicatat tanpa lock.
+ * Perkiraan tidak pernah lebih kecil dari nilai sebenarnya (kecuali saat
+ * sub-jendela sedang dikosongkan), dan kelebihannya dibatasi ukuran sketch.
+ */
+public class HeavyHitterTracker {
+    static final int DEPTH = 4;
+    static final int DEFAULT_WIDTH = 2048;
+    private static final long NO_EPOCH = Long.MIN_VALUE;
+    private static final long[] ROW_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int k;
+    private final int width;
+    private final int mask;
+    private final long slotNanos;
+    private final Slot[] slots;
+    private final LongSupplier clock;
+
+    // Kandidat top-K; dibaca tanpa lock, diubah hanya di bawah lock pada set
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    // Perkiraan kandidat terkecil saat terakhir dihitung, dibaca tanpa lock di jalur cepat.
+    // Perkiraan kandidat hanya naik dalam satu sub-jendela, jadi nilai ini batas bawah
+    // yang aman: key yang tidak melewatinya pasti tidak menggeser kandidat mana pun.
+    private volatile long admissionThreshold;
+
+    /**
+     * Satu hasil top-K
+     */
+    public static class HeavyHitter {
+        private final String key;
+        private final long count;
+
+        HeavyHitter(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Perkiraan jumlah kejadian dalam jendela (batas atas)
+         */
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + count;
+        }
+    }
+
+    private final class Slot {
+        private final AtomicLong epoch = new AtomicLong(NO_EPOCH);
+        private final AtomicLongArray counts = new AtomicLongArray(DEPTH * width);
+        private final AtomicLong total = new AtomicLong();
+    }
+
+    /**
+     * @param k Jumlah heavy hitter yang dilacak
+     * @param window Panjang jendela waktu
+     * @param subWindows Jumlah sub-jendela (resolusi pergeseran jendela)
+     * @throws IllegalArgumentException jika parameter tidak positif
+     */
+    public HeavyHitterTracker(int k, long window, TimeUnit unit, int subWindows) {
+        this(k, DEFAULT_WIDTH, unit.toNanos(window), subWindows, System::nanoTime);
+    }
+
+    HeavyHitterTracker(int k, int width, long windowNanos, int subWindows, LongSupplier clock) {
+        if (k <= 0 || width <= 0 || windowNanos <= 0 || subWindows <= 0) {
+            throw new IllegalArgumentException("Tracker parameters must be positive");
+        }
+        this.k = k;
+        int size = 1;
+        while (size < width) {
+            size <<= 1;
+        }
+        this.width = size;
+        this.mask = this.width - 1;
+        this.slotNanos = Math.max(1, windowNanos / subWindows);
+        this.clock = clock;
+        this.slots = new Slot[subWindows];
+        for (int i = 0; i < subWindows; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Mencatat satu kejadian untuk key
+     * @param key Key yang diamati, misal kode mata kuliah
+     */
+    public void record(String key) {
+        long epoch = currentEpoch();
+        Slot slot = rotateTo(epoch);
+        long hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            slot.counts.incrementAndGet(row * width + index(hash, row));
+        }
+        slot.total.incrementAndGet();
+
+        if (candidates.contains(key)) {
+            return;
+        }
+        long estimate = estimate(hash, epoch);
+        if (estimate > admissionThreshold) {
+            offer(key, estimate, epoch);
+        }
+    }
+
+    /**
+     * Perkiraan jumlah kejadian key dalam jendela saat ini
+     * @param key Key yang ditanyakan
+     * @return Perkiraan (tidak pernah di bawah nilai sebenarnya)
+     */
+    public long estimate(String key) {
+        return estimate(spread(key.hashCode()), currentEpoch());
+    }
+
+    /**
+     * Total kejadian dalam jendela saat ini
+     */
+    public long totalCount() {
+        long epoch = currentEpoch();
+        long total = 0;
+        for (Slot slot : slots) {
+            if (isLive(slot.epoch.get(), epoch)) {
+                total += slot.total.get();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Key paling sering dalam jendela saat ini, terurut dari yang terbanyak
+     * @return Paling banyak k heavy hitter
+     */
+    public List<HeavyHitter> topK() {
+        long epoch = currentEpoch();
+        List<HeavyHitter> result = new ArrayList<>();
+        for (String key : candidates) {
+            long count = estimate(spread(key.hashCode()), epoch);
+            if (count > 0) {
+                result.add(new HeavyHitter(key, count));
+            }
+        }
+        result.sort((a, b) -> a.count != b.count
+                ? Long.compare(b.count, a.count) : a.key.compareTo(b.key));
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /**
+     * Mengecek apakah key menyumbang setidaknya sebagian tertentu dari lalu lintas
+     *
+     * @param key Key yang dicek
+     * @param fraction Porsi minimum, misal 0.05 untuk 5%
+     * @return true jika perkiraan key &gt;= fraction × total jendela
+     */
+    public boolean isHeavyHitter(String key, double fraction) {
+        long total = totalCount();
+        return total > 0 && estimate(key) >= fraction * total;
+    }
+
+    /**
+     * Memasukkan key sebagai kandidat jika masih ada tempat atau perkiraannya
+     * melebihi kandidat terkecil, yang kemudian dikeluarkan
+     */
+    private void offer(String key, long estimate, long epoch) {
+        synchronized (candidates) {
+            if (candidates.contains(key)) {
+                return;
+            }
+            if (candidates.size() < k) {
+                candidates.add(key);
+                if (candidates.size() == k) {
+                    admissionThreshold = minCandidate(epoch).count;
+                }
+                return;
+            }
+            HeavyHitter min = minCandidate(epoch);
+            if (estimate <= min.count) {
+                admissionThreshold = min.count;
+                return;
+            }
+            candidates.remove(min.key);
+            candidates.add(key);
+            admissionThreshold = minCandidate(epoch).count;
+        }
+    }
+
+    /**
+     * Kandidat dengan perkiraan terkecil saat ini; dipanggil di bawah lock
+     */
+    private HeavyHitter minCandidate(long epoch) {
+        HeavyHitter min = null;
+        for (String candidate : candidates) {
+            long count = estimate(spread(candidate.hashCode()), epoch);
+            if (min == null || count < min.count) {
+                min = new HeavyHitter(candidate, count);
+            }
+        }
+        return min;
+    }
+
+    private long estimate(long hash, long epoch) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int cell = row * width + index(hash, row);
+            long sum = 0;
+            for (Slot slot : slots) {
+                if (isLive(slot.epoch.get(), epoch)) {
+                    sum += slot.counts.get(cell);
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /**
+     * Memastikan sub-jendela untuk epoch ini sudah dikosongkan dari data lama
+     */
+    private Slot rotateTo(long epoch) {
+        Slot slot = slots[(int) Math.floorMod(epoch, (long) slots.length)];
+        long seen = slot.epoch.get();
+        if (seen < epoch && slot.epoch.compareAndSet(seen, epoch)) {
+            for (int i = 0; i < slot.counts.length(); i++) {
+                slot.counts.set(i, 0);
+            }
+            slot.total.set(0);
+            // Jendela bergeser dan perkiraan kandidat bisa turun; ambang dihitung ulang
+            // sekali per rotasi, bukan dikosongkan
+            refreshThreshold(epoch);
+        }
+        return slot;
+    }
+
+    private void refreshThreshold(long epoch) {
+        synchronized (candidates) {
+            admissionThreshold = candidates.size() < k ? 0 : minCandidate(epoch).count;
+        }
+    }
+
+    private boolean isLive(long slotEpoch, long epoch) {
+        return slotEpoch != NO_EPOCH && slotEpoch <= epoch && epoch - slotEpoch < slots.length;
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(clock.getAsLong(), slotNanos);
+    }
+
+    private int index(long hash, int row) {
+        long h = hash * ROW_SEEDS[row];
+        return (int) (h >>> 32) & mask;
+    }
+
+    private static long spread(int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
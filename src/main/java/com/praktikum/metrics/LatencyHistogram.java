@@ -0,0 +1,80 @@
+package com.praktikum.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latency lock-free dengan bucket log-linear (gaya HDR)
+ * Setiap pangkat dua dibagi menjadi 32 sub-bucket, sehingga presisi relatif
+ * sekitar 3% untuk nilai dari nanodetik sampai menit. Pencatatan hanya
+ * berupa beberapa operasi atomik, tanpa lock dan tanpa alokasi.
+ */
+public class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Mencatat satu nilai latency
+     * @param nanos Durasi dalam nanodetik (nilai negatif dianggap 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Mengambil salinan isi histogram untuk dibaca
+     * @return Snapshot histogram
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new LatencySnapshot(copy, totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Mengosongkan histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Nilai tengah bucket, dipakai sebagai nilai perwakilan saat menghitung persentil
+     */
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lowerBound + ((1L << shift) >>> 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.praktikum.metrics;
+
+/**
+ * Salinan isi LatencyHistogram pada satu waktu
+ * Semua nilai dikembalikan dalam mikrodetik
+ */
+public class LatencySnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    LatencySnapshot(long[] counts, long totalNanos, long maxNanos) {
+        this.counts = counts;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        long sum = 0;
+        for (long value : counts) {
+            sum += value;
+        }
+        this.count = sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMicros() {
+        return count == 0 ? 0.0 : totalNanos / (double) count / 1000.0;
+    }
+
+    public double getMaxMicros() {
+        return maxNanos / 1000.0;
+    }
+
+    /**
+     * Latency pada persentil tertentu (nearest-rank)
+     *
+     * @param percentile Persentil (0 - 100)
+     * @return Latency dalam mikrodetik, atau 0.0 jika belum ada data
+     * @throws IllegalArgumentException jika percentile di luar 0 - 100
+     */
+    public double percentileMicros(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(LatencyHistogram.bucketMidpoint(i), maxNanos) / 1000.0;
+            }
+        }
+        return getMaxMicros();
+    }
+}
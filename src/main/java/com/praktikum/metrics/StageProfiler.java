@@ -0,0 +1,174 @@
+package com.praktikum.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Profiler per tahap untuk enrollCourse dan dropCourse
+ * Hanya sebagian pemanggilan yang diukur (sampling acak dengan peluang 1/interval).
+ * Interval disesuaikan otomatis agar jumlah sampel per detik mendekati target,
+ * sehingga overhead tetap kecil saat beban penuh dan semua pemanggilan
+ * tetap terukur saat beban rendah.
+ */
+public class StageProfiler {
+    /**
+     * Tahap di dalam operasi enrollment
+     */
+    public enum Stage {
+        FIND_STUDENT, FIND_COURSE, CHECK_PREREQUISITE, RESERVE_CREDITS, UPDATE_COURSE, SEND_NOTIFICATION
+    }
+
+    static final int DEFAULT_TARGET_SAMPLES_PER_SECOND = 1000;
+    static final int MAX_SAMPLE_INTERVAL = 1 << 16;
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int targetSamplesPerSecond;
+    private final Map<EnrollmentMetrics.Operation, LatencyHistogram[]> histograms =
+            new EnumMap<>(EnrollmentMetrics.Operation.class);
+
+    private volatile int sampleInterval = 1;
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder totalSamples = new LongAdder();
+
+    public StageProfiler() {
+        this(DEFAULT_TARGET_SAMPLES_PER_SECOND);
+    }
+
+    /**
+     * @param targetSamplesPerSecond Target jumlah pemanggilan yang diukur per detik
+     * @throws IllegalArgumentException jika target tidak positif
+     */
+    public StageProfiler(int targetSamplesPerSecond) {
+        if (targetSamplesPerSecond <= 0) {
+            throw new IllegalArgumentException("Target samples per second must be positive");
+        }
+        this.targetSamplesPerSecond = targetSamplesPerSecond;
+        for (EnrollmentMetrics.Operation operation : EnrollmentMetrics.Operation.values()) {
+            LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = new LatencyHistogram();
+            }
+            histograms.put(operation, stages);
+        }
+    }
+
+    /**
+     * Menentukan apakah pemanggilan ini diukur per tahap
+     * @return Waktu mulai (nanoTime) jika diukur, atau 0 jika tidak
+     */
+    public long start() {
+        int interval = sampleInterval;
+        if (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        windowSamples.increment();
+        totalSamples.increment();
+        adjustInterval(now, interval);
+        return now == 0 ? 1 : now;
+    }
+
+    /**
+     * Mencatat durasi satu tahap, dihitung dari akhir tahap sebelumnya
+     *
+     * @param operation Operasi yang sedang diukur
+     * @param stage Tahap yang baru selesai
+     * @param since Nilai dari start() atau mark() sebelumnya
+     * @return Waktu akhir tahap ini, untuk tahap berikutnya (0 jika tidak diukur)
+     */
+    public long mark(EnrollmentMetrics.Operation operation, Stage stage, long since) {
+        if (since == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        histograms.get(operation)[stage.ordinal()].record(now - since);
+        // nanoTime bisa bernilai 0, geser agar tidak dianggap "tidak diukur"
+        return now == 0 ? 1 : now;
+    }
+
+    /**
+     * Rincian latency per tahap untuk satu operasi, hanya tahap yang pernah tercatat
+     * @param operation Operasi yang diukur
+     * @return Snapshot latency per tahap, berurutan sesuai alur operasi
+     */
+    public Map<Stage, LatencySnapshot> breakdown(EnrollmentMetrics.Operation operation) {
+        Map<Stage, LatencySnapshot> result = new EnumMap<>(Stage.class);
+        LatencyHistogram[] stages = histograms.get(operation);
+        for (Stage stage : Stage.values()) {
+            LatencySnapshot snapshot = stages[stage.ordinal()].snapshot();
+            if (snapshot.getCount() > 0) {
+                result.put(stage, snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Laporan teks rincian per tahap untuk enroll dan drop
+     * @return Tabel latency (mikrodetik) per operasi dan tahap
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Stage breakdown (sample interval 1/%d, %d samples)%n",
+                sampleInterval, totalSamples.sum()));
+        report.append(String.format("%-8s %-20s %10s %10s %10s %10s%n",
+                "op", "stage", "count", "mean", "p50", "p99"));
+        for (EnrollmentMetrics.Operation operation : EnrollmentMetrics.Operation.values()) {
+            for (Map.Entry<Stage, LatencySnapshot> entry : breakdown(operation).entrySet()) {
+                LatencySnapshot snapshot = entry.getValue();
+                report.append(String.format("%-8s %-20s %10d %10.1f %10.1f %10.1f%n",
+                        operation, entry.getKey(), snapshot.getCount(), snapshot.getMeanMicros(),
+                        snapshot.percentileMicros(50), snapshot.percentileMicros(99)));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Interval sampling saat ini, 1 berarti semua pemanggilan diukur
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    public long getSampleCount() {
+        return totalSamples.sum();
+    }
+
+    /**
+     * Mengosongkan semua histogram tahap
+     */
+    public void reset() {
+        for (LatencyHistogram[] stages : histograms.values()) {
+            for (LatencyHistogram histogram : stages) {
+                histogram.reset();
+            }
+        }
+        totalSamples.reset();
+    }
+
+    /**
+     * Menghitung ulang interval setiap jendela 100ms berdasarkan laju pemanggilan
+     * yang diperkirakan dari jumlah sampel; hanya satu thread yang menang CAS
+     */
+    private void adjustInterval(long now, int interval) {
+        long start = windowStart.get();
+        long elapsed = now - start;
+        if (elapsed < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        double callsPerSecond = windowSamples.sumThenReset() * (double) interval
+                * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        long wanted = (long) Math.ceil(callsPerSecond / targetSamplesPerSecond);
+        int next = 1;
+        while (next < wanted && next < MAX_SAMPLE_INTERVAL) {
+            next <<= 1;
+        }
+        sampleInterval = next;
+    }
+}
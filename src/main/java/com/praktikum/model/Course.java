@@ -14,6 +14,8 @@ public class Course {
     private int enrolledCount;
     private String lecturer;
     private List<String> prerequisites; // Mata kuliah prasyarat
+    private long version; // Naik setiap kali disimpan, untuk update optimistik
+    private boolean cancelled; // Dibatalkan lewat cancelCourse, tidak menerima enrollment baru
 
     public Course() {
         this.prerequisites = new ArrayList<>();
@@ -30,6 +32,19 @@ public class Course {
         this.prerequisites = new ArrayList<>();
     }
 
+    /**
+     * Salinan lengkap termasuk versi, agar bisa diubah tanpa menyentuh objek asli
+     */
+    public Course(Course other) {
+        this(other.courseCode, other.courseName, other.credits,
+                other.capacity, other.enrolledCount, other.lecturer);
+        if (other.prerequisites != null) {
+            this.prerequisites.addAll(other.prerequisites);
+        }
+        this.version = other.version;
+        this.cancelled = other.cancelled;
+    }
+
     // Getters and Setters
     public String getCourseCode() {
         return courseCode;
@@ -87,6 +102,22 @@ public class Course {
         this.prerequisites = prerequisites;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
     public void addPrerequisite(String courseCode) {
         this.prerequisites.add(courseCode);
     }
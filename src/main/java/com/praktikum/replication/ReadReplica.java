@@ -0,0 +1,401 @@
+package com.praktikum.replication;
+
+import com.praktikum.cluster.ModelCodec;
+import com.praktikum.exception.CourseNotFoundException;
+import com.praktikum.exception.StaleReplicaException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Replika baca yang menerapkan log primary ke repository in-memory miliknya sendiri
+ * Satu thread pembaca menerapkan entry sesuai urutan log, jadi urutan log adalah
+ * urutan yang berlaku di replika. Jika koneksi putus, replika tersambung ulang
+ * dengan nomor urut terakhirnya dan primary melanjutkan dari sana, atau mengirim
+ * snapshot jika entry tersebut sudah tidak disimpan.
+ *
+ * Setiap pembacaan dicek terhadap batas staleness: waktu sejak replika terakhir
+ * dipastikan sudah menerapkan semua perubahan yang diketahui ada di primary.
+ * Heartbeat primary menjaga nilai ini tetap kecil saat tidak ada penulisan;
+ * jika primary tidak bisa dihubungi, staleness terus naik dan pembacaan ditolak.
+ */
+public class ReadReplica implements ReadReplicaMXBean, AutoCloseable {
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    // Beberapa kali interval heartbeat; lebih lama dari ini koneksi dianggap mati
+    private static final int READ_TIMEOUT_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 100;
+
+    private final InetSocketAddress primary;
+    private final long maxStalenessNanos;
+    private final InMemoryStudentRepository students = new InMemoryStudentRepository();
+    private final InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+    private final InMemoryEnrollmentRepository enrollments = new InMemoryEnrollmentRepository();
+
+    private final Object progress = new Object();
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    private volatile long caughtUpAtNanos;
+    private volatile boolean caughtUp;
+    private final AtomicLong snapshots = new AtomicLong();
+
+    // Hanya dipakai thread pembaca: head primary yang sedang dikejar dan kapan diketahui
+    private long pendingSequence = -1;
+    private long pendingSinceNanos;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Socket socket;
+    private Thread reader;
+
+    /**
+     * @param primary Alamat ReplicationPrimary
+     * @param maxStaleness Batas staleness untuk pembacaan
+     * @param unit Satuan maxStaleness
+     */
+    public ReadReplica(InetSocketAddress primary, long maxStaleness, TimeUnit unit) {
+        this.primary = primary;
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+    }
+
+    /**
+     * Mulai tersambung ke primary dan menerapkan log di thread latar belakang
+     * @throws IllegalStateException jika replika sudah dijalankan
+     */
+    public synchronized void start() {
+        if (reader != null) {
+            throw new IllegalStateException("Read replica already started");
+        }
+        running = true;
+        reader = new Thread(this::readLoop, "replication-replica-" + primary.getPort());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    // ==================== Pembacaan ====================
+
+    /**
+     * Mencari mata kuliah di replika
+     * @return Salinan Course atau null jika tidak ada
+     * @throws StaleReplicaException jika replika melewati batas staleness
+     */
+    public Course findCourse(String courseCode) {
+        requireFresh();
+        Course course = courses.findByCourseCode(courseCode);
+        return course != null ? new Course(course) : null;
+    }
+
+    /**
+     * Sisa kursi sebuah mata kuliah, 0 jika mata kuliah sudah dibatalkan
+     * @throws CourseNotFoundException jika mata kuliah tidak ada di replika
+     * @throws StaleReplicaException jika replika melewati batas staleness
+     */
+    public int getSeatsLeft(String courseCode) {
+        requireFresh();
+        Course course = courses.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+        if (course.isCancelled()) {
+            return 0;
+        }
+        return course.getCapacity() - course.getEnrolledCount();
+    }
+
+    /**
+     * Mencari mahasiswa di replika
+     * @return Student object atau null jika tidak ada
+     * @throws StaleReplicaException jika replika melewati batas staleness
+     */
+    public Student findStudent(String studentId) {
+        requireFresh();
+        return students.findById(studentId);
+    }
+
+    /**
+     * Enrollment seorang mahasiswa di replika
+     * @throws StaleReplicaException jika replika melewati batas staleness
+     */
+    public List<Enrollment> findEnrollmentsByStudent(String studentId) {
+        requireFresh();
+        return enrollments.findByStudent(studentId);
+    }
+
+    /**
+     * Enrollment di satu mata kuliah di replika
+     * @throws StaleReplicaException jika replika melewati batas staleness
+     */
+    public List<Enrollment> findEnrollmentsByCourse(String courseCode) {
+        requireFresh();
+        return enrollments.findByCourse(courseCode);
+    }
+
+    /**
+     * Menunggu sampai replika menerapkan entry dengan nomor urut tertentu,
+     * misal nomor urut primary setelah sebuah penulisan (read-your-writes)
+     *
+     * @return true jika sudah diterapkan sebelum timeout
+     */
+    public boolean awaitSequence(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (appliedSequence < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void requireFresh() {
+        if (!caughtUp) {
+            throw new StaleReplicaException("Replica has not caught up with primary yet");
+        }
+        long staleness = System.nanoTime() - caughtUpAtNanos;
+        if (staleness > maxStalenessNanos) {
+            throw new StaleReplicaException("Replica is " + TimeUnit.NANOSECONDS.toMillis(staleness)
+                    + " ms behind primary, limit is " + TimeUnit.NANOSECONDS.toMillis(maxStalenessNanos) + " ms");
+        }
+    }
+
+    // ==================== Penerapan log ====================
+
+    private void readLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.setTcpNoDelay(true);
+                connection.setSoTimeout(READ_TIMEOUT_MILLIS);
+                connection.connect(primary, CONNECT_TIMEOUT_MILLIS);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                out.writeLong(appliedSequence);
+                out.flush();
+                connected = true;
+                pendingSequence = -1;
+                while (running) {
+                    readFrame(in);
+                }
+            } catch (IOException e) {
+                // Primary tidak bisa dihubungi atau koneksi putus; dicoba lagi
+            } finally {
+                connected = false;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void readFrame(DataInputStream in) throws IOException {
+        byte frame = in.readByte();
+        long receivedAt = System.nanoTime();
+        switch (frame) {
+            case ReplicationProtocol.SNAPSHOT: {
+                ReplicationProtocol.Snapshot snapshot = ReplicationProtocol.readSnapshot(in);
+                applySnapshot(snapshot);
+                appliedSequence = snapshot.sequence;
+                observeHead(snapshot.sequence, receivedAt);
+                snapshots.incrementAndGet();
+                signalProgress();
+                break;
+            }
+            case ReplicationProtocol.ENTRY: {
+                long sequence = in.readLong();
+                long head = in.readLong();
+                byte[] entry = new byte[in.readInt()];
+                in.readFully(entry);
+                apply(entry);
+                appliedSequence = sequence;
+                observeHead(head, receivedAt);
+                signalProgress();
+                break;
+            }
+            case ReplicationProtocol.HEARTBEAT:
+                observeHead(in.readLong(), receivedAt);
+                break;
+            default:
+                throw new IOException("Unknown replication frame: " + frame);
+        }
+    }
+
+    private void signalProgress() {
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    /**
+     * Mencatat head primary yang diketahui pada waktu tertentu; replika dianggap
+     * terkini per waktu itu begitu semua entry sampai head tersebut diterapkan
+     */
+    private void observeHead(long head, long receivedAt) {
+        primarySequence = head;
+        if (pendingSequence < 0 || head <= appliedSequence) {
+            pendingSequence = head;
+            pendingSinceNanos = receivedAt;
+        }
+        if (appliedSequence >= pendingSequence) {
+            caughtUpAtNanos = pendingSinceNanos;
+            caughtUp = true;
+            pendingSequence = -1;
+        }
+    }
+
+    private void apply(byte[] entry) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        byte type = in.readByte();
+        switch (type) {
+            case ReplicationProtocol.COURSE_UPDATED:
+                applyCourse(ModelCodec.readCourse(in));
+                break;
+            case ReplicationProtocol.STUDENT_UPDATED:
+                students.update(ModelCodec.readStudent(in));
+                break;
+            case ReplicationProtocol.ENROLLMENT_SAVED:
+                enrollments.save(ModelCodec.readEnrollment(in));
+                break;
+            case ReplicationProtocol.ENROLLMENT_DELETED:
+                enrollments.delete(in.readUTF(), in.readUTF());
+                break;
+            default:
+                throw new IOException("Unknown replication entry type: " + type);
+        }
+    }
+
+    private void applyCourse(Course course) {
+        Course current = courses.findByCourseCode(course.getCourseCode());
+        // Update bersamaan bisa masuk log tidak sesuai urutan versi; versi yang lebih lama diabaikan
+        if (current == null || course.getVersion() >= current.getVersion()) {
+            courses.restore(course);
+        }
+    }
+
+    private void applySnapshot(ReplicationProtocol.Snapshot snapshot) {
+        Set<String> courseCodes = new HashSet<>();
+        for (Course course : snapshot.courses) {
+            courses.restore(course);
+            courseCodes.add(course.getCourseCode());
+        }
+        for (Course course : courses.findAll()) {
+            if (!courseCodes.contains(course.getCourseCode())) {
+                courses.remove(course.getCourseCode());
+            }
+        }
+        for (Student student : snapshot.students) {
+            students.update(student);
+        }
+        Set<String> pairs = new HashSet<>();
+        for (Enrollment enrollment : snapshot.enrollments) {
+            pairs.add(enrollment.getStudentId() + '\u0000' + enrollment.getCourseCode());
+        }
+        for (Enrollment enrollment : enrollments.findAll()) {
+            if (!pairs.contains(enrollment.getStudentId() + '\u0000' + enrollment.getCourseCode())) {
+                enrollments.delete(enrollment.getStudentId(), enrollment.getCourseCode());
+            }
+        }
+        for (Enrollment enrollment : snapshot.enrollments) {
+            enrollments.save(enrollment);
+        }
+    }
+
+    // ==================== JMX attributes ====================
+
+    /**
+     * Mendaftarkan replika ini ke platform MBeanServer
+     *
+     * @param instanceName Nama instance, misal "replica-1"
+     * @return ObjectName yang didaftarkan
+     * @throws IllegalStateException jika pendaftaran gagal
+     */
+    public ObjectName registerMBean(String instanceName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.praktikum:type=ReadReplica,name="
+                    + ObjectName.quote(instanceName));
+            server.registerMBean(this, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register read replica MBean", e);
+        }
+    }
+
+    @Override
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public long getPrimarySequence() {
+        return primarySequence;
+    }
+
+    @Override
+    public long getLagEntries() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    @Override
+    public long getStalenessMillis() {
+        if (!caughtUp) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpAtNanos);
+    }
+
+    @Override
+    public long getSnapshotCount() {
+        return snapshots.get();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Memutus koneksi ke primary dan menghentikan thread pembaca
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Sudah tertutup
+            }
+        }
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+}
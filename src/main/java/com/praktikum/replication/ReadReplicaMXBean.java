@@ -0,0 +1,34 @@
+package com.praktikum.replication;
+
+/**
+ * Antarmuka JMX untuk lag replika baca
+ */
+public interface ReadReplicaMXBean {
+    /**
+     * Nomor urut entry terakhir yang sudah diterapkan
+     */
+    long getAppliedSequence();
+
+    /**
+     * Nomor urut terakhir primary yang diketahui replika
+     */
+    long getPrimarySequence();
+
+    /**
+     * Jumlah entry yang diketahui ada di primary tetapi belum diterapkan
+     */
+    long getLagEntries();
+
+    /**
+     * Milidetik sejak replika terakhir dipastikan sudah sama dengan primary,
+     * Long.MAX_VALUE jika belum pernah
+     */
+    long getStalenessMillis();
+
+    /**
+     * Jumlah snapshot yang sudah diterapkan
+     */
+    long getSnapshotCount();
+
+    boolean isConnected();
+}
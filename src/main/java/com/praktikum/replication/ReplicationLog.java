@@ -0,0 +1,152 @@
+package com.praktikum.replication;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.CourseChangeListener;
+import com.praktikum.repository.EnrollmentChangeListener;
+import com.praktikum.repository.StudentChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Log perubahan berurutan yang dikirim primary ke replika
+ * Didaftarkan sebagai listener di repository Observable; setiap perubahan
+ * di-encode menjadi entry biner dengan nomor urut yang naik mulai dari 1.
+ * Hanya entry terakhir sebanyak kapasitas yang disimpan (ring buffer);
+ * replika yang tertinggal lebih jauh harus mengejar lewat snapshot.
+ *
+ * Entry berisi state lengkap objek setelah perubahan, bukan selisihnya. Menerapkan
+ * ulang entry yang sudah tercakup snapshot hanya aman jika entry untuk kunci yang
+ * sama masuk log sesuai urutan perubahannya: enrollment dan mahasiswa dijamin oleh
+ * decorator Observable yang memanggil listener di dalam critical section penulisan,
+ * sedangkan mata kuliah membawa versi yang dipakai replika untuk menolak state lama.
+ * Tanpa jaminan itu, save yang masuk log setelah delete berikutnya akan
+ * menghidupkan lagi enrollment yang sudah dihapus di replika.
+ */
+public class ReplicationLog implements CourseChangeListener, StudentChangeListener, EnrollmentChangeListener {
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final byte[][] entries;
+    private long head;
+
+    public ReplicationLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Jumlah entry terakhir yang disimpan
+     * @throws IllegalArgumentException jika capacity tidak positif
+     */
+    public ReplicationLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.entries = new byte[capacity][];
+    }
+
+    @Override
+    public void onCourseUpdated(Course course) {
+        lock.lock();
+        try {
+            // Di-encode di dalam lock agar entry terakhir selalu membawa state terbaru objek bersama
+            append(ReplicationProtocol.courseUpdated(course));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onStudentUpdated(Student student) {
+        lock.lock();
+        try {
+            append(ReplicationProtocol.studentUpdated(student));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onEnrollmentSaved(Enrollment enrollment) {
+        append(ReplicationProtocol.enrollmentSaved(enrollment));
+    }
+
+    @Override
+    public void onEnrollmentDeleted(String studentId, String courseCode) {
+        append(ReplicationProtocol.enrollmentDeleted(studentId, courseCode));
+    }
+
+    private void append(byte[] entry) {
+        lock.lock();
+        try {
+            head++;
+            entries[(int) (head % entries.length)] = entry;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nomor urut entry terakhir, 0 jika log masih kosong
+     */
+    public long head() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mengambil entry setelah nomor urut tertentu
+     *
+     * @param sequence Nomor urut terakhir yang sudah dimiliki pembaca
+     * @param max Jumlah maksimum entry yang diambil
+     * @return Entry berurutan mulai dari sequence + 1 (kosong jika belum ada),
+     *         atau null jika sebagian entry yang dibutuhkan sudah tertimpa
+     *         atau sequence lebih besar dari head
+     */
+    List<byte[]> entriesAfter(long sequence, int max) {
+        lock.lock();
+        try {
+            if (sequence > head || head - sequence > entries.length) {
+                return null;
+            }
+            int count = (int) Math.min(max, head - sequence);
+            List<byte[]> result = new ArrayList<>(count);
+            for (long seq = sequence + 1; seq <= sequence + count; seq++) {
+                result.add(entries[(int) (seq % entries.length)]);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menunggu sampai ada entry setelah nomor urut tertentu
+     * @return true jika ada entry baru sebelum timeout
+     */
+    boolean awaitAfter(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (head <= sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.praktikum.replication;
+
+import com.praktikum.exception.ClusterException;
+import com.praktikum.repository.CourseRepository;
+import com.praktikum.repository.EnrollmentRepository;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.repository.ObservableCourseRepository;
+import com.praktikum.repository.ObservableEnrollmentRepository;
+import com.praktikum.repository.ObservableStudentRepository;
+import com.praktikum.repository.StudentRepository;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sisi primary replikasi log-shipping
+ * Membungkus repository in-memory dengan decorator Observable yang menulis setiap
+ * perubahan ke ReplicationLog, lalu mengalirkan log tersebut ke setiap replika
+ * yang terhubung lewat socket. Semua penulisan harus lewat repository yang
+ * dikembalikan getter kelas ini (misal dipasang ke EnrollmentService).
+ *
+ * Snapshot dibaca langsung dari repository tanpa menahan penulis: nomor urut
+ * dicatat lebih dulu, dan karena entry ditulis ke log setelah repository berubah,
+ * snapshot selalu sudah mencakup semua entry sampai nomor tersebut. Entry sesudahnya
+ * bisa sudah ikut tercakup dan akan diterapkan ulang oleh replika. Hasil akhirnya
+ * tetap sama hanya karena decorator Observable menulis ke log di critical section
+ * yang sama dengan perubahan repository, sehingga urutan log sama dengan urutan
+ * perubahan; state replika di tengah penerapan ulang bisa sempat mundur.
+ */
+public class ReplicationPrimary implements AutoCloseable {
+    private static final long HEARTBEAT_MILLIS = 50;
+    private static final int BATCH_SIZE = 256;
+
+    private final InMemoryCourseRepository courses;
+    private final InMemoryStudentRepository students;
+    private final InMemoryEnrollmentRepository enrollments;
+    private final ObservableCourseRepository courseRepository;
+    private final ObservableStudentRepository studentRepository;
+    private final ObservableEnrollmentRepository enrollmentRepository;
+    private final ReplicationLog log;
+
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private volatile InetSocketAddress address;
+    private volatile boolean running;
+
+    public ReplicationPrimary(InMemoryCourseRepository courses, InMemoryStudentRepository students,
+                              InMemoryEnrollmentRepository enrollments) {
+        this(courses, students, enrollments, ReplicationLog.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param courses Repository mata kuliah primary; data yang sudah ada dikirim lewat snapshot
+     * @param students Repository mahasiswa primary
+     * @param enrollments Repository enrollment primary
+     * @param logCapacity Jumlah entry terakhir yang disimpan untuk replika yang tertinggal
+     */
+    public ReplicationPrimary(InMemoryCourseRepository courses, InMemoryStudentRepository students,
+                              InMemoryEnrollmentRepository enrollments, int logCapacity) {
+        this.courses = courses;
+        this.students = students;
+        this.enrollments = enrollments;
+        this.log = new ReplicationLog(logCapacity);
+        this.courseRepository = new ObservableCourseRepository(courses);
+        this.studentRepository = new ObservableStudentRepository(students);
+        this.enrollmentRepository = new ObservableEnrollmentRepository(enrollments);
+        courseRepository.addListener(log);
+        studentRepository.addListener(log);
+        enrollmentRepository.addListener(log);
+    }
+
+    /**
+     * Membuka socket di alamat loopback dengan port bebas
+     * @return Alamat primary
+     */
+    public InetSocketAddress start() {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    /**
+     * Membuka socket dan mulai menerima replika
+     *
+     * @param bindAddress Alamat yang dipakai, port 0 untuk port bebas
+     * @return Alamat primary
+     * @throws IllegalStateException jika primary sudah dijalankan
+     * @throws ClusterException jika socket tidak bisa dibuka
+     */
+    public synchronized InetSocketAddress start(InetSocketAddress bindAddress) {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Replication primary already started");
+        }
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.bind(bindAddress);
+        } catch (IOException e) {
+            throw new ClusterException("Failed to open replication socket", e);
+        }
+        address = new InetSocketAddress(bindAddress.getAddress(), serverSocket.getLocalPort());
+        running = true;
+
+        Thread acceptor = new Thread(this::acceptLoop, "replication-primary-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return address;
+    }
+
+    public CourseRepository getCourseRepository() {
+        return courseRepository;
+    }
+
+    public StudentRepository getStudentRepository() {
+        return studentRepository;
+    }
+
+    public EnrollmentRepository getEnrollmentRepository() {
+        return enrollmentRepository;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Nomor urut perubahan terakhir di log
+     */
+    public long getHeadSequence() {
+        return log.head();
+    }
+
+    /**
+     * Jumlah replika yang sedang terhubung
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    // ==================== Pengiriman ke replika ====================
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread sender = new Thread(() -> serve(socket), "replication-primary-sender");
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                // Saat berjalan, koneksi yang gagal di-accept diabaikan
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            long cursor = in.readLong();
+            List<byte[]> batch = cursor > 0 ? log.entriesAfter(cursor, BATCH_SIZE) : null;
+            while (running) {
+                if (batch == null) {
+                    // Replika baru, atau entry yang dibutuhkannya sudah tertimpa
+                    ReplicationProtocol.Snapshot snapshot = snapshot();
+                    ReplicationProtocol.writeSnapshot(out, snapshot);
+                    out.flush();
+                    cursor = snapshot.sequence;
+                } else if (batch.isEmpty()) {
+                    if (!log.awaitAfter(cursor, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        ReplicationProtocol.writeHeartbeat(out, log.head());
+                        out.flush();
+                    }
+                } else {
+                    long head = log.head();
+                    for (byte[] entry : batch) {
+                        ReplicationProtocol.writeEntry(out, ++cursor, head, entry);
+                    }
+                    out.flush();
+                }
+                batch = log.entriesAfter(cursor, BATCH_SIZE);
+            }
+        } catch (IOException e) {
+            // Replika terputus; replika akan tersambung ulang dengan nomor urutnya sendiri
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private ReplicationProtocol.Snapshot snapshot() {
+        long sequence = log.head();
+        return new ReplicationProtocol.Snapshot(sequence, courses.findAll(), students.findAll(), enrollments.findAll());
+    }
+
+    /**
+     * Menutup socket dan memutus semua replika; repository tetap bisa dipakai
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+            // Sudah tertutup
+        }
+        for (Socket socket : followers) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Sudah tertutup
+            }
+        }
+        followers.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package com.praktikum.replication;
+
+import com.praktikum.cluster.ModelCodec;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protokol biner antara primary dan replika
+ * Replika membuka koneksi dan mengirim nomor urut terakhir yang sudah diterapkannya.
+ * Primary membalas dengan SNAPSHOT jika replika baru atau sudah tertinggal dari log
+ * yang masih disimpan, lalu mengalirkan ENTRY satu per satu sesuai urutan log.
+ * Saat tidak ada perubahan, HEARTBEAT dikirim agar replika tahu dirinya masih terkini.
+ */
+final class ReplicationProtocol {
+    // Frame dari primary
+    static final byte SNAPSHOT = 1;
+    static final byte ENTRY = 2;
+    static final byte HEARTBEAT = 3;
+
+    // Tipe entry log
+    static final byte COURSE_UPDATED = 1;
+    static final byte STUDENT_UPDATED = 2;
+    static final byte ENROLLMENT_SAVED = 3;
+    static final byte ENROLLMENT_DELETED = 4;
+
+    /**
+     * Isi snapshot: seluruh state primary pada nomor urut tertentu
+     */
+    static final class Snapshot {
+        final long sequence;
+        final List<Course> courses;
+        final List<Student> students;
+        final List<Enrollment> enrollments;
+
+        Snapshot(long sequence, List<Course> courses, List<Student> students, List<Enrollment> enrollments) {
+            this.sequence = sequence;
+            this.courses = courses;
+            this.students = students;
+            this.enrollments = enrollments;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private ReplicationProtocol() {
+    }
+
+    // ==================== Entry log ====================
+
+    static byte[] courseUpdated(Course course) {
+        return encode(COURSE_UPDATED, out -> ModelCodec.writeCourse(out, course));
+    }
+
+    static byte[] studentUpdated(Student student) {
+        return encode(STUDENT_UPDATED, out -> ModelCodec.writeStudent(out, student));
+    }
+
+    static byte[] enrollmentSaved(Enrollment enrollment) {
+        return encode(ENROLLMENT_SAVED, out -> ModelCodec.writeEnrollment(out, enrollment));
+    }
+
+    static byte[] enrollmentDeleted(String studentId, String courseCode) {
+        return encode(ENROLLMENT_DELETED, out -> {
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+        });
+    }
+
+    private static byte[] encode(byte type, Payload payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            payload.write(out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream tidak pernah gagal
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ==================== Frame ====================
+
+    static void writeEntry(DataOutputStream out, long sequence, long head, byte[] entry) throws IOException {
+        out.writeByte(ENTRY);
+        out.writeLong(sequence);
+        out.writeLong(head);
+        out.writeInt(entry.length);
+        out.write(entry);
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long head) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(head);
+    }
+
+    static void writeSnapshot(DataOutputStream out, Snapshot snapshot) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(snapshot.sequence);
+        out.writeInt(snapshot.courses.size());
+        for (Course course : snapshot.courses) {
+            ModelCodec.writeCourse(out, course);
+        }
+        out.writeInt(snapshot.students.size());
+        for (Student student : snapshot.students) {
+            ModelCodec.writeStudent(out, student);
+        }
+        out.writeInt(snapshot.enrollments.size());
+        for (Enrollment enrollment : snapshot.enrollments) {
+            ModelCodec.writeEnrollment(out, enrollment);
+        }
+    }
+
+    /**
+     * Membaca isi snapshot setelah byte frame SNAPSHOT
+     */
+    static Snapshot readSnapshot(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        int size = in.readInt();
+        List<Course> courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            courses.add(ModelCodec.readCourse(in));
+        }
+        size = in.readInt();
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(ModelCodec.readStudent(in));
+        }
+        size = in.readInt();
+        List<Enrollment> enrollments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            enrollments.add(ModelCodec.readEnrollment(in));
+        }
+        return new Snapshot(sequence, courses, students, enrollments);
+    }
+}
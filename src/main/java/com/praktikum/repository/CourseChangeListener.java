@@ -0,0 +1,15 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+
+/**
+ * Listener yang dipanggil setiap kali data mata kuliah diupdate
+ * Dipakai untuk menjaga index tetap sinkron tanpa scan ulang katalog
+ */
+public interface CourseChangeListener {
+    /**
+     * Dipanggil setelah data mata kuliah berhasil diupdate di repository
+     * @param course Course object dengan data terbaru
+     */
+    void onCourseUpdated(Course course);
+}
@@ -20,6 +20,20 @@ public interface CourseRepository {
      */
     void update(Course course);
 
+    /**
+     * Update bersyarat: hanya disimpan jika versi tersimpan masih expectedVersion
+     * Jika berhasil, versi course dinaikkan menjadi expectedVersion + 1.
+     * Cek versi dan penyimpanan harus atomik, sehingga tidak ada implementasi default;
+     * repository yang tidak mendukungnya tidak bisa dipakai dengan OptimisticRetryPolicy.
+     * @param course Course object hasil perubahan
+     * @param expectedVersion Versi yang dibaca sebelum perubahan
+     * @return true jika tersimpan, false jika versi sudah berubah atau mata kuliah tidak ada
+     * @throws UnsupportedOperationException jika repository tidak mendukung update bersyarat
+     */
+    default boolean compareAndUpdate(Course course, long expectedVersion) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support compareAndUpdate");
+    }
+
     /**
      * Mengecek apakah prasyarat mata kuliah sudah terpenuhi
      * @param studentId ID mahasiswa
@@ -0,0 +1,66 @@
+package com.praktikum.repository;
+
+/**
+ * Kriteria pencarian mata kuliah untuk CourseSearchIndex
+ * Field yang bernilai null tidak dipakai sebagai filter
+ */
+public class CourseSearchCriteria {
+    private String lecturer;        // Nama dosen (tidak case-sensitive)
+    private String namePrefix;      // Awalan nama mata kuliah
+    private String nameContains;    // Potongan nama mata kuliah
+    private Integer minCredits;
+    private Integer maxCredits;
+
+    public CourseSearchCriteria() {
+    }
+
+    // Getters and Setters
+    public String getLecturer() {
+        return lecturer;
+    }
+
+    public void setLecturer(String lecturer) {
+        this.lecturer = lecturer;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getNameContains() {
+        return nameContains;
+    }
+
+    public void setNameContains(String nameContains) {
+        this.nameContains = nameContains;
+    }
+
+    public Integer getMinCredits() {
+        return minCredits;
+    }
+
+    public void setMinCredits(Integer minCredits) {
+        this.minCredits = minCredits;
+    }
+
+    public Integer getMaxCredits() {
+        return maxCredits;
+    }
+
+    public void setMaxCredits(Integer maxCredits) {
+        this.maxCredits = maxCredits;
+    }
+
+    /**
+     * Mengatur filter SKS tepat satu nilai
+     * @param credits Jumlah SKS
+     */
+    public void setCredits(int credits) {
+        this.minCredits = credits;
+        this.maxCredits = credits;
+    }
+}
@@ -0,0 +1,226 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index sekunder untuk pencarian katalog mata kuliah
+ * Berisi inverted index nama dosen, index trigram dan index terurut untuk nama
+ * mata kuliah, serta bucket index SKS. Didaftarkan sebagai listener di
+ * ObservableCourseRepository sehingga index diperbarui setiap update(Course).
+ *
+ * Query gabungan memakai posting list terkecil sebagai kandidat, lalu setiap
+ * kandidat dicek terhadap seluruh kriteria. Scan penuh hanya terjadi jika
+ * tidak ada kriteria yang bisa memakai index (misal potongan nama < 3 huruf).
+ */
+public class CourseSearchIndex implements CourseChangeListener {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, IndexedCourse> courses = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byLecturer = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byTrigram = new ConcurrentHashMap<>();
+    // key: nama ter-normalisasi + '\0' + courseCode, value: courseCode
+    private final ConcurrentSkipListMap<String, String> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, Set<String>> byCredits = new ConcurrentSkipListMap<>();
+
+    /**
+     * Snapshot field yang di-index, agar unindex memakai nilai lama
+     * walaupun Course object diubah langsung oleh pemanggil
+     */
+    private static final class IndexedCourse {
+        private final Course course;
+        private final String courseCode;
+        private final String lecturerKey;
+        private final String nameKey;
+        private final int credits;
+        private final long version;
+
+        private IndexedCourse(Course course) {
+            this.course = course;
+            this.courseCode = course.getCourseCode();
+            this.lecturerKey = normalize(course.getLecturer());
+            this.nameKey = normalize(course.getCourseName());
+            this.credits = course.getCredits();
+            this.version = course.getVersion();
+        }
+    }
+
+    /**
+     * Memperbarui index dengan data mata kuliah terbaru
+     * Bisa juga dipanggil langsung untuk memuat katalog awal
+     *
+     * @param course Course object dengan data terbaru
+     */
+    @Override
+    public void onCourseUpdated(Course course) {
+        if (course == null || course.getCourseCode() == null) {
+            return;
+        }
+
+        IndexedCourse current = new IndexedCourse(course);
+        courses.compute(current.courseCode, (code, previous) -> {
+            // Notifikasi yang datang tidak berurutan tidak boleh menimpa versi yang lebih baru
+            if (previous != null && current.version < previous.version) {
+                return previous;
+            }
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(current);
+            return current;
+        });
+    }
+
+    /**
+     * Mencari mata kuliah berdasarkan kombinasi kriteria
+     *
+     * @param criteria Kriteria pencarian, field null diabaikan
+     * @return Daftar mata kuliah yang cocok, terurut berdasarkan course code
+     */
+    public List<Course> search(CourseSearchCriteria criteria) {
+        String lecturer = criteria.getLecturer() == null ? null : normalize(criteria.getLecturer());
+        String prefix = criteria.getNamePrefix() == null ? null : normalize(criteria.getNamePrefix());
+        String contains = criteria.getNameContains() == null ? null : normalize(criteria.getNameContains());
+        int minCredits = criteria.getMinCredits() == null ? Integer.MIN_VALUE : criteria.getMinCredits();
+        int maxCredits = criteria.getMaxCredits() == null ? Integer.MAX_VALUE : criteria.getMaxCredits();
+
+        Collection<String> candidates = null;
+
+        if (lecturer != null) {
+            candidates = postings(byLecturer, lecturer);
+        }
+        if (contains != null && contains.length() >= GRAM_LENGTH) {
+            for (String gram : grams(contains)) {
+                candidates = smaller(candidates, postings(byTrigram, gram));
+            }
+        }
+        if (prefix != null && !prefix.isEmpty()
+                && (candidates == null || !candidates.isEmpty())) {
+            candidates = smaller(candidates, prefixRange(prefix).values());
+        }
+        if (criteria.getMinCredits() != null || criteria.getMaxCredits() != null) {
+            Collection<Set<String>> buckets = minCredits > maxCredits
+                    ? new ArrayList<>()
+                    : byCredits.subMap(minCredits, true, maxCredits, true).values();
+            int size = 0;
+            for (Set<String> bucket : buckets) {
+                size += bucket.size();
+            }
+            if (candidates == null || size < candidates.size()) {
+                Set<String> union = new HashSet<>(size * 2);
+                for (Set<String> bucket : buckets) {
+                    union.addAll(bucket);
+                }
+                candidates = union;
+            }
+        }
+        if (candidates == null) {
+            candidates = courses.keySet();
+        }
+
+        List<Course> result = new ArrayList<>();
+        for (String courseCode : candidates) {
+            IndexedCourse indexed = courses.get(courseCode);
+            if (indexed != null
+                    && (lecturer == null || lecturer.equals(indexed.lecturerKey))
+                    && (prefix == null || indexed.nameKey.startsWith(prefix))
+                    && (contains == null || indexed.nameKey.contains(contains))
+                    && indexed.credits >= minCredits
+                    && indexed.credits <= maxCredits) {
+                result.add(indexed.course);
+            }
+        }
+        result.sort(Comparator.comparing(Course::getCourseCode));
+        return result;
+    }
+
+    /**
+     * Mencari mata kuliah yang diampu oleh dosen tertentu
+     *
+     * @param lecturer Nama dosen (tidak case-sensitive)
+     * @return Daftar mata kuliah, terurut berdasarkan course code
+     */
+    public List<Course> findByLecturer(String lecturer) {
+        CourseSearchCriteria criteria = new CourseSearchCriteria();
+        criteria.setLecturer(lecturer);
+        return search(criteria);
+    }
+
+    /**
+     * Jumlah mata kuliah yang ter-index
+     * @return Jumlah mata kuliah
+     */
+    public int size() {
+        return courses.size();
+    }
+
+    private void index(IndexedCourse indexed) {
+        String code = indexed.courseCode;
+        if (indexed.lecturerKey != null) {
+            byLecturer.computeIfAbsent(indexed.lecturerKey, key -> ConcurrentHashMap.newKeySet()).add(code);
+        }
+        if (indexed.nameKey != null) {
+            for (String gram : grams(indexed.nameKey)) {
+                byTrigram.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(code);
+            }
+            byName.put(indexed.nameKey + '\0' + code, code);
+        }
+        byCredits.computeIfAbsent(indexed.credits, key -> ConcurrentHashMap.newKeySet()).add(code);
+    }
+
+    private void unindex(IndexedCourse indexed) {
+        String code = indexed.courseCode;
+        if (indexed.lecturerKey != null) {
+            removePosting(byLecturer, indexed.lecturerKey, code);
+        }
+        if (indexed.nameKey != null) {
+            for (String gram : grams(indexed.nameKey)) {
+                removePosting(byTrigram, gram, code);
+            }
+            byName.remove(indexed.nameKey + '\0' + code);
+        }
+        removePosting(byCredits, indexed.credits, code);
+    }
+
+    private NavigableMap<String, String> prefixRange(String prefix) {
+        return byName.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static <K> void removePosting(Map<K, Set<String>> index, K key, String code) {
+        index.computeIfPresent(key, (k, codes) -> {
+            codes.remove(code);
+            return codes.isEmpty() ? null : codes;
+        });
+    }
+
+    private static Set<String> postings(Map<String, Set<String>> index, String key) {
+        Set<String> codes = index.get(key);
+        return codes == null ? new HashSet<>() : codes;
+    }
+
+    private static Collection<String> smaller(Collection<String> current, Collection<String> candidate) {
+        return current == null || candidate.size() < current.size() ? candidate : current;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+
+/**
+ * Listener yang dipanggil setiap kali enrollment disimpan atau dihapus
+ * Dipakai untuk mengirim perubahan ke replika tanpa scan ulang
+ */
+public interface EnrollmentChangeListener {
+    /**
+     * Dipanggil setelah enrollment berhasil disimpan di repository
+     * @param enrollment Enrollment object yang disimpan
+     */
+    void onEnrollmentSaved(Enrollment enrollment);
+
+    /**
+     * Dipanggil setelah enrollment berhasil dihapus dari repository
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     */
+    void onEnrollmentDeleted(String studentId, String courseCode);
+}
@@ -0,0 +1,46 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+import java.util.List;
+
+/**
+ * Interface untuk akses data enrollment
+ * Satu mahasiswa paling banyak memiliki satu enrollment per mata kuliah
+ */
+public interface EnrollmentRepository {
+    /**
+     * Menyimpan enrollment baru, atau mengganti enrollment mahasiswa yang sama di mata kuliah yang sama
+     * @param enrollment Enrollment object yang akan disimpan
+     */
+    void save(Enrollment enrollment);
+
+    /**
+     * Mencari enrollment mahasiswa di satu mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Enrollment object atau null jika tidak ditemukan
+     */
+    Enrollment findByStudentAndCourse(String studentId, String courseCode);
+
+    /**
+     * Mendapatkan semua enrollment seorang mahasiswa
+     * @param studentId ID mahasiswa
+     * @return List of Enrollment, kosong jika tidak ada
+     */
+    List<Enrollment> findByStudent(String studentId);
+
+    /**
+     * Mendapatkan semua enrollment di satu mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @return List of Enrollment, kosong jika tidak ada
+     */
+    List<Enrollment> findByCourse(String courseCode);
+
+    /**
+     * Menghapus enrollment mahasiswa di satu mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika ada enrollment yang dihapus
+     */
+    boolean delete(String studentId, String courseCode);
+}
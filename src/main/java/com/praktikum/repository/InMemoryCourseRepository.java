@@ -0,0 +1,108 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi CourseRepository di memori
+ * Prasyarat dicek terhadap daftar mata kuliah yang sudah diselesaikan
+ * mahasiswa di StudentRepository.
+ */
+public class InMemoryCourseRepository implements CourseRepository {
+    private final Map<String, Course> courses = new ConcurrentHashMap<>();
+    private final StudentRepository studentRepository;
+
+    /**
+     * @param studentRepository Repository untuk membaca mata kuliah yang sudah diselesaikan
+     */
+    public InMemoryCourseRepository(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return courses.get(courseCode);
+    }
+
+    @Override
+    public void update(Course course) {
+        courses.merge(course.getCourseCode(), course, (current, updated) -> {
+            // Update tanpa syarat tetap menaikkan versi agar pembaca optimistik melihat perubahannya
+            updated.setVersion(Math.max(current.getVersion(), updated.getVersion()) + 1);
+            return updated;
+        });
+    }
+
+    /**
+     * Update bersyarat yang atomik terhadap update lain pada mata kuliah yang sama
+     */
+    @Override
+    public boolean compareAndUpdate(Course course, long expectedVersion) {
+        boolean[] applied = new boolean[1];
+        courses.computeIfPresent(course.getCourseCode(), (code, current) -> {
+            if (current.getVersion() != expectedVersion) {
+                return current;
+            }
+            course.setVersion(expectedVersion + 1);
+            applied[0] = true;
+            return course;
+        });
+        return applied[0];
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        Course course = courses.get(courseCode);
+        if (course == null) {
+            return false;
+        }
+        if (course.getPrerequisites() == null || course.getPrerequisites().isEmpty()) {
+            return true;
+        }
+
+        Set<String> completed = new HashSet<>();
+        for (Course done : studentRepository.getCompletedCourses(studentId)) {
+            completed.add(done.getCourseCode());
+        }
+        return completed.containsAll(course.getPrerequisites());
+    }
+
+    /**
+     * Menyimpan mata kuliah apa adanya tanpa menaikkan versi
+     * Dipakai saat menerapkan state dari node lain, misal snapshot replikasi.
+     * @param course Course object dengan versi dari sumbernya
+     */
+    public void restore(Course course) {
+        courses.put(course.getCourseCode(), course);
+    }
+
+    /**
+     * Menghapus mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @return Course yang dihapus atau null jika tidak ada
+     */
+    public Course remove(String courseCode) {
+        return courses.remove(courseCode);
+    }
+
+    /**
+     * Seluruh mata kuliah yang tersimpan
+     * @return List of Course
+     */
+    public List<Course> findAll() {
+        return new ArrayList<>(courses.values());
+    }
+
+    /**
+     * Jumlah mata kuliah yang tersimpan
+     * @return Jumlah mata kuliah
+     */
+    public int size() {
+        return courses.size();
+    }
+}
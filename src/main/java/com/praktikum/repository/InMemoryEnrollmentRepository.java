@@ -0,0 +1,288 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementasi EnrollmentRepository di memori dengan penyimpanan array primitif
+ * Setiap enrollment adalah satu baris (int) di beberapa array paralel:
+ * ID mahasiswa dan mata kuliah disimpan sebagai ID internal int dari kamus,
+ * waktu sebagai long, dan status sebagai kode byte. Pasangan
+ * (mahasiswa, mata kuliah) dicari lewat hash map long -&gt; baris, sedangkan
+ * index per mahasiswa dan per mata kuliah berupa daftar baris int yang
+ * diindeks langsung oleh ID internal. Objek Enrollment baru dibuat saat dibaca.
+ */
+public class InMemoryEnrollmentRepository implements EnrollmentRepository {
+    private static final int INITIAL_ROWS = 64;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    // Kamus ID mahasiswa dan kode mata kuliah -> ID internal
+    private final Dictionary students = new Dictionary();
+    private final Dictionary courses = new Dictionary();
+
+    // Kolom per baris enrollment
+    private int[] studentOf = new int[INITIAL_ROWS];
+    private int[] courseOf = new int[INITIAL_ROWS];
+    private long[] enrolledAt = new long[INITIAL_ROWS];
+    private byte[] statusOf = new byte[INITIAL_ROWS];
+    private String[] enrollmentIds = new String[INITIAL_ROWS];
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    // Kode status: indeks di daftar ini
+    private final List<String> statuses = new ArrayList<>(List.of("PENDING", "APPROVED", "REJECTED"));
+
+    // (studentId internal << 32 | courseCode internal) -> baris
+    private final LongIntHashMap byPair = new LongIntHashMap(INITIAL_ROWS);
+    private final RowLists byStudent = new RowLists();
+    private final RowLists byCourse = new RowLists();
+
+    /**
+     * Kamus dua arah String &lt;-&gt; ID internal berurutan
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] names = new String[INITIAL_ROWS];
+
+        int intern(String name) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            int next = ids.size();
+            ids.put(name, next);
+            if (next == names.length) {
+                names = Arrays.copyOf(names, next * 2);
+            }
+            names[next] = name;
+            return next;
+        }
+
+        Integer find(String name) {
+            return ids.get(name);
+        }
+
+        String name(int id) {
+            return names[id];
+        }
+    }
+
+    /**
+     * Multimap ID internal -&gt; daftar baris, tanpa boxing
+     */
+    private static final class RowLists {
+        private int[][] rows = new int[INITIAL_ROWS][];
+        private int[] sizes = new int[INITIAL_ROWS];
+
+        void add(int key, int row) {
+            if (key >= rows.length) {
+                int capacity = Math.max(rows.length * 2, key + 1);
+                rows = Arrays.copyOf(rows, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            int[] list = rows[key];
+            if (list == null) {
+                list = rows[key] = new int[4];
+            } else if (sizes[key] == list.length) {
+                list = rows[key] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[sizes[key]++] = row;
+        }
+
+        void remove(int key, int row) {
+            int[] list = rows[key];
+            int size = sizes[key];
+            for (int i = 0; i < size; i++) {
+                if (list[i] == row) {
+                    list[i] = list[size - 1];
+                    sizes[key] = size - 1;
+                    return;
+                }
+            }
+        }
+
+        int size(int key) {
+            return key < sizes.length ? sizes[key] : 0;
+        }
+
+        int[] get(int key) {
+            return rows[key];
+        }
+    }
+
+    @Override
+    public synchronized void save(Enrollment enrollment) {
+        int student = students.intern(enrollment.getStudentId());
+        int course = courses.intern(enrollment.getCourseCode());
+        long pair = pairKey(student, course);
+
+        int row = byPair.get(pair);
+        if (row == LongIntHashMap.MISSING) {
+            row = allocateRow();
+            studentOf[row] = student;
+            courseOf[row] = course;
+            byPair.put(pair, row);
+            byStudent.add(student, row);
+            byCourse.add(course, row);
+        }
+        enrollmentIds[row] = enrollment.getEnrollmentId();
+        enrolledAt[row] = encodeDate(enrollment.getEnrollmentDate());
+        statusOf[row] = statusCode(enrollment.getStatus());
+    }
+
+    @Override
+    public synchronized Enrollment findByStudentAndCourse(String studentId, String courseCode) {
+        int row = findRow(studentId, courseCode);
+        return row == LongIntHashMap.MISSING ? null : materialize(row);
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByStudent(String studentId) {
+        return materializeAll(byStudent, students.find(studentId));
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByCourse(String courseCode) {
+        return materializeAll(byCourse, courses.find(courseCode));
+    }
+
+    @Override
+    public synchronized boolean delete(String studentId, String courseCode) {
+        Integer student = students.find(studentId);
+        Integer course = courses.find(courseCode);
+        if (student == null || course == null) {
+            return false;
+        }
+        int row = byPair.remove(pairKey(student, course));
+        if (row == LongIntHashMap.MISSING) {
+            return false;
+        }
+        byStudent.remove(student, row);
+        byCourse.remove(course, row);
+        enrollmentIds[row] = null;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+        return true;
+    }
+
+    /**
+     * Mengecek enrollment tanpa membuat objek Enrollment
+     */
+    public synchronized boolean exists(String studentId, String courseCode) {
+        return findRow(studentId, courseCode) != LongIntHashMap.MISSING;
+    }
+
+    /**
+     * Jumlah enrollment di satu mata kuliah
+     */
+    public synchronized int countByCourse(String courseCode) {
+        Integer course = courses.find(courseCode);
+        return course == null ? 0 : byCourse.size(course);
+    }
+
+    /**
+     * Seluruh enrollment yang tersimpan
+     */
+    public synchronized List<Enrollment> findAll() {
+        List<Enrollment> result = new ArrayList<>(byPair.size());
+        for (int row = 0; row < rowCount; row++) {
+            // Baris bebas tidak lagi ditunjuk oleh index pasangan
+            if (byPair.get(pairKey(studentOf[row], courseOf[row])) == row) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Jumlah seluruh enrollment yang tersimpan
+     */
+    public synchronized int size() {
+        return byPair.size();
+    }
+
+    private int findRow(String studentId, String courseCode) {
+        Integer student = students.find(studentId);
+        Integer course = courses.find(courseCode);
+        if (student == null || course == null) {
+            return LongIntHashMap.MISSING;
+        }
+        return byPair.get(pairKey(student, course));
+    }
+
+    private List<Enrollment> materializeAll(RowLists index, Integer key) {
+        if (key == null) {
+            return new ArrayList<>();
+        }
+        int size = index.size(key);
+        List<Enrollment> result = new ArrayList<>(size);
+        int[] rows = index.get(key);
+        for (int i = 0; i < size; i++) {
+            result.add(materialize(rows[i]));
+        }
+        return result;
+    }
+
+    private Enrollment materialize(int row) {
+        return new Enrollment(enrollmentIds[row], students.name(studentOf[row]), courses.name(courseOf[row]),
+                decodeDate(enrolledAt[row]), statuses.get(statusOf[row]));
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == studentOf.length) {
+            int capacity = rowCount * 2;
+            studentOf = Arrays.copyOf(studentOf, capacity);
+            courseOf = Arrays.copyOf(courseOf, capacity);
+            enrolledAt = Arrays.copyOf(enrolledAt, capacity);
+            statusOf = Arrays.copyOf(statusOf, capacity);
+            enrollmentIds = Arrays.copyOf(enrollmentIds, capacity);
+        }
+        return rowCount++;
+    }
+
+    private byte statusCode(String status) {
+        int code = statuses.indexOf(status);
+        if (code < 0) {
+            if (statuses.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct enrollment statuses");
+            }
+            statuses.add(status);
+            code = statuses.size() - 1;
+        }
+        return (byte) code;
+    }
+
+    private static long pairKey(int student, int course) {
+        return ((long) student << 32) | (course & 0xFFFFFFFFL);
+    }
+
+    /**
+     * LocalDateTime sebagai nanodetik sejak epoch (UTC), cukup sampai tahun 2262
+     */
+    private static long encodeDate(LocalDateTime date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + date.getNano();
+    }
+
+    private static LocalDateTime decodeDate(long encoded) {
+        if (encoded == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(encoded, 1_000_000_000L),
+                (int) Math.floorMod(encoded, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
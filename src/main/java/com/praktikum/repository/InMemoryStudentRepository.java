@@ -0,0 +1,60 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Implementasi StudentRepository di memori
+ * Dipakai untuk benchmark, simulasi beban, dan node replika
+ */
+public class InMemoryStudentRepository implements StudentRepository {
+    private final Map<String, Student> students = new ConcurrentHashMap<>();
+    private final Map<String, List<Course>> completedCourses = new ConcurrentHashMap<>();
+
+    @Override
+    public Student findById(String studentId) {
+        return students.get(studentId);
+    }
+
+    @Override
+    public void update(Student student) {
+        students.put(student.getStudentId(), student);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        List<Course> courses = completedCourses.get(studentId);
+        return courses == null ? new ArrayList<>() : new ArrayList<>(courses);
+    }
+
+    /**
+     * Mencatat mata kuliah yang sudah diselesaikan mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang sudah diselesaikan
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        completedCourses.computeIfAbsent(studentId, id -> new CopyOnWriteArrayList<>()).add(course);
+    }
+
+    /**
+     * Seluruh mahasiswa yang tersimpan
+     * @return List of Student
+     */
+    public List<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    /**
+     * Jumlah mahasiswa yang tersimpan
+     * @return Jumlah mahasiswa
+     */
+    public int size() {
+        return students.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.praktikum.repository;
+
+import java.util.Arrays;
+
+/**
+ * Hash map long -&gt; int dengan open addressing (linear probing), tanpa boxing
+ * Tidak thread-safe; pemanggil yang menjaga sinkronisasi.
+ */
+final class LongIntHashMap {
+    static final int MISSING = -1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = 16;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @return Nilai untuk key, atau MISSING jika tidak ada
+     */
+    int get(long key) {
+        int index = slot(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Reserved key");
+        }
+        int index = slot(key);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size * 4 > keys.length * 3) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @return Nilai yang dihapus, atau MISSING jika key tidak ada
+     */
+    int remove(long key) {
+        int index = slot(key);
+        while (true) {
+            long current = keys[index];
+            if (current == EMPTY) {
+                return MISSING;
+            }
+            if (current == key) {
+                int removed = values[index];
+                shiftBack(index);
+                size--;
+                return removed;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Menghapus tanpa tombstone: geser entri berikutnya yang probe-nya melewati celah
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long key = keys[index];
+            if (key == EMPTY) {
+                keys[gap] = EMPTY;
+                return;
+            }
+            int home = slot(key);
+            // Entri boleh pindah ke celah jika rumahnya tidak berada di antara celah dan posisinya
+            boolean movable = gap <= index ? (home <= gap || home > index) : (home <= gap && home > index);
+            if (movable) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
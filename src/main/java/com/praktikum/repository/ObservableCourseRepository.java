@@ -0,0 +1,67 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decorator CourseRepository yang meneruskan setiap update ke listener
+ * Repository asli tetap menjadi sumber data, listener hanya menerima notifikasi
+ */
+public class ObservableCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final List<CourseChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ObservableCourseRepository(CourseRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Mendaftarkan listener yang akan menerima setiap update mata kuliah
+     * @param listener Listener yang didaftarkan
+     */
+    public void addListener(CourseChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Menghapus listener yang sudah didaftarkan
+     * @param listener Listener yang dihapus
+     */
+    public void removeListener(CourseChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return delegate.findByCourseCode(courseCode);
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+        for (CourseChangeListener listener : listeners) {
+            listener.onCourseUpdated(course);
+        }
+    }
+
+    /**
+     * Meneruskan update bersyarat ke repository asli agar tetap atomik;
+     * listener hanya dipanggil jika update berhasil
+     */
+    @Override
+    public boolean compareAndUpdate(Course course, long expectedVersion) {
+        if (!delegate.compareAndUpdate(course, expectedVersion)) {
+            return false;
+        }
+        for (CourseChangeListener listener : listeners) {
+            listener.onCourseUpdated(course);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+}
@@ -0,0 +1,70 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decorator EnrollmentRepository yang meneruskan setiap perubahan ke listener
+ * Repository asli tetap menjadi sumber data, listener hanya menerima notifikasi.
+ * Penulisan dan notifikasinya berjalan dalam satu critical section, sehingga
+ * listener menerima perubahan persis sesuai urutan repository berubah.
+ */
+public class ObservableEnrollmentRepository implements EnrollmentRepository {
+    private final EnrollmentRepository delegate;
+    private final List<EnrollmentChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ObservableEnrollmentRepository(EnrollmentRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Mendaftarkan listener yang akan menerima setiap perubahan enrollment
+     * @param listener Listener yang didaftarkan
+     */
+    public void addListener(EnrollmentChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Menghapus listener yang sudah didaftarkan
+     * @param listener Listener yang dihapus
+     */
+    public void removeListener(EnrollmentChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void save(Enrollment enrollment) {
+        delegate.save(enrollment);
+        for (EnrollmentChangeListener listener : listeners) {
+            listener.onEnrollmentSaved(enrollment);
+        }
+    }
+
+    @Override
+    public Enrollment findByStudentAndCourse(String studentId, String courseCode) {
+        return delegate.findByStudentAndCourse(studentId, courseCode);
+    }
+
+    @Override
+    public List<Enrollment> findByStudent(String studentId) {
+        return delegate.findByStudent(studentId);
+    }
+
+    @Override
+    public List<Enrollment> findByCourse(String courseCode) {
+        return delegate.findByCourse(courseCode);
+    }
+
+    @Override
+    public synchronized boolean delete(String studentId, String courseCode) {
+        boolean deleted = delegate.delete(studentId, courseCode);
+        if (deleted) {
+            for (EnrollmentChangeListener listener : listeners) {
+                listener.onEnrollmentDeleted(studentId, courseCode);
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,55 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decorator StudentRepository yang meneruskan setiap update ke listener
+ * Repository asli tetap menjadi sumber data, listener hanya menerima notifikasi.
+ * Update dan notifikasinya berjalan dalam satu critical section, sehingga
+ * listener menerima update persis sesuai urutan repository berubah.
+ */
+public class ObservableStudentRepository implements StudentRepository {
+    private final StudentRepository delegate;
+    private final List<StudentChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ObservableStudentRepository(StudentRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Mendaftarkan listener yang akan menerima setiap update mahasiswa
+     * @param listener Listener yang didaftarkan
+     */
+    public void addListener(StudentChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Menghapus listener yang sudah didaftarkan
+     * @param listener Listener yang dihapus
+     */
+    public void removeListener(StudentChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        return delegate.findById(studentId);
+    }
+
+    @Override
+    public synchronized void update(Student student) {
+        delegate.update(student);
+        for (StudentChangeListener listener : listeners) {
+            listener.onStudentUpdated(student);
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return delegate.getCompletedCourses(studentId);
+    }
+}
@@ -0,0 +1,166 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Index ketersediaan kursi mata kuliah, terurut dari sisa kursi terbanyak
+ * Didaftarkan sebagai listener di ObservableCourseRepository, sehingga setiap
+ * enrollCourse dan dropCourse (yang memanggil update) langsung memperbarui index.
+ * Mata kuliah yang dibatalkan dianggap tidak punya sisa kursi.
+ *
+ * Course tidak menyimpan jurusan, sehingga pengelompokan jurusan memakai
+ * classifier. Default-nya adalah awalan huruf course code (CS301 → CS).
+ */
+public class SeatAvailabilityIndex implements CourseChangeListener {
+    private static final Comparator<Entry> BY_REMAINING_DESC = Comparator
+            .comparingInt((Entry entry) -> entry.remainingSeats).reversed()
+            .thenComparing(entry -> entry.courseCode);
+
+    private final Function<Course, String> majorClassifier;
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(BY_REMAINING_DESC);
+    private final Map<String, NavigableSet<Entry>> byMajor = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        private final String courseCode;
+        private final String major;
+        private final int remainingSeats;
+        private final long version;
+        private final Course course;
+
+        private Entry(Course course, String major) {
+            this.courseCode = course.getCourseCode();
+            this.major = major;
+            // A cancelled course has no enrollments left but accepts none either
+            this.remainingSeats = course.isCancelled() ? 0 : course.getCapacity() - course.getEnrolledCount();
+            this.version = course.getVersion();
+            this.course = course;
+        }
+    }
+
+    public SeatAvailabilityIndex() {
+        this(SeatAvailabilityIndex::courseCodePrefix);
+    }
+
+    /**
+     * @param majorClassifier Fungsi yang menentukan jurusan pemilik mata kuliah
+     */
+    public SeatAvailabilityIndex(Function<Course, String> majorClassifier) {
+        this.majorClassifier = majorClassifier;
+    }
+
+    /**
+     * Memperbarui posisi mata kuliah di index sesuai sisa kursi terbaru
+     * Bisa juga dipanggil langsung untuk memuat katalog awal
+     *
+     * @param course Course object dengan data terbaru
+     */
+    @Override
+    public void onCourseUpdated(Course course) {
+        if (course == null || course.getCourseCode() == null) {
+            return;
+        }
+
+        // compute() menyerialkan update per mata kuliah. Notifikasi bisa datang
+        // tidak berurutan (compareAndUpdate menyimpan salinan), jadi salinan
+        // dengan versi lebih lama dari yang sudah ter-index diabaikan.
+        entries.compute(course.getCourseCode(), (code, previous) -> {
+            if (previous != null && course.getVersion() < previous.version) {
+                return previous;
+            }
+            if (previous != null) {
+                all.remove(previous);
+                majorSet(previous.major).remove(previous);
+            }
+            Entry current = new Entry(course, majorKey(majorClassifier.apply(course)));
+            all.add(current);
+            majorSet(current.major).add(current);
+            return current;
+        });
+    }
+
+    /**
+     * Daftar mata kuliah yang masih punya kursi, terurut dari sisa terbanyak
+     * @return Daftar mata kuliah yang masih terbuka
+     */
+    public List<Course> openCourses() {
+        return collectOpen(all, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Daftar mata kuliah jurusan tertentu yang masih punya kursi
+     *
+     * @param major Jurusan (sesuai classifier)
+     * @return Daftar mata kuliah yang masih terbuka, terurut dari sisa terbanyak
+     */
+    public List<Course> openCourses(String major) {
+        NavigableSet<Entry> entriesOfMajor = byMajor.get(majorKey(major));
+        return entriesOfMajor == null ? new ArrayList<>() : collectOpen(entriesOfMajor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * N mata kuliah dengan sisa kursi terbanyak
+     *
+     * @param n Jumlah mata kuliah yang diambil
+     * @return Daftar mata kuliah terbuka (maksimal n)
+     */
+    public List<Course> emptiest(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("N must not be negative");
+        }
+        return collectOpen(all, n);
+    }
+
+    /**
+     * Sisa kursi mata kuliah menurut index
+     *
+     * @param courseCode Kode mata kuliah
+     * @return Sisa kursi, atau 0 jika mata kuliah belum ter-index
+     */
+    public int remainingSeats(String courseCode) {
+        Entry entry = entries.get(courseCode);
+        return entry == null ? 0 : Math.max(0, entry.remainingSeats);
+    }
+
+    private NavigableSet<Entry> majorSet(String major) {
+        return byMajor.computeIfAbsent(major, key -> new ConcurrentSkipListSet<>(BY_REMAINING_DESC));
+    }
+
+    private static List<Course> collectOpen(NavigableSet<Entry> ordered, int limit) {
+        List<Course> result = new ArrayList<>();
+        Iterator<Entry> iterator = ordered.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.remainingSeats <= 0) {
+                break;
+            }
+            result.add(entry.course);
+        }
+        return result;
+    }
+
+    private static String majorKey(String major) {
+        return major == null ? "" : major;
+    }
+
+    /**
+     * Awalan huruf course code sebagai jurusan, misal "NET401" → "NET"
+     */
+    static String courseCodePrefix(Course course) {
+        String code = course.getCourseCode();
+        int end = 0;
+        while (end < code.length() && Character.isLetter(code.charAt(end))) {
+            end++;
+        }
+        return code.substring(0, end);
+    }
+}
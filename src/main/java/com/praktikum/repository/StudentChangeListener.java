@@ -0,0 +1,15 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Student;
+
+/**
+ * Listener yang dipanggil setiap kali data mahasiswa diupdate
+ * Dipakai untuk menjaga index dan analitik tetap sinkron tanpa scan ulang
+ */
+public interface StudentChangeListener {
+    /**
+     * Dipanggil setelah data mahasiswa berhasil diupdate di repository
+     * @param student Student object dengan data terbaru
+     */
+    void onStudentUpdated(Student student);
+}
@@ -0,0 +1,202 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index sekunder mahasiswa berdasarkan email dan jurusan
+ * Didaftarkan sebagai listener di ObservableStudentRepository sehingga index
+ * diperbarui setiap update(Student) tanpa scan seluruh tabel.
+ *
+ * Setiap mahasiswa mendapat ID internal berupa int. Posting list jurusan
+ * disimpan sebagai array int terurut, dan string jurusan di-intern sehingga
+ * ribuan mahasiswa satu jurusan berbagi satu objek String.
+ */
+public class StudentIndex implements StudentChangeListener {
+    private final StudentRepository studentRepository;
+
+    // Hash index email ter-normalisasi -> studentId
+    private final Map<String, String> byEmail = new ConcurrentHashMap<>();
+
+    // Semua struktur di bawah dijaga oleh lock this
+    private final Map<String, Integer> denseIds = new HashMap<>();
+    private String[] studentIds = new String[16];
+    private String[] emailKeys = new String[16];
+    private String[] majors = new String[16];
+    private final Map<String, String> internedMajors = new HashMap<>();
+    private final Map<String, PostingList> byMajor = new HashMap<>();
+
+    /**
+     * Posting list berupa array int terurut (ID internal mahasiswa)
+     */
+    private static final class PostingList {
+        private int[] ids = new int[8];
+        private int size;
+
+        private void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * @param studentRepository Repository untuk mengambil Student object hasil pencarian
+     */
+    public StudentIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Memperbarui index email dan jurusan dengan data mahasiswa terbaru
+     * Bisa juga dipanggil langsung untuk memuat data awal
+     *
+     * @param student Student object dengan data terbaru
+     */
+    @Override
+    public synchronized void onStudentUpdated(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            return;
+        }
+
+        int id = denseId(student.getStudentId());
+
+        String emailKey = normalizeEmail(student.getEmail());
+        String previousEmail = emailKeys[id];
+        if (previousEmail != null && !previousEmail.equals(emailKey)) {
+            byEmail.remove(previousEmail, student.getStudentId());
+        }
+        if (emailKey != null) {
+            byEmail.put(emailKey, student.getStudentId());
+        }
+        emailKeys[id] = emailKey;
+
+        String major = intern(student.getMajor());
+        String previousMajor = majors[id];
+        if (previousMajor != major) {
+            if (previousMajor != null) {
+                PostingList postings = byMajor.get(previousMajor);
+                postings.remove(id);
+                if (postings.size == 0) {
+                    byMajor.remove(previousMajor);
+                }
+            }
+            if (major != null) {
+                byMajor.computeIfAbsent(major, key -> new PostingList()).add(id);
+            }
+            majors[id] = major;
+        }
+    }
+
+    /**
+     * Mencari mahasiswa berdasarkan email (tidak case-sensitive)
+     *
+     * @param email Alamat email mahasiswa
+     * @return Student object atau null jika tidak ditemukan
+     */
+    public Student findByEmail(String email) {
+        String key = normalizeEmail(email);
+        if (key == null) {
+            return null;
+        }
+        String studentId = byEmail.get(key);
+        return studentId == null ? null : studentRepository.findById(studentId);
+    }
+
+    /**
+     * Daftar mahasiswa satu jurusan dengan paging
+     * Urutan mengikuti urutan mahasiswa pertama kali ter-index
+     *
+     * @param major Jurusan mahasiswa
+     * @param offset Posisi awal (mulai dari 0)
+     * @param limit Jumlah maksimal mahasiswa dalam satu halaman
+     * @return Daftar mahasiswa pada halaman tersebut
+     * @throws IllegalArgumentException jika offset atau limit negatif
+     */
+    public List<Student> findByMajor(String major, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+
+        String[] page;
+        synchronized (this) {
+            PostingList postings = major == null ? null : byMajor.get(major);
+            if (postings == null || offset >= postings.size) {
+                return new ArrayList<>();
+            }
+            int end = (int) Math.min((long) offset + limit, postings.size);
+            page = new String[end - offset];
+            for (int i = offset; i < end; i++) {
+                page[i - offset] = studentIds[postings.ids[i]];
+            }
+        }
+
+        List<Student> result = new ArrayList<>(page.length);
+        for (String studentId : page) {
+            Student student = studentRepository.findById(studentId);
+            if (student != null) {
+                result.add(student);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Jumlah mahasiswa dalam satu jurusan
+     *
+     * @param major Jurusan mahasiswa
+     * @return Jumlah mahasiswa
+     */
+    public synchronized int countByMajor(String major) {
+        PostingList postings = major == null ? null : byMajor.get(major);
+        return postings == null ? 0 : postings.size;
+    }
+
+    private int denseId(String studentId) {
+        Integer existing = denseIds.get(studentId);
+        if (existing != null) {
+            return existing;
+        }
+        int id = denseIds.size();
+        if (id == studentIds.length) {
+            int capacity = id * 2;
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            emailKeys = Arrays.copyOf(emailKeys, capacity);
+            majors = Arrays.copyOf(majors, capacity);
+        }
+        denseIds.put(studentId, id);
+        studentIds[id] = studentId;
+        return id;
+    }
+
+    private String intern(String major) {
+        return major == null ? null : internedMajors.computeIfAbsent(major, key -> key);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
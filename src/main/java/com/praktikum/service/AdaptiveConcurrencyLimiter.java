@@ -0,0 +1,174 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.ServiceOverloadedException;
+import com.praktikum.metrics.ConcurrencyLimitGauge;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pembatas jumlah permintaan yang berjalan bersamaan dengan batas adaptif (gaya gradient)
+ * Batas dihitung dari perbandingan latency jangka panjang (rata-rata bergerak
+ * lambat) dengan latency jangka pendek (rata-rata satu jendela sampel):
+ * gradient = longRtt / shortRtt, dibatasi 0.5 - 1.0. Jika latency naik karena
+ * antrean di repository, gradient turun dan batas mengecil; jika latency stabil,
+ * batas tumbuh sebesar sqrt(limit) per jendela. Permintaan di atas batas langsung
+ * ditolak tanpa menunggu.
+ *
+ * Sampel dicatat dengan atomic tanpa lock; hanya thread yang menutup jendela
+ * yang menghitung ulang batas.
+ */
+public class AdaptiveConcurrencyLimiter implements ConcurrencyLimitGauge {
+    static final int DEFAULT_INITIAL_LIMIT = 20;
+    static final int DEFAULT_MIN_LIMIT = 4;
+    static final int DEFAULT_MAX_LIMIT = 1000;
+    static final int DEFAULT_WINDOW_SIZE = 100;
+
+    // Bobot sampel baru pada latency jangka panjang dan pada perubahan batas
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shedCount = new LongAdder();
+    private final LongAdder acceptedCount = new LongAdder();
+
+    private volatile int limit;
+
+    // Sampel jendela yang sedang berjalan, diisi tanpa lock
+    private final LongAdder windowRttSum = new LongAdder();
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    // Status perhitungan batas, dijaga oleh lock pada this dan hanya disentuh penutup jendela
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param initialLimit Batas awal
+     * @param minLimit Batas terkecil
+     * @param maxLimit Batas terbesar
+     * @param windowSize Jumlah sampel per jendela penyesuaian
+     * @throws IllegalArgumentException jika batas tidak konsisten
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit || windowSize <= 0) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Mencoba mengambil slot
+     * @return true jika diizinkan; pemanggil wajib memanggil release()
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                shedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                acceptedCount.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seperti tryAcquire, tetapi melempar exception jika ditolak
+     * @throws ServiceOverloadedException jika batas sedang penuh
+     */
+    public void acquire() {
+        if (!tryAcquire()) {
+            throw new ServiceOverloadedException("Service overloaded, in-flight limit " + limit + " reached");
+        }
+    }
+
+    /**
+     * Melepas slot dan mencatat latency permintaan tersebut
+     * @param rttNanos Durasi permintaan dalam nanodetik
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        windowRttSum.add(Math.max(1, rttNanos));
+        windowMaxInFlight.accumulateAndGet(current, Math::max);
+        // Tepat satu thread melihat setiap kelipatan windowSize, dan hanya thread itu yang menghitung ulang
+        if (windowSamples.incrementAndGet() % windowSize == 0) {
+            closeWindow();
+        }
+    }
+
+    private synchronized void closeWindow() {
+        // Sampel yang masuk selagi jendela ditutup bisa ikut terhitung di sini; selisihnya
+        // hanya beberapa sampel dari windowSize dan tidak mengubah arah penyesuaian
+        double shortRtt = windowRttSum.sumThenReset() / (double) windowSize;
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+        windowSamples.addAndGet(-windowSize);
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_SMOOTHING) + shortRtt * LONG_RTT_SMOOTHING;
+        }
+        // Jika latency turun jauh di bawah acuan, turunkan acuan lebih cepat
+        // agar kenaikan berikutnya diukur terhadap latency yang baru
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        // Jangan tumbuh jika permintaan bahkan tidak mencapai setengah batas
+        if (newLimit > estimatedLimit && maxInFlight < estimatedLimit / 2) {
+            newLimit = estimatedLimit;
+        }
+        estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Batas permintaan bersamaan saat ini
+     */
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Jumlah permintaan yang ditolak karena batas penuh
+     */
+    @Override
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * Latency jangka panjang yang dipakai sebagai acuan, dalam mikrodetik
+     */
+    public synchronized double getLongRttMicros() {
+        return longRttNanos / 1000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.praktikum.service;
+
+/**
+ * Penyimpanan beban SKS aktif per mahasiswa yang dipakai EnrollmentService
+ * Setiap perubahan harus atomik per mahasiswa, karena batas SKS dicek di
+ * dalam perubahan itu sendiri. Semua enrollment seorang mahasiswa harus
+ * memakai ledger yang sama agar batas SKS tidak bisa dilewati.
+ */
+public interface CreditLedger {
+    /**
+     * Melepas lalu memesan SKS dalam satu langkah atomik
+     * Beban tidak pernah turun di bawah nol sebelum SKS baru ditambahkan.
+     *
+     * @param studentId ID mahasiswa
+     * @param releasedCredits SKS yang dilepas (0 jika tidak ada)
+     * @param reservedCredits SKS yang dipesan (0 jika tidak ada)
+     * @param maxCredits Batas SKS setelah perubahan
+     * @return Beban SKS setelah perubahan
+     * @throws com.praktikum.exception.CreditLimitExceededException jika hasilnya melebihi
+     *         maxCredits; beban tidak berubah
+     */
+    int adjust(String studentId, int releasedCredits, int reservedCredits, int maxCredits);
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Beban SKS aktif, 0 jika belum pernah tercatat
+     */
+    int get(String studentId);
+
+    /**
+     * Mengisi beban SKS tanpa cek batas, misal saat enrollment lama dimuat
+     *
+     * @param studentId ID mahasiswa
+     * @param credits Jumlah SKS yang sedang diambil
+     */
+    void set(String studentId, int credits);
+}
@@ -0,0 +1,350 @@
+package com.praktikum.service;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline perintah enrollment bergaya disruptor
+ * Perintah ditulis ke ring buffer berisi slot yang dialokasikan sekali di awal,
+ * lalu diproses berurutan oleh empat tahap, masing-masing satu thread:
+ * validasi (cari mahasiswa dan mata kuliah, cek prasyarat), alokasi kursi
+ * (cek kapasitas, pesan SKS, tambah peserta), persistensi (CourseRepository.update),
+ * dan notifikasi (email lalu ResultHandler). Setiap tahap hanya membaca cursor
+ * tahap sebelumnya dan memproses semua slot yang sudah tersedia sekaligus,
+ * sehingga batch terbentuk sendiri ketika sebuah tahap tertinggal.
+ * Pipeline sendiri tidak mengalokasikan objek per perintah; hasil dilaporkan
+ * lewat ResultHandler, bukan Future atau objek Enrollment. Jika service memakai
+ * EnrollmentRepository atau StudentCourseBitsets, tahap kursi juga mengambil bit
+ * dan mencatat enrollment, sehingga pendaftaran ganda ditolak seperti di enrollCourse.
+ * Selama pipeline dipakai, semua mutasi mata kuliah harus lewat pipeline ini.
+ */
+public class EnrollmentPipeline implements AutoCloseable {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 14;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    /**
+     * Menerima hasil setiap perintah, dipanggil dari thread tahap notifikasi
+     */
+    public interface ResultHandler {
+        /**
+         * @param correlationId ID yang diberikan saat publish
+         * @param studentId ID mahasiswa
+         * @param courseCode Kode mata kuliah
+         * @param error null jika berhasil, atau exception yang sama seperti enrollCourse
+         */
+        void onResult(long correlationId, String studentId, String courseCode, RuntimeException error);
+    }
+
+    /**
+     * Slot yang dipakai ulang; field hanya ditulis oleh tahap yang sedang memilikinya
+     */
+    private static final class Slot {
+        private long correlationId;
+        private String studentId;
+        private String courseCode;
+        private Student student;
+        private Course course;
+        private RuntimeException error;
+
+        void clear() {
+            studentId = null;
+            courseCode = null;
+            student = null;
+            course = null;
+            error = null;
+        }
+    }
+
+    /**
+     * Cursor sebuah tahap, diberi padding agar tidak berbagi cache line dengan cursor lain
+     */
+    private static final class Sequence {
+        private static final int VALUE = 7;
+        private final AtomicLongArray padded = new AtomicLongArray(15);
+
+        Sequence(long initial) {
+            padded.set(VALUE, initial);
+        }
+
+        long get() {
+            return padded.get(VALUE);
+        }
+
+        void set(long value) {
+            padded.lazySet(VALUE, value);
+        }
+    }
+
+    private interface StageHandler {
+        void handle(Slot slot);
+    }
+
+    private final EnrollmentService enrollmentService;
+    private final ResultHandler resultHandler;
+    private final int mask;
+    private final Slot[] slots;
+
+    // Urutan terakhir yang sudah diklaim publisher
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // Urutan yang sudah selesai ditulis per slot, untuk banyak publisher
+    private final AtomicLongArray published;
+
+    private final Sequence validated = new Sequence(-1);
+    private final Sequence seated = new Sequence(-1);
+    private final Sequence persisted = new Sequence(-1);
+    private final Sequence notified = new Sequence(-1);
+
+    // Mata kuliah yang gagal disimpan; jumlah pesertanya dikembalikan oleh tahap kursi,
+    // satu-satunya penulis jumlah peserta
+    private final Queue<Course> failedPersists = new ConcurrentLinkedQueue<>();
+
+    private final Thread[] threads;
+    private volatile boolean running = true;
+
+    public EnrollmentPipeline(EnrollmentService enrollmentService, ResultHandler resultHandler) {
+        this(enrollmentService, resultHandler, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize Jumlah slot, harus pangkat dua
+     * @throws IllegalArgumentException jika bufferSize bukan pangkat dua
+     */
+    public EnrollmentPipeline(EnrollmentService enrollmentService, ResultHandler resultHandler, int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two");
+        }
+        this.enrollmentService = enrollmentService;
+        this.resultHandler = resultHandler;
+        this.mask = bufferSize - 1;
+        this.slots = new Slot[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+
+        threads = new Thread[] {
+                stageThread(0, "validate", null, validated, this::validate, true, null),
+                stageThread(1, "seat", validated, seated, this::allocateSeat, true, this::compensateFailedPersists),
+                stageThread(2, "persist", seated, persisted, this::persist, true, null),
+                // Tahap terakhir selalu jalan agar perintah gagal tetap dilaporkan dan slot dibersihkan
+                stageThread(3, "notify", persisted, notified, this::notifyResult, false, null)
+        };
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Menulis satu perintah enroll ke ring buffer, menunggu jika buffer penuh
+     *
+     * @param correlationId ID yang dikembalikan ke ResultHandler
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Nomor urut perintah
+     * @throws IllegalStateException jika pipeline sudah ditutup
+     */
+    public long publish(long correlationId, String studentId, String courseCode) {
+        if (!running) {
+            throw new IllegalStateException("Enrollment pipeline is closed");
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        int idle = 0;
+        while (wrapPoint > notified.get()) {
+            idle = backOff(idle);
+        }
+
+        int index = (int) sequence & mask;
+        Slot slot = slots[index];
+        slot.correlationId = correlationId;
+        slot.studentId = studentId;
+        slot.courseCode = courseCode;
+        published.lazySet(index, sequence);
+        return sequence;
+    }
+
+    /**
+     * Jumlah slot kosong yang masih bisa ditulis tanpa menunggu
+     */
+    public long remainingCapacity() {
+        return slots.length - (claimed.get() - notified.get());
+    }
+
+    /**
+     * Nomor urut terakhir yang sudah selesai diproses seluruh tahap
+     */
+    public long getCompletedSequence() {
+        return notified.get();
+    }
+
+    /**
+     * Berhenti menerima perintah, memproses semua yang sudah ditulis, lalu menghentikan thread tahap
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // Tahap kursi bisa selesai lebih dulu daripada kegagalan persistensi terakhir
+        compensateFailedPersists();
+    }
+
+    // ==================== Stages ====================
+
+    private void validate(Slot slot) {
+        slot.student = enrollmentService.findEnrollableStudent(slot.studentId);
+        // Penolakan awal; duplikat dan kapasitas dicek ulang oleh tahap kursi yang memegang hak tulis
+        enrollmentService.checkNotEnrolled(slot.studentId, slot.courseCode);
+        Course course = enrollmentService.findCourse(slot.courseCode);
+        enrollmentService.checkOpen(course);
+        enrollmentService.checkCapacity(course);
+        enrollmentService.checkPrerequisite(slot.studentId, slot.courseCode);
+    }
+
+    private void allocateSeat(Slot slot) {
+        // Enrollment dicatat di tahap ini agar perintah ganda berikutnya untuk pasangan yang
+        // sama langsung terlihat, meskipun keduanya masih dalam satu batch
+        enrollmentService.checkNotEnrolled(slot.studentId, slot.courseCode);
+        Course course = enrollmentService.findCourse(slot.courseCode);
+        enrollmentService.checkOpen(course);
+        enrollmentService.checkCapacity(course);
+        enrollmentService.claimCourseBit(slot.studentId, slot.courseCode);
+        try {
+            enrollmentService.reserveSeat(slot.student, course);
+        } catch (RuntimeException e) {
+            enrollmentService.releaseCourseBit(slot.studentId, slot.courseCode);
+            throw e;
+        }
+        slot.course = course;
+        try {
+            enrollmentService.storeEnrollment(slot.studentId, slot.courseCode);
+        } catch (RuntimeException e) {
+            enrollmentService.releaseSeat(slot.student, course);
+            enrollmentService.releaseCourseBit(slot.studentId, slot.courseCode);
+            throw e;
+        }
+    }
+
+    private void persist(Slot slot) {
+        try {
+            enrollmentService.saveCourse(slot.course);
+        } catch (RuntimeException e) {
+            enrollmentService.deleteEnrollment(slot.studentId, slot.courseCode);
+            enrollmentService.releaseCourseBit(slot.studentId, slot.courseCode);
+            enrollmentService.releaseCredits(slot.studentId, slot.course.getCredits());
+            failedPersists.offer(slot.course);
+            throw e;
+        }
+    }
+
+    private void compensateFailedPersists() {
+        Course course;
+        while ((course = failedPersists.poll()) != null) {
+            course.setEnrolledCount(course.getEnrolledCount() - 1);
+        }
+    }
+
+    private void notifyResult(Slot slot) {
+        if (slot.error == null) {
+            enrollmentService.sendEnrollmentConfirmation(slot.student, slot.course);
+        }
+        try {
+            resultHandler.onResult(slot.correlationId, slot.studentId, slot.courseCode, slot.error);
+        } finally {
+            slot.clear();
+        }
+    }
+
+    private Thread stageThread(int index, String name, Sequence dependency, Sequence cursor,
+                               StageHandler handler, boolean skipFailed, Runnable housekeeping) {
+        Thread thread = new Thread(() -> runStage(index, dependency, cursor, handler, skipFailed, housekeeping),
+                "enrollment-pipeline-" + name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Loop konsumen: proses semua slot yang tersedia dari tahap sebelumnya sebagai satu batch
+     */
+    private void runStage(int index, Sequence dependency, Sequence cursor,
+                          StageHandler handler, boolean skipFailed, Runnable housekeeping) {
+        long next = cursor.get() + 1;
+        int idle = 0;
+        while (true) {
+            if (housekeeping != null) {
+                housekeeping.run();
+            }
+            long available = dependency == null ? highestPublished(next) : dependency.get();
+            if (available < next) {
+                if (!running && isDrained(index, dependency, next)) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                Slot slot = slots[(int) sequence & mask];
+                if (slot.error == null || !skipFailed) {
+                    try {
+                        handler.handle(slot);
+                    } catch (RuntimeException e) {
+                        slot.error = e;
+                    }
+                }
+            }
+            cursor.set(available);
+            next = available + 1;
+        }
+    }
+
+    /**
+     * Urutan tertinggi yang sudah ditulis tanpa celah, mulai dari next
+     */
+    private long highestPublished(long next) {
+        long sequence = next;
+        while (sequence <= claimed.get() && published.get((int) sequence & mask) == sequence) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    /**
+     * Tahap boleh berhenti jika tidak ada lagi yang akan datang dari tahap sebelumnya
+     */
+    private boolean isDrained(int index, Sequence dependency, long next) {
+        if (dependency == null) {
+            return next > claimed.get();
+        }
+        return !threads[index - 1].isAlive() && dependency.get() < next;
+    }
+
+    /**
+     * Strategi tunggu: spin sebentar, lalu yield, lalu park singkat
+     */
+    private static int backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle + 1;
+    }
+}
@@ -1,23 +1,75 @@
 package com.praktikum.service;
 
 import com.praktikum.exception.*;
+import com.praktikum.metrics.EnrollmentAttemptEvent;
+import com.praktikum.metrics.EnrollmentMetrics;
+import com.praktikum.metrics.EnrollmentTrafficMonitor;
+import com.praktikum.metrics.StageProfiler;
+import com.praktikum.metrics.StageProfiler.Stage;
 import com.praktikum.model.Course;
 import com.praktikum.model.Enrollment;
 import com.praktikum.model.Student;
 import com.praktikum.repository.CourseRepository;
+import com.praktikum.repository.EnrollmentRepository;
 import com.praktikum.repository.StudentRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Service untuk mengelola enrollment (pendaftaran mata kuliah)
  * Class ini akan diuji dengan STUB dan MOCK
+ *
+ * Di dalam satu instance, enroll, drop, swap, dan cancelCourse pada mata kuliah yang
+ * sama diserialkan dengan lock bergaris per kode mata kuliah, juga di mode optimistik.
+ * Lock ini menjaga cek enrollment, bitset, dan jumlah peserta tetap sejalan; mode
+ * optimistik hanya menghilangkan lock antar instance, bukan di dalam instance.
  */
 public class EnrollmentService {
+    // Nomor urut enrollment, agar ID tetap unik walaupun dibuat di milidetik yang sama
+    private static final AtomicLong ENROLLMENT_SEQUENCE = new AtomicLong();
+
+    // Jumlah lock mata kuliah untuk enroll, drop, swap, dan cancel (pangkat dua)
+    private static final int COURSE_LOCK_STRIPES = 64;
+
     private StudentRepository studentRepository;
     private CourseRepository courseRepository;
     private NotificationService notificationService;
     private GradeCalculator gradeCalculator;
 
+    // Beban SKS aktif per mahasiswa, diperbarui setiap enroll dan drop
+    private CreditLedger creditLedger = new InMemoryCreditLedger();
+
+    // Lock bergaris per kode mata kuliah, selalu diambil berurutan indeks agar tidak deadlock
+    private final ReentrantLock[] courseLocks = newCourseLocks();
+
+    // Latency, counter sukses, dan counter penolakan per operasi
+    private final EnrollmentMetrics metrics = new EnrollmentMetrics();
+
+    // Rincian latency per tahap, diukur dengan sampling adaptif
+    private StageProfiler stageProfiler = new StageProfiler();
+
+    // Pelacak mata kuliah dan mahasiswa paling aktif, null jika tidak dipakai
+    private EnrollmentTrafficMonitor trafficMonitor;
+
+    // Pembatas laju enrollCourse per mahasiswa, null jika tidak dipakai
+    private StudentRateLimiter rateLimiter;
+
+    // Pembatas enrollCourse yang berjalan bersamaan, null jika tidak dipakai
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    // Penyimpanan enrollment, null jika enrollment tidak dicatat
+    private EnrollmentRepository enrollmentRepository;
+
+    // Bitset enrollment aktif per mahasiswa, null jika tidak dipakai
+    private StudentCourseBitsets courseBitsets;
+
+    // Update mata kuliah optimistik berbasis versi, null untuk update biasa
+    private OptimisticRetryPolicy optimisticRetryPolicy;
+
     public EnrollmentService(StudentRepository studentRepository,
                              CourseRepository courseRepository,
                              NotificationService notificationService,
@@ -36,12 +88,72 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @return Enrollment object jika berhasil
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
-     * @throws EnrollmentException jika mahasiswa di-suspend
+     * @throws EnrollmentException jika mahasiswa di-suspend, sudah terdaftar, atau mata kuliah dibatalkan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
      * @throws CourseFullException jika mata kuliah sudah penuh
      * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     * @throws CreditLimitExceededException jika SKS melebihi batas berdasarkan IPK
+     * @throws RateLimitExceededException jika mahasiswa melebihi batas laju permintaan
+     * @throws ServiceOverloadedException jika enrollCourse yang berjalan bersamaan melebihi batas
+     * @throws ConcurrentUpdateException jika update optimistik terus bentrok (mode optimistik)
      */
     public Enrollment enrollCourse(String studentId, String courseCode) {
+        EnrollmentTrafficMonitor monitor = trafficMonitor;
+        if (monitor != null) {
+            monitor.recordAttempt(studentId, courseCode);
+        }
+        EnrollmentAttemptEvent event = new EnrollmentAttemptEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            StudentRateLimiter limiter = rateLimiter;
+            if (limiter != null) {
+                limiter.acquire(studentId);
+            }
+            Enrollment enrollment = enrollWithinLimit(studentId, courseCode);
+            metrics.recordSuccess(EnrollmentMetrics.Operation.ENROLL, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.ENROLL, studentId, courseCode, "SUCCESS");
+            return enrollment;
+        } catch (RuntimeException e) {
+            metrics.recordRejection(EnrollmentMetrics.Operation.ENROLL, e, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.ENROLL, studentId, courseCode,
+                    e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    /**
+     * Menjalankan enrollment di dalam batas konkurensi adaptif, jika dipakai
+     */
+    private Enrollment enrollWithinLimit(String studentId, String courseCode) {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (limiter == null) {
+            return doEnrollCourse(studentId, courseCode);
+        }
+        limiter.acquire();
+        long start = System.nanoTime();
+        try {
+            return doEnrollCourse(studentId, courseCode);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private Enrollment doEnrollCourse(String studentId, String courseCode) {
+        StageProfiler profiler = stageProfiler;
+        long t = profiler.start();
+        Student student = findEnrollableStudent(studentId);
+        t = profiler.mark(EnrollmentMetrics.Operation.ENROLL, Stage.FIND_STUDENT, t);
+        return enrollStudent(student, courseCode, t);
+    }
+
+    /**
+     * Tahap sisi mahasiswa dari enrollCourse: mahasiswa harus ada dan tidak di-suspend
+     *
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend
+     */
+    Student findEnrollableStudent(String studentId) {
         // Validate student
         Student student = studentRepository.findById(studentId);
         if (student == null) {
@@ -52,41 +164,300 @@ public class EnrollmentService {
         if ("SUSPENDED".equals(student.getAcademicStatus())) {
             throw new EnrollmentException("Student is suspended");
         }
+        return student;
+    }
 
-        // Validate course
-        Course course = courseRepository.findByCourseCode(courseCode);
-        if (course == null) {
-            throw new CourseNotFoundException("Course not found: " + courseCode);
+    /**
+     * Tahap sisi mata kuliah dari enrollCourse, untuk mahasiswa yang sudah divalidasi
+     *
+     * @param student Mahasiswa hasil findEnrollableStudent
+     * @param courseCode Kode mata kuliah
+     * @param t Nilai stage profiler dari tahap sebelumnya (0 jika tidak diukur)
+     */
+    Enrollment enrollStudent(Student student, String courseCode, long t) {
+        final EnrollmentMetrics.Operation op = EnrollmentMetrics.Operation.ENROLL;
+        final StageProfiler profiler = stageProfiler;
+        final String studentId = student.getStudentId();
+
+        // Serialize with drop, swap and cancel on the same course
+        Course course;
+        Enrollment enrollment;
+        ReentrantLock lock = courseLocks[courseLockIndex(courseCode)];
+        lock.lock();
+        try {
+            // Reject duplicate enrollment
+            checkNotEnrolled(studentId, courseCode);
+
+            // Validate course
+            course = findCourse(courseCode);
+            t = profiler.mark(op, Stage.FIND_COURSE, t);
+
+            // Claim the student's bit before any seat is taken
+            claimCourseBit(studentId, courseCode);
+
+            try {
+                // Check the course is still open and has room
+                checkOpen(course);
+                checkCapacity(course);
+
+                // Check prerequisites
+                checkPrerequisite(studentId, courseCode);
+                t = profiler.mark(op, Stage.CHECK_PREREQUISITE, t);
+
+                // Check credit limit and take the seat
+                OptimisticRetryPolicy optimistic = optimisticRetryPolicy;
+                if (optimistic != null) {
+                    course = reserveSeatOptimistically(student, course, optimistic);
+                } else {
+                    reserveSeat(student, course);
+                }
+                t = profiler.mark(op, Stage.RESERVE_CREDITS, t);
+
+                // Persist course enrollment count (already persisted in optimistic mode)
+                if (optimistic == null) {
+                    try {
+                        saveCourse(course);
+                    } catch (RuntimeException e) {
+                        releaseSeat(student, course);
+                        throw e;
+                    }
+                }
+
+                // Create enrollment, giving the persisted seat and credits back if it cannot be saved
+                try {
+                    enrollment = recordEnrollment(studentId, courseCode);
+                } catch (RuntimeException e) {
+                    returnSeat(student, course, optimistic, e);
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                releaseCourseBit(studentId, courseCode);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
         }
+        t = profiler.mark(op, Stage.UPDATE_COURSE, t);
 
-        // Check capacity
-        if (course.getEnrolledCount() >= course.getCapacity()) {
-            throw new CourseFullException("Course is full");
+        // Send notification
+        sendEnrollmentConfirmation(student, course);
+        profiler.mark(op, Stage.SEND_NOTIFICATION, t);
+
+        return enrollment;
+    }
+
+    // ==================== Enrollment stages ====================
+    // Dipakai enrollStudent dan oleh EnrollmentPipeline, yang menjalankan
+    // setiap tahap di thread konsumennya sendiri.
+
+    /**
+     * @throws EnrollmentException jika enrollment dicatat dan mahasiswa sudah terdaftar
+     */
+    void checkNotEnrolled(String studentId, String courseCode) {
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments != null && enrollments.findByStudentAndCourse(studentId, courseCode) != null) {
+            throw new EnrollmentException("Student already enrolled in course: " + courseCode);
         }
+    }
 
-        // Check prerequisites
-        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
-            throw new PrerequisiteNotMetException("Prerequisites not met");
+    /**
+     * Mengambil bit mahasiswa untuk mata kuliah, jika bitset dipakai
+     * @throws EnrollmentException jika bit sudah diambil permintaan lain
+     */
+    void claimCourseBit(String studentId, String courseCode) {
+        StudentCourseBitsets bitsets = courseBitsets;
+        if (bitsets != null && !bitsets.add(studentId, courseCode)) {
+            throw new EnrollmentException("Student already enrolled in course: " + courseCode);
         }
+    }
+
+    /**
+     * Membatalkan claimCourseBit
+     */
+    void releaseCourseBit(String studentId, String courseCode) {
+        StudentCourseBitsets bitsets = courseBitsets;
+        if (bitsets != null) {
+            bitsets.remove(studentId, courseCode);
+        }
+    }
+
+    /**
+     * Membuat enrollment yang disetujui dan mencatatnya, jika enrollment dicatat
+     */
+    Enrollment recordEnrollment(String studentId, String courseCode) {
+        Enrollment enrollment = newEnrollment(studentId, courseCode);
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments != null) {
+            enrollments.save(enrollment);
+        }
+        return enrollment;
+    }
+
+    /**
+     * recordEnrollment tanpa nilai kembali, untuk pipeline
+     * Objek Enrollment hanya dibuat jika enrollment dicatat.
+     */
+    void storeEnrollment(String studentId, String courseCode) {
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments != null) {
+            enrollments.save(newEnrollment(studentId, courseCode));
+        }
+    }
 
-        // Create enrollment
+    private Enrollment newEnrollment(String studentId, String courseCode) {
         Enrollment enrollment = new Enrollment();
         enrollment.setEnrollmentId(generateEnrollmentId());
         enrollment.setStudentId(studentId);
         enrollment.setCourseCode(courseCode);
         enrollment.setEnrollmentDate(LocalDateTime.now());
         enrollment.setStatus("APPROVED");
+        return enrollment;
+    }
 
-        // Update course enrollment count
+    /**
+     * Membatalkan recordEnrollment
+     */
+    void deleteEnrollment(String studentId, String courseCode) {
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments != null) {
+            enrollments.delete(studentId, courseCode);
+        }
+    }
+
+    /**
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     */
+    Course findCourse(String courseCode) {
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+        return course;
+    }
+
+    /**
+     * @throws EnrollmentException jika mata kuliah sudah dibatalkan
+     */
+    void checkOpen(Course course) {
+        if (course.isCancelled()) {
+            throw new EnrollmentException("Course is cancelled: " + course.getCourseCode());
+        }
+    }
+
+    /**
+     * @throws CourseFullException jika mata kuliah sudah penuh
+     */
+    void checkCapacity(Course course) {
+        if (course.getEnrolledCount() >= course.getCapacity()) {
+            throw new CourseFullException("Course is full");
+        }
+    }
+
+    /**
+     * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     */
+    void checkPrerequisite(String studentId, String courseCode) {
+        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+            throw new PrerequisiteNotMetException("Prerequisites not met");
+        }
+    }
+
+    /**
+     * Memesan SKS mahasiswa lalu menambah jumlah peserta mata kuliah (belum disimpan)
+     * @throws CreditLimitExceededException jika SKS melebihi batas berdasarkan IPK
+     */
+    void reserveSeat(Student student, Course course) {
+        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+        reserveCredits(student.getStudentId(), course.getCredits(), maxCredits);
         course.setEnrolledCount(course.getEnrolledCount() + 1);
+    }
+
+    /**
+     * Membatalkan reserveSeat, misal karena penyimpanan gagal
+     */
+    void releaseSeat(Student student, Course course) {
+        course.setEnrolledCount(course.getEnrolledCount() - 1);
+        releaseCredits(student.getStudentId(), course.getCredits());
+    }
+
+    /**
+     * Membatalkan kursi yang sudah dipesan dan disimpan, termasuk SKS-nya
+     * Kegagalan saat menyimpan ulang mata kuliah dilampirkan ke cause sebagai suppressed.
+     *
+     * @param optimistic Aturan pengulangan mode optimistik, null untuk update biasa
+     * @param cause Exception yang menyebabkan pembatalan
+     */
+    private void returnSeat(Student student, Course course, OptimisticRetryPolicy optimistic,
+                            RuntimeException cause) {
+        try {
+            if (optimistic != null) {
+                updateOptimistically(EnrollmentMetrics.Operation.ENROLL, course, optimistic,
+                        c -> c.setEnrolledCount(c.getEnrolledCount() - 1));
+            } else {
+                course.setEnrolledCount(course.getEnrolledCount() - 1);
+                saveCourse(course);
+            }
+        } catch (RuntimeException compensation) {
+            cause.addSuppressed(compensation);
+        } finally {
+            releaseCredits(student.getStudentId(), course.getCredits());
+        }
+    }
+
+    /**
+     * reserveSeat untuk mode optimistik: SKS dipesan sekali, lalu kursi diambil
+     * dengan compareAndUpdate pada salinan mata kuliah, diulang jika versinya berubah
+     * @return Salinan mata kuliah yang tersimpan
+     */
+    private Course reserveSeatOptimistically(Student student, Course course, OptimisticRetryPolicy policy) {
+        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+        reserveCredits(student.getStudentId(), course.getCredits(), maxCredits);
+        try {
+            return updateOptimistically(EnrollmentMetrics.Operation.ENROLL, course, policy, c -> {
+                checkOpen(c);
+                checkCapacity(c);
+                c.setEnrolledCount(c.getEnrolledCount() + 1);
+            });
+        } catch (RuntimeException e) {
+            releaseCredits(student.getStudentId(), course.getCredits());
+            throw e;
+        }
+    }
+
+    /**
+     * Menerapkan perubahan ke salinan mata kuliah lalu menyimpannya dengan compareAndUpdate
+     * Jika versi sudah berubah, mata kuliah dibaca ulang dan perubahan diterapkan lagi
+     * setelah jeda backoff. Objek yang dibaca dari repository tidak pernah diubah.
+     *
+     * @return Salinan mata kuliah yang tersimpan
+     * @throws ConcurrentUpdateException jika semua percobaan bentrok
+     */
+    private Course updateOptimistically(EnrollmentMetrics.Operation op, Course course,
+                                        OptimisticRetryPolicy policy, Consumer<Course> change) {
+        for (int attempt = 1; ; attempt++) {
+            Course working = new Course(course);
+            change.accept(working);
+            if (courseRepository.compareAndUpdate(working, course.getVersion())) {
+                return working;
+            }
+            metrics.recordConflict(op);
+            if (attempt >= policy.getMaxAttempts()) {
+                throw new ConcurrentUpdateException("Course " + course.getCourseCode()
+                        + " was updated concurrently, gave up after " + attempt + " attempts");
+            }
+            policy.backoff(attempt);
+            course = findCourse(course.getCourseCode());
+        }
+    }
+
+    void saveCourse(Course course) {
         courseRepository.update(course);
+    }
 
-        // Send notification
+    void sendEnrollmentConfirmation(Student student, Course course) {
         notificationService.sendEmail(student.getEmail(),
                 "Enrollment Confirmation",
                 "You have been enrolled in: " + course.getCourseName());
-
-        return enrollment;
     }
 
     /**
@@ -99,6 +470,18 @@ public class EnrollmentService {
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      */
     public boolean validateCreditLimit(String studentId, int requestedCredits) {
+        long start = System.nanoTime();
+        try {
+            boolean valid = doValidateCreditLimit(studentId, requestedCredits);
+            metrics.recordSuccess(EnrollmentMetrics.Operation.VALIDATE_CREDIT_LIMIT, System.nanoTime() - start);
+            return valid;
+        } catch (RuntimeException e) {
+            metrics.recordRejection(EnrollmentMetrics.Operation.VALIDATE_CREDIT_LIMIT, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private boolean doValidateCreditLimit(String studentId, int requestedCredits) {
         Student student = studentRepository.findById(studentId);
         if (student == null) {
             throw new StudentNotFoundException("Student not found");
@@ -116,26 +499,575 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika enrollment dicatat dan mahasiswa tidak terdaftar
+     * @throws ConcurrentUpdateException jika update optimistik terus bentrok (mode optimistik)
      */
     public void dropCourse(String studentId, String courseCode) {
+        EnrollmentAttemptEvent event = new EnrollmentAttemptEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            doDropCourse(studentId, courseCode);
+            metrics.recordSuccess(EnrollmentMetrics.Operation.DROP, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.DROP, studentId, courseCode, "SUCCESS");
+        } catch (RuntimeException e) {
+            metrics.recordRejection(EnrollmentMetrics.Operation.DROP, e, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.DROP, studentId, courseCode,
+                    e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private void doDropCourse(String studentId, String courseCode) {
+        StageProfiler profiler = stageProfiler;
+        long t = profiler.start();
+        Student student = findStudent(studentId);
+        t = profiler.mark(EnrollmentMetrics.Operation.DROP, Stage.FIND_STUDENT, t);
+        dropStudent(student, courseCode, t);
+    }
+
+    /**
+     * Membatalkan mata kuliah dan men-drop seluruh mahasiswa yang terdaftar sekaligus
+     * Mata kuliah ditandai batal sehingga enroll dan swap berikutnya ditolak.
+     * Data mata kuliah hanya di-update satu kali (mode optimistik: ditandai batal
+     * lebih dulu, lalu jumlah peserta dikurangi) dan notifikasi dikirim sebagai satu batch
+     *
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa yang di-drop
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws IllegalStateException jika enrollment repository belum diisi
+     * @throws ConcurrentUpdateException jika update optimistik terus bentrok (mode optimistik)
+     */
+    public List<String> cancelCourse(String courseCode) {
+        EnrollmentAttemptEvent event = new EnrollmentAttemptEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            List<String> droppedIds = doCancelCourse(courseCode);
+            metrics.recordSuccess(EnrollmentMetrics.Operation.CANCEL, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.CANCEL, null, courseCode, "SUCCESS");
+            return droppedIds;
+        } catch (RuntimeException e) {
+            metrics.recordRejection(EnrollmentMetrics.Operation.CANCEL, e, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.CANCEL, null, courseCode,
+                    e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private List<String> doCancelCourse(String courseCode) {
+        final EnrollmentMetrics.Operation op = EnrollmentMetrics.Operation.CANCEL;
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments == null) {
+            throw new IllegalStateException("Enrollment repository is not configured");
+        }
+
+        // Serialize with enroll, drop and swap on the same course
+        Course course;
+        List<String> droppedIds;
+        List<String> emails = new ArrayList<>();
+        ReentrantLock lock = courseLocks[courseLockIndex(courseCode)];
+        lock.lock();
+        try {
+            course = findCourse(courseCode);
+
+            // Other service instances only see the lock-free version check, so close the
+            // course for them before dropping anyone
+            OptimisticRetryPolicy optimistic = optimisticRetryPolicy;
+            if (optimistic != null) {
+                course = updateOptimistically(op, course, optimistic, c -> c.setCancelled(true));
+            }
+
+            StudentCourseBitsets bitsets = courseBitsets;
+            List<Enrollment> enrolled = enrollments.findByCourse(courseCode);
+            droppedIds = new ArrayList<>(enrolled.size());
+            for (Enrollment enrollment : enrolled) {
+                String studentId = enrollment.getStudentId();
+                if (!enrollments.delete(studentId, courseCode)) {
+                    continue; // Sudah di-drop oleh permintaan lain
+                }
+                if (bitsets != null) {
+                    bitsets.remove(studentId, courseCode);
+                }
+                releaseCredits(studentId, course.getCredits());
+                droppedIds.add(studentId);
+
+                Student student = studentRepository.findById(studentId);
+                if (student != null) {
+                    emails.add(student.getEmail());
+                }
+            }
+
+            // Each dropped record held exactly one seat; a negative count means the two drifted apart
+            int dropped = droppedIds.size();
+            if (optimistic != null) {
+                course = updateOptimistically(op, course, optimistic,
+                        c -> c.setEnrolledCount(c.getEnrolledCount() - dropped));
+            } else {
+                course.setCancelled(true);
+                course.setEnrolledCount(course.getEnrolledCount() - dropped);
+                courseRepository.update(course);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!emails.isEmpty()) {
+            notificationService.sendBulkEmail(emails,
+                    "Course Cancellation",
+                    "The course has been cancelled: " + course.getCourseName());
+        }
+        return droppedIds;
+    }
+
+    /**
+     * Memindahkan mahasiswa dari satu mata kuliah ke mata kuliah lain secara atomik
+     * Mata kuliah tujuan divalidasi lebih dulu; kursi lama baru dilepas bersamaan
+     * dengan kursi baru diambil. Seluruh pembacaan dan perubahan dilakukan di bawah
+     * lock kedua mata kuliah, yang juga diambil enroll, drop, dan cancelCourse
+     *
+     * @param studentId ID mahasiswa
+     * @param fromCode Kode mata kuliah yang ditinggalkan
+     * @param toCode Kode mata kuliah tujuan
+     * @return Enrollment object di mata kuliah tujuan
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend, kedua kode sama,
+     *         atau (jika enrollment dicatat) mahasiswa tidak terdaftar di mata kuliah asal
+     *         atau sudah terdaftar di mata kuliah tujuan, atau mata kuliah tujuan dibatalkan
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws CourseFullException jika mata kuliah tujuan sudah penuh
+     * @throws PrerequisiteNotMetException jika prasyarat mata kuliah tujuan tidak terpenuhi
+     * @throws CreditLimitExceededException jika SKS setelah pindah melebihi batas berdasarkan IPK
+     * @throws ConcurrentUpdateException jika update optimistik terus bentrok (mode optimistik)
+     */
+    public Enrollment swapCourse(String studentId, String fromCode, String toCode) {
+        EnrollmentAttemptEvent event = new EnrollmentAttemptEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String courses = fromCode + "->" + toCode;
+        try {
+            Enrollment enrollment = doSwapCourse(studentId, fromCode, toCode);
+            metrics.recordSuccess(EnrollmentMetrics.Operation.SWAP, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.SWAP, studentId, courses, "SUCCESS");
+            return enrollment;
+        } catch (RuntimeException e) {
+            metrics.recordRejection(EnrollmentMetrics.Operation.SWAP, e, System.nanoTime() - start);
+            commitAttempt(event, EnrollmentMetrics.Operation.SWAP, studentId, courses,
+                    e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private Enrollment doSwapCourse(String studentId, String fromCode, String toCode) {
+        if (fromCode.equals(toCode)) {
+            throw new EnrollmentException("Cannot swap a course with itself: " + fromCode);
+        }
+        Student student = findEnrollableStudent(studentId);
+        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+
+        // Lock both courses in stripe order so opposite swaps cannot deadlock; enroll,
+        // drop and cancel take the same stripes, so every read below is current
+        int fromStripe = courseLockIndex(fromCode);
+        int toStripe = courseLockIndex(toCode);
+        ReentrantLock first = courseLocks[Math.min(fromStripe, toStripe)];
+        ReentrantLock second = courseLocks[Math.max(fromStripe, toStripe)];
+        Course from;
+        Course to;
+        Enrollment enrollment;
+        first.lock();
+        second.lock();
+        try {
+            // Validate the target course before touching the current seat
+            to = findCourse(toCode);
+            checkPrerequisite(studentId, toCode);
+            from = findCourse(fromCode);
+
+            EnrollmentRepository enrollments = enrollmentRepository;
+            if (enrollments != null) {
+                if (enrollments.findByStudentAndCourse(studentId, fromCode) == null) {
+                    throw new EnrollmentException("Student is not enrolled in course: " + fromCode);
+                }
+                if (enrollments.findByStudentAndCourse(studentId, toCode) != null) {
+                    throw new EnrollmentException("Student already enrolled in course: " + toCode);
+                }
+            }
+
+            moveSeat(studentId, from, to, maxCredits);
+
+            enrollment = new Enrollment(generateEnrollmentId(), studentId, toCode,
+                    LocalDateTime.now(), "APPROVED");
+            if (enrollments != null) {
+                enrollments.delete(studentId, fromCode);
+                enrollments.save(enrollment);
+            }
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+
+        notificationService.sendEmail(student.getEmail(),
+                "Course Swap Confirmation",
+                "You have been moved from " + from.getCourseName() + " to " + to.getCourseName());
+        return enrollment;
+    }
+
+    /**
+     * Memindahkan kursi dan SKS dari mata kuliah asal ke tujuan; dipanggil dengan lock keduanya
+     */
+    private void moveSeat(String studentId, Course from, Course to, int maxCredits) {
+        checkOpen(to);
+        checkCapacity(to);
+
+        StudentCourseBitsets bitsets = courseBitsets;
+        if (bitsets != null) {
+            if (!bitsets.add(studentId, to.getCourseCode())) {
+                throw new EnrollmentException("Student already enrolled in course: " + to.getCourseCode());
+            }
+            if (!bitsets.remove(studentId, from.getCourseCode())) {
+                bitsets.remove(studentId, to.getCourseCode());
+                throw new EnrollmentException("Student is not enrolled in course: " + from.getCourseCode());
+            }
+        }
+        try {
+            swapCredits(studentId, from.getCredits(), to.getCredits(), maxCredits);
+            try {
+                OptimisticRetryPolicy optimistic = optimisticRetryPolicy;
+                if (optimistic != null) {
+                    moveSeatOptimistically(from, to, optimistic);
+                } else {
+                    moveSeatInPlace(from, to);
+                }
+            } catch (RuntimeException e) {
+                swapCredits(studentId, to.getCredits(), from.getCredits(), Integer.MAX_VALUE);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            if (bitsets != null) {
+                bitsets.add(studentId, from.getCourseCode());
+                bitsets.remove(studentId, to.getCourseCode());
+            }
+            throw e;
+        }
+    }
+
+    private void moveSeatInPlace(Course from, Course to) {
+        from.setEnrolledCount(from.getEnrolledCount() - 1);
+        to.setEnrolledCount(to.getEnrolledCount() + 1);
+        boolean toSaved = false;
+        try {
+            courseRepository.update(to);
+            toSaved = true;
+            courseRepository.update(from);
+        } catch (RuntimeException e) {
+            from.setEnrolledCount(from.getEnrolledCount() + 1);
+            to.setEnrolledCount(to.getEnrolledCount() - 1);
+            if (toSaved) {
+                courseRepository.update(to);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * moveSeat untuk mode optimistik: kursi tujuan diambil lebih dulu dengan
+     * compareAndUpdate, lalu kursi asal dilepas; jika yang kedua gagal, kursi
+     * tujuan dikembalikan dengan compareAndUpdate juga
+     */
+    private void moveSeatOptimistically(Course from, Course to, OptimisticRetryPolicy policy) {
+        final EnrollmentMetrics.Operation op = EnrollmentMetrics.Operation.SWAP;
+        Course savedTo = updateOptimistically(op, to, policy, c -> {
+            checkOpen(c);
+            checkCapacity(c);
+            c.setEnrolledCount(c.getEnrolledCount() + 1);
+        });
+        try {
+            updateOptimistically(op, from, policy, c -> c.setEnrolledCount(c.getEnrolledCount() - 1));
+        } catch (RuntimeException e) {
+            try {
+                updateOptimistically(op, savedTo, policy, c -> c.setEnrolledCount(c.getEnrolledCount() - 1));
+            } catch (RuntimeException compensation) {
+                e.addSuppressed(compensation);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tahap sisi mahasiswa dari dropCourse
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     */
+    Student findStudent(String studentId) {
         Student student = studentRepository.findById(studentId);
         if (student == null) {
             throw new StudentNotFoundException("Student not found");
         }
+        return student;
+    }
 
-        Course course = courseRepository.findByCourseCode(courseCode);
-        if (course == null) {
-            throw new CourseNotFoundException("Course not found");
-        }
+    /**
+     * Tahap sisi mata kuliah dari dropCourse, untuk mahasiswa yang sudah divalidasi
+     *
+     * @param student Mahasiswa hasil findStudent
+     * @param courseCode Kode mata kuliah
+     * @param t Nilai stage profiler dari tahap sebelumnya (0 jika tidak diukur)
+     */
+    void dropStudent(Student student, String courseCode, long t) {
+        final EnrollmentMetrics.Operation op = EnrollmentMetrics.Operation.DROP;
+        final StageProfiler profiler = stageProfiler;
+        final String studentId = student.getStudentId();
 
-        // Update enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() - 1);
-        courseRepository.update(course);
+        // Serialize with enroll, swap and cancel on the same course
+        Course course;
+        ReentrantLock lock = courseLocks[courseLockIndex(courseCode)];
+        lock.lock();
+        try {
+            course = courseRepository.findByCourseCode(courseCode);
+            t = profiler.mark(op, Stage.FIND_COURSE, t);
+            if (course == null) {
+                throw new CourseNotFoundException("Course not found");
+            }
+
+            // Only enrolled students can drop, when enrollments are recorded
+            EnrollmentRepository enrollments = enrollmentRepository;
+            if (enrollments != null && enrollments.findByStudentAndCourse(studentId, courseCode) == null) {
+                throw new EnrollmentException("Student is not enrolled in course: " + courseCode);
+            }
+
+            StudentCourseBitsets bitsets = courseBitsets;
+            if (bitsets != null && !bitsets.remove(studentId, courseCode)) {
+                throw new EnrollmentException("Student is not enrolled in course: " + courseCode);
+            }
+
+            // Update enrollment count
+            OptimisticRetryPolicy optimistic = optimisticRetryPolicy;
+            try {
+                if (optimistic != null) {
+                    updateOptimistically(op, course, optimistic,
+                            c -> c.setEnrolledCount(c.getEnrolledCount() - 1));
+                } else {
+                    course.setEnrolledCount(course.getEnrolledCount() - 1);
+                    courseRepository.update(course);
+                }
+            } catch (RuntimeException e) {
+                if (bitsets != null) {
+                    bitsets.add(studentId, courseCode);
+                }
+                throw e;
+            }
+            releaseCredits(studentId, course.getCredits());
+            if (enrollments != null) {
+                enrollments.delete(studentId, courseCode);
+            }
+        } finally {
+            lock.unlock();
+        }
+        t = profiler.mark(op, Stage.UPDATE_COURSE, t);
 
         // Send notification
         notificationService.sendEmail(student.getEmail(),
                 "Course Drop Confirmation",
                 "You have dropped: " + course.getCourseName());
+        profiler.mark(op, Stage.SEND_NOTIFICATION, t);
+    }
+
+    /**
+     * Metrik latency dan penolakan service ini, dapat dibaca lewat snapshot() atau JMX
+     * @return Metrik enrollment
+     */
+    public EnrollmentMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Profiler per tahap enrollCourse dan dropCourse
+     * @return Stage profiler yang sedang dipakai
+     */
+    public StageProfiler getStageProfiler() {
+        return stageProfiler;
+    }
+
+    /**
+     * Mengganti stage profiler, misal dengan target sampel berbeda
+     * @param stageProfiler Stage profiler baru
+     */
+    public void setStageProfiler(StageProfiler stageProfiler) {
+        this.stageProfiler = stageProfiler;
+    }
+
+    /**
+     * Pemantau lalu lintas enrollCourse
+     * @return Traffic monitor, atau null jika tidak dipakai
+     */
+    public EnrollmentTrafficMonitor getTrafficMonitor() {
+        return trafficMonitor;
+    }
+
+    /**
+     * Mengaktifkan pelacakan mata kuliah dan mahasiswa paling aktif
+     * @param trafficMonitor Traffic monitor, null untuk menonaktifkan
+     */
+    public void setTrafficMonitor(EnrollmentTrafficMonitor trafficMonitor) {
+        this.trafficMonitor = trafficMonitor;
+    }
+
+    /**
+     * Mengaktifkan pembatasan laju enrollCourse per mahasiswa
+     * Permintaan yang ditolak tidak menyentuh repository sama sekali
+     *
+     * @param rateLimiter Rate limiter, null untuk menonaktifkan
+     */
+    public void setRateLimiter(StudentRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Mengaktifkan load shedding adaptif untuk enrollCourse
+     * Permintaan di atas batas ditolak dengan ServiceOverloadedException tanpa menyentuh repository
+     *
+     * @param concurrencyLimiter Concurrency limiter, null untuk menonaktifkan
+     */
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        metrics.setConcurrencyLimitGauge(concurrencyLimiter);
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Mengaktifkan pencatatan enrollment
+     * Jika diisi, enroll ganda dan drop tanpa enrollment ditolak dengan EnrollmentException
+     *
+     * @param enrollmentRepository Enrollment repository, null untuk menonaktifkan
+     */
+    public void setEnrollmentRepository(EnrollmentRepository enrollmentRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    /**
+     * Mengaktifkan deteksi enrollment ganda dengan bitset per mahasiswa
+     * Bit diambil secara atomik sebelum kursi dipesan dan dilepas lagi jika enroll gagal,
+     * sehingga permintaan bersamaan dari mahasiswa yang sama tetap konsisten
+     *
+     * @param courseBitsets Bitset enrollment, null untuk menonaktifkan
+     */
+    public void setCourseBitsets(StudentCourseBitsets courseBitsets) {
+        this.courseBitsets = courseBitsets;
+    }
+
+    /**
+     * Mengaktifkan update mata kuliah optimistik untuk enrollCourse, dropCourse,
+     * swapCourse, dan cancelCourse
+     * Jumlah peserta diubah pada salinan dan disimpan dengan CourseRepository.compareAndUpdate;
+     * konflik versi diulang dengan backoff dan dicatat di metrik. Cocok untuk beberapa
+     * instance service yang memakai repository yang sama tanpa lock bersama.
+     * Di dalam satu instance, operasi pada mata kuliah yang sama tetap diserialkan
+     * dengan lock bergaris per mata kuliah, agar cek enrollment dan bitset tidak
+     * berlomba dengan perubahan jumlah peserta.
+     *
+     * @param optimisticRetryPolicy Aturan pengulangan, null untuk update biasa
+     */
+    public void setOptimisticRetryPolicy(OptimisticRetryPolicy optimisticRetryPolicy) {
+        this.optimisticRetryPolicy = optimisticRetryPolicy;
+    }
+
+    /**
+     * Daftar enrollment seorang mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @return List of Enrollment
+     * @throws IllegalStateException jika enrollment repository belum diisi
+     */
+    public List<Enrollment> getEnrollments(String studentId) {
+        EnrollmentRepository enrollments = enrollmentRepository;
+        if (enrollments == null) {
+            throw new IllegalStateException("Enrollment repository is not configured");
+        }
+        return enrollments.findByStudent(studentId);
+    }
+
+    /**
+     * Mendapatkan beban SKS aktif mahasiswa yang tercatat di credit ledger service ini
+     *
+     * @param studentId ID mahasiswa
+     * @return Jumlah SKS yang sedang diambil
+     */
+    public int getCurrentCredits(String studentId) {
+        return creditLedger.get(studentId);
+    }
+
+    /**
+     * Mengisi beban SKS awal mahasiswa, misal saat service baru dijalankan
+     * dan enrollment lama dimuat dari penyimpanan
+     *
+     * @param studentId ID mahasiswa
+     * @param credits Jumlah SKS yang sedang diambil
+     */
+    public void setCurrentCredits(String studentId, int credits) {
+        creditLedger.set(studentId, credits);
+    }
+
+    public CreditLedger getCreditLedger() {
+        return creditLedger;
+    }
+
+    /**
+     * Mengganti penyimpanan beban SKS, misal dengan ledger yang dipakai bersama
+     * beberapa service; harus diisi sebelum enrollment pertama
+     *
+     * @param creditLedger Credit ledger baru
+     */
+    public void setCreditLedger(CreditLedger creditLedger) {
+        this.creditLedger = creditLedger;
+    }
+
+    /**
+     * Mengisi dan menulis event JFR hanya jika event aktif dan melewati threshold
+     */
+    private static void commitAttempt(EnrollmentAttemptEvent event, EnrollmentMetrics.Operation operation,
+                                      String studentId, String courseCode, String outcome) {
+        if (event.shouldCommit()) {
+            event.setOperation(operation.name());
+            event.setStudentId(studentId);
+            event.setCourseCode(courseCode);
+            event.setOutcome(outcome);
+            event.commit();
+        }
+    }
+
+    /**
+     * Menambah beban SKS tanpa pernah melewati batas
+     */
+    private void reserveCredits(String studentId, int credits, int maxCredits) {
+        creditLedger.adjust(studentId, 0, credits, maxCredits);
+    }
+
+    /**
+     * Mengganti SKS satu mata kuliah dengan mata kuliah lain dalam satu langkah atomik
+     */
+    private void swapCredits(String studentId, int releasedCredits, int reservedCredits, int maxCredits) {
+        creditLedger.adjust(studentId, releasedCredits, reservedCredits, maxCredits);
+    }
+
+    /**
+     * Mengurangi beban SKS, tidak pernah di bawah nol
+     */
+    void releaseCredits(String studentId, int credits) {
+        creditLedger.adjust(studentId, credits, 0, Integer.MAX_VALUE);
+    }
+
+    private static ReentrantLock[] newCourseLocks() {
+        ReentrantLock[] locks = new ReentrantLock[COURSE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static int courseLockIndex(String courseCode) {
+        int h = courseCode.hashCode();
+        return (h ^ (h >>> 16)) & (COURSE_LOCK_STRIPES - 1);
     }
 
     /**
@@ -143,6 +1075,6 @@ public class EnrollmentService {
      * @return Enrollment ID
      */
     private String generateEnrollmentId() {
-        return "ENR-" + System.currentTimeMillis();
+        return "ENR-" + System.currentTimeMillis() + "-" + ENROLLMENT_SEQUENCE.incrementAndGet();
     }
 }
@@ -0,0 +1,147 @@
+package com.praktikum.service;
+
+import com.praktikum.model.Student;
+import com.praktikum.repository.StudentChangeListener;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service analitik distribusi IPK per jurusan dan semester
+ * Didaftarkan sebagai listener di ObservableStudentRepository sehingga
+ * distribusi diperbarui setiap kali IPK, jurusan, atau semester berubah.
+ * Query persentil hanya membaca histogram grup, tanpa scan seluruh mahasiswa.
+ */
+public class GpaDistributionService implements StudentChangeListener {
+    // major -> semester -> histogram
+    private final Map<String, Map<Integer, GpaHistogram>> groups = new ConcurrentHashMap<>();
+
+    // Posisi terakhir tiap mahasiswa, dipakai untuk menghapus nilai lama
+    private final Map<String, Placement> placements = new ConcurrentHashMap<>();
+
+    private static final class Placement {
+        private final String major;
+        private final int semester;
+        private final double gpa;
+
+        private Placement(String major, int semester, double gpa) {
+            this.major = major;
+            this.semester = semester;
+            this.gpa = gpa;
+        }
+    }
+
+    /**
+     * Memperbarui distribusi dengan data mahasiswa terbaru
+     * Bisa juga dipanggil langsung untuk memuat data awal
+     *
+     * @param student Student object dengan data terbaru
+     */
+    @Override
+    public void onStudentUpdated(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            return;
+        }
+
+        Placement current = new Placement(majorKey(student.getMajor()),
+                student.getSemester(), student.getGpa());
+
+        // compute() mengunci entry mahasiswa, sehingga update bersamaan
+        // untuk mahasiswa yang sama tidak menghitung nilai lama dua kali
+        placements.compute(student.getStudentId(), (id, previous) -> {
+            if (previous != null) {
+                histogram(previous.major, previous.semester).remove(previous.gpa);
+            }
+            histogram(current.major, current.semester).add(current.gpa);
+            return current;
+        });
+    }
+
+    /**
+     * Persentil IPK untuk satu jurusan dan semester
+     *
+     * @param major Jurusan mahasiswa
+     * @param semester Semester mahasiswa
+     * @param percentile Persentil (0 - 100), misal 50, 90, 99
+     * @return IPK pada persentil tersebut, atau 0.0 jika grup kosong
+     */
+    public double percentile(String major, int semester, double percentile) {
+        Map<Integer, GpaHistogram> bySemester = groups.get(majorKey(major));
+        if (bySemester == null) {
+            return new GpaHistogram().percentile(percentile);
+        }
+        GpaHistogram histogram = bySemester.get(semester);
+        return histogram == null
+                ? new GpaHistogram().percentile(percentile)
+                : histogram.percentile(percentile);
+    }
+
+    /**
+     * Persentil IPK untuk seluruh semester dalam satu jurusan
+     *
+     * @param major Jurusan mahasiswa
+     * @param percentile Persentil (0 - 100)
+     * @return IPK pada persentil tersebut, atau 0.0 jika jurusan kosong
+     */
+    public double majorPercentile(String major, double percentile) {
+        Map<Integer, GpaHistogram> bySemester = groups.get(majorKey(major));
+        if (bySemester == null) {
+            return new GpaHistogram().percentile(percentile);
+        }
+        return mergeAll(bySemester.values()).percentile(percentile);
+    }
+
+    /**
+     * Persentil IPK seluruh kampus
+     * Histogram setiap grup di-merge secara paralel
+     *
+     * @param percentile Persentil (0 - 100)
+     * @return IPK pada persentil tersebut, atau 0.0 jika belum ada data
+     */
+    public double campusPercentile(double percentile) {
+        return campusHistogram().percentile(percentile);
+    }
+
+    /**
+     * Jumlah mahasiswa yang tercatat pada satu jurusan dan semester
+     *
+     * @param major Jurusan mahasiswa
+     * @param semester Semester mahasiswa
+     * @return Jumlah mahasiswa di grup tersebut
+     */
+    public long count(String major, int semester) {
+        Map<Integer, GpaHistogram> bySemester = groups.get(majorKey(major));
+        if (bySemester == null) {
+            return 0;
+        }
+        GpaHistogram histogram = bySemester.get(semester);
+        return histogram == null ? 0 : histogram.count();
+    }
+
+    /**
+     * Histogram gabungan seluruh grup, di-merge secara paralel
+     * @return Histogram baru berisi distribusi IPK seluruh kampus
+     */
+    public GpaHistogram campusHistogram() {
+        return groups.values().parallelStream()
+                .map(bySemester -> mergeAll(bySemester.values()))
+                .reduce(new GpaHistogram(), GpaHistogram::merge);
+    }
+
+    private GpaHistogram histogram(String major, int semester) {
+        return groups.computeIfAbsent(major, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(semester, key -> new GpaHistogram());
+    }
+
+    private static GpaHistogram mergeAll(Collection<GpaHistogram> histograms) {
+        GpaHistogram merged = new GpaHistogram();
+        for (GpaHistogram histogram : histograms) {
+            merged.mergeFrom(histogram);
+        }
+        return merged;
+    }
+
+    private static String majorKey(String major) {
+        return major == null ? "" : major;
+    }
+}
@@ -0,0 +1,101 @@
+package com.praktikum.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sketch distribusi IPK yang bisa di-merge
+ * IPK hanya punya 401 nilai berbeda pada resolusi 0.01, sehingga satu bucket
+ * per langkah sudah cukup: hasil kuantil eksak, ukuran tetap, dan mendukung
+ * penghapusan nilai lama ketika IPK mahasiswa berubah.
+ */
+public class GpaHistogram {
+    private static final int BUCKETS = 401;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Menambahkan satu nilai IPK ke distribusi
+     * @param gpa IPK mahasiswa
+     */
+    public void add(double gpa) {
+        counts.incrementAndGet(GradeCalculator.clampedGpaIndex(gpa));
+    }
+
+    /**
+     * Menghapus satu nilai IPK dari distribusi
+     * @param gpa IPK mahasiswa yang sebelumnya ditambahkan
+     */
+    public void remove(double gpa) {
+        counts.decrementAndGet(GradeCalculator.clampedGpaIndex(gpa));
+    }
+
+    /**
+     * Menghitung jumlah nilai di dalam distribusi
+     * @return Jumlah mahasiswa yang tercatat
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Menghitung persentil IPK dengan metode nearest-rank
+     *
+     * @param percentile Persentil yang dicari (0 - 100), misal 50, 90, 99
+     * @return IPK pada persentil tersebut, atau 0.0 jika distribusi kosong
+     * @throws IllegalArgumentException jika percentile di luar 0 - 100
+     */
+    public double percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total <= 0) {
+            return 0.0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return i / 100.0;
+            }
+        }
+        return (BUCKETS - 1) / 100.0;
+    }
+
+    /**
+     * Menggabungkan distribusi lain ke dalam histogram ini
+     * @param other Histogram yang digabungkan
+     * @return Histogram ini (untuk chaining dan reduce)
+     */
+    public GpaHistogram mergeFrom(GpaHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long value = other.counts.get(i);
+            if (value != 0) {
+                counts.addAndGet(i, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Membuat histogram baru berisi gabungan dua histogram
+     * @param left Histogram pertama
+     * @param right Histogram kedua
+     * @return Histogram gabungan, kedua input tidak berubah
+     */
+    public static GpaHistogram merge(GpaHistogram left, GpaHistogram right) {
+        return new GpaHistogram().mergeFrom(left).mergeFrom(right);
+    }
+}
@@ -0,0 +1,236 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Student;
+import com.praktikum.repository.StudentChangeListener;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Service ranking IPK mahasiswa per jurusan, per semester, dan per
+ * kombinasi jurusan + semester (misal dean's list)
+ * Didaftarkan sebagai listener di ObservableStudentRepository. Setiap grup
+ * menyimpan skip list terurut IPK sehingga query top-K cukup membaca K entry
+ * pertama, dan Fenwick tree per langkah IPK 0.01 untuk lookup ranking O(log n).
+ */
+public class GpaRankingService implements StudentChangeListener {
+    private static final int GPA_STEPS = 401;
+
+    private final Map<String, RankingGroup> groups = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private static final Comparator<Entry> BY_GPA_DESC = Comparator
+            .comparingInt((Entry entry) -> entry.gpaIndex).reversed()
+            .thenComparing(entry -> entry.studentId);
+
+    private static final class Entry {
+        private final String studentId;
+        private final int gpaIndex;
+        private final String major;
+        private final int semester;
+        private final Student student;
+
+        private Entry(Student student) {
+            this.studentId = student.getStudentId();
+            this.gpaIndex = GradeCalculator.clampedGpaIndex(student.getGpa());
+            this.major = student.getMajor() == null ? "" : student.getMajor();
+            this.semester = student.getSemester();
+            this.student = student;
+        }
+    }
+
+    /**
+     * Satu grup ranking: skip list terurut + Fenwick tree jumlah mahasiswa per langkah IPK
+     */
+    private static final class RankingGroup {
+        private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>(BY_GPA_DESC);
+        private final long[] tree = new long[GPA_STEPS + 1];
+        private long size;
+
+        private synchronized void add(Entry entry) {
+            ordered.add(entry);
+            adjust(entry.gpaIndex, 1);
+            size++;
+        }
+
+        private synchronized void remove(Entry entry) {
+            if (ordered.remove(entry)) {
+                adjust(entry.gpaIndex, -1);
+                size--;
+            }
+        }
+
+        /**
+         * Ranking kompetisi: 1 + jumlah mahasiswa dengan IPK lebih tinggi
+         */
+        private synchronized int rankOf(int gpaIndex) {
+            return (int) (size - prefixCount(gpaIndex)) + 1;
+        }
+
+        private List<Student> top(int k) {
+            List<Student> result = new ArrayList<>(Math.min(k, 64));
+            Iterator<Entry> iterator = ordered.iterator();
+            while (result.size() < k && iterator.hasNext()) {
+                result.add(iterator.next().student);
+            }
+            return result;
+        }
+
+        private void adjust(int gpaIndex, long delta) {
+            for (int i = gpaIndex + 1; i <= GPA_STEPS; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Jumlah mahasiswa dengan indeks IPK <= gpaIndex
+        private long prefixCount(int gpaIndex) {
+            long count = 0;
+            for (int i = gpaIndex + 1; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Memperbarui ranking dengan data mahasiswa terbaru
+     * Bisa juga dipanggil langsung untuk memuat data awal
+     *
+     * @param student Student object dengan data terbaru
+     */
+    @Override
+    public void onStudentUpdated(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            return;
+        }
+
+        Entry current = new Entry(student);
+        entries.compute(student.getStudentId(), (id, previous) -> {
+            if (previous != null) {
+                majorGroup(previous.major).remove(previous);
+                semesterGroup(previous.semester).remove(previous);
+                cohortGroup(previous.major, previous.semester).remove(previous);
+            }
+            majorGroup(current.major).add(current);
+            semesterGroup(current.semester).add(current);
+            cohortGroup(current.major, current.semester).add(current);
+            return current;
+        });
+    }
+
+    /**
+     * Top-K mahasiswa berdasarkan IPK dalam satu jurusan dan semester
+     * Contoh: top("Computer Science", 5, 50)
+     *
+     * @param major Jurusan mahasiswa
+     * @param semester Semester mahasiswa
+     * @param k Jumlah mahasiswa yang diambil
+     * @return Daftar mahasiswa terurut IPK tertinggi (maksimal k)
+     */
+    public List<Student> top(String major, int semester, int k) {
+        return topOf(groups.get(cohortKey(major == null ? "" : major, semester)), k);
+    }
+
+    /**
+     * Top-K mahasiswa berdasarkan IPK dalam satu jurusan
+     *
+     * @param major Jurusan mahasiswa
+     * @param k Jumlah mahasiswa yang diambil
+     * @return Daftar mahasiswa terurut IPK tertinggi (maksimal k)
+     */
+    public List<Student> topByMajor(String major, int k) {
+        return topOf(groups.get(majorKey(major == null ? "" : major)), k);
+    }
+
+    /**
+     * Top-K mahasiswa berdasarkan IPK dalam satu semester
+     *
+     * @param semester Semester mahasiswa
+     * @param k Jumlah mahasiswa yang diambil
+     * @return Daftar mahasiswa terurut IPK tertinggi (maksimal k)
+     */
+    public List<Student> topBySemester(int semester, int k) {
+        return topOf(groups.get(semesterKey(semester)), k);
+    }
+
+    /**
+     * Ranking mahasiswa di dalam jurusan dan semesternya
+     * Mahasiswa dengan IPK sama mendapat ranking yang sama
+     *
+     * @param studentId ID mahasiswa
+     * @return Ranking mahasiswa (mulai dari 1)
+     * @throws StudentNotFoundException jika mahasiswa belum tercatat
+     */
+    public int rank(String studentId) {
+        Entry entry = requireEntry(studentId);
+        return cohortGroup(entry.major, entry.semester).rankOf(entry.gpaIndex);
+    }
+
+    /**
+     * Ranking mahasiswa di dalam jurusannya
+     *
+     * @param studentId ID mahasiswa
+     * @return Ranking mahasiswa (mulai dari 1)
+     * @throws StudentNotFoundException jika mahasiswa belum tercatat
+     */
+    public int rankInMajor(String studentId) {
+        Entry entry = requireEntry(studentId);
+        return majorGroup(entry.major).rankOf(entry.gpaIndex);
+    }
+
+    /**
+     * Ranking mahasiswa di dalam semesternya
+     *
+     * @param studentId ID mahasiswa
+     * @return Ranking mahasiswa (mulai dari 1)
+     * @throws StudentNotFoundException jika mahasiswa belum tercatat
+     */
+    public int rankInSemester(String studentId) {
+        Entry entry = requireEntry(studentId);
+        return semesterGroup(entry.semester).rankOf(entry.gpaIndex);
+    }
+
+    private Entry requireEntry(String studentId) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            throw new StudentNotFoundException("Student not ranked: " + studentId);
+        }
+        return entry;
+    }
+
+    private static List<Student> topOf(RankingGroup group, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K must not be negative");
+        }
+        return group == null ? new ArrayList<>() : group.top(k);
+    }
+
+    private RankingGroup majorGroup(String major) {
+        return groups.computeIfAbsent(majorKey(major), key -> new RankingGroup());
+    }
+
+    private RankingGroup semesterGroup(int semester) {
+        return groups.computeIfAbsent(semesterKey(semester), key -> new RankingGroup());
+    }
+
+    private RankingGroup cohortGroup(String major, int semester) {
+        return groups.computeIfAbsent(cohortKey(major, semester), key -> new RankingGroup());
+    }
+
+    private static String majorKey(String major) {
+        return "M:" + major;
+    }
+
+    private static String semesterKey(int semester) {
+        return "S:" + semester;
+    }
+
+    private static String cohortKey(String major, int semester) {
+        return "MS:" + semester + ":" + major;
+    }
+}
@@ -1,5 +1,6 @@
 package com.praktikum.service;
 
+import com.praktikum.metrics.GpaCalculationEvent;
 import com.praktikum.model.CourseGrade;
 import java.util.List;
 
@@ -9,6 +10,32 @@ import java.util.List;
  */
 public class GradeCalculator {
 
+    // Jumlah langkah IPK dengan resolusi 0.01 (0.00 - 4.00)
+    private static final int GPA_STEPS = 401;
+
+    // Pita semester: 0 = semester 1-2, 1 = semester 3-4, 2 = semester 5+
+    private static final int SEMESTER_BANDS = 3;
+
+    // Tabel status akademik, indeks: band * GPA_STEPS + indeks IPK
+    private static final String[] ACADEMIC_STATUS_TABLE = new String[SEMESTER_BANDS * GPA_STEPS];
+
+    // Tabel SKS maksimal, indeks: indeks IPK
+    private static final int[] MAX_CREDITS_TABLE = new int[GPA_STEPS];
+
+    static {
+        // Tabel diisi dari aturan bercabang di bawah, sehingga hasilnya identik.
+        // Semua batas aturan (2.0, 2.25, 2.5, 3.0) jatuh tepat di kelipatan 0.01,
+        // jadi satu nilai per langkah 0.01 mewakili seluruh rentangnya.
+        int[] bandSemester = {1, 3, 5};
+        for (int i = 0; i < GPA_STEPS; i++) {
+            double gpa = i / 100.0;
+            for (int band = 0; band < SEMESTER_BANDS; band++) {
+                ACADEMIC_STATUS_TABLE[band * GPA_STEPS + i] = academicStatusRule(gpa, bandSemester[band]);
+            }
+            MAX_CREDITS_TABLE[i] = maxCreditsRule(gpa);
+        }
+    }
+
     /**
      * Menghitung IPK (Indeks Prestasi Kumulatif) mahasiswa
      * Formula: Total (Grade Point × SKS) / Total SKS
@@ -18,6 +45,27 @@ public class GradeCalculator {
      * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
      */
     public double calculateGPA(List<CourseGrade> grades) {
+        GpaCalculationEvent event = new GpaCalculationEvent();
+        event.begin();
+        String outcome = "SUCCESS";
+        double gpa = 0.0;
+        try {
+            gpa = computeGPA(grades);
+            return gpa;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setGradeCount(grades == null ? 0 : grades.size());
+                event.setGpa(gpa);
+                event.setOutcome(outcome);
+                event.commit();
+            }
+        }
+    }
+
+    private double computeGPA(List<CourseGrade> grades) {
         if (grades == null || grades.isEmpty()) {
             return 0.0;
         }
@@ -62,22 +110,7 @@ public class GradeCalculator {
             throw new IllegalArgumentException("Semester must be positive");
         }
 
-        // Semester 1-2: minimal IPK 2.0
-        if (semester <= 2) {
-            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
-        }
-
-        // Semester 3-4: minimal IPK 2.25
-        if (semester <= 4) {
-            if (gpa >= 2.25) return "ACTIVE";
-            if (gpa >= 2.0) return "PROBATION";
-            return "SUSPENDED";
-        }
-
-        // Semester 5+: minimal IPK 2.5
-        if (gpa >= 2.5) return "ACTIVE";
-        if (gpa >= 2.0) return "PROBATION";
-        return "SUSPENDED";
+        return ACADEMIC_STATUS_TABLE[semesterBand(semester) * GPA_STEPS + gpaIndex(gpa)];
     }
 
     /**
@@ -99,6 +132,78 @@ public class GradeCalculator {
             throw new IllegalArgumentException("GPA must be between 0 and 4.0");
         }
 
+        return MAX_CREDITS_TABLE[gpaIndex(gpa)];
+    }
+
+    /**
+     * Mengkuantisasi IPK ke indeks langkah 0.01 (0 - 400)
+     * Indeks i mewakili rentang [i / 100.0, (i + 1) / 100.0), sehingga nilai
+     * tepat di bawah batas (misal 2.2499...) tetap jatuh ke langkah sebelumnya.
+     *
+     * @param gpa IPK mahasiswa (0.0 - 4.0, sudah divalidasi)
+     * @return Indeks IPK 0 - 400
+     */
+    static int gpaIndex(double gpa) {
+        int index = (int) (gpa * 100.0);
+        // Perkalian floating point bisa membulatkan melewati batas langkah
+        if (index > 0 && gpa < index / 100.0) {
+            index--;
+        } else if (index < GPA_STEPS - 1 && gpa >= (index + 1) / 100.0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Sama seperti gpaIndex, tetapi nilai di luar 0.0 - 4.0 dipotong ke batasnya
+     * Dipakai oleh analitik yang menerima data mahasiswa tanpa validasi
+     *
+     * @param gpa IPK mahasiswa
+     * @return Indeks IPK 0 - 400
+     */
+    static int clampedGpaIndex(double gpa) {
+        if (!(gpa > 0)) {
+            return 0;
+        }
+        if (gpa >= 4.0) {
+            return GPA_STEPS - 1;
+        }
+        return gpaIndex(gpa);
+    }
+
+    /**
+     * Memetakan semester ke pita aturan: 1-2 → 0, 3-4 → 1, 5+ → 2
+     */
+    private static int semesterBand(int semester) {
+        return semester > 4 ? 2 : (semester - 1) >> 1;
+    }
+
+    /**
+     * Aturan status akademik dalam bentuk bercabang, dipakai untuk mengisi tabel
+     */
+    private static String academicStatusRule(double gpa, int semester) {
+        // Semester 1-2: minimal IPK 2.0
+        if (semester <= 2) {
+            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+        }
+
+        // Semester 3-4: minimal IPK 2.25
+        if (semester <= 4) {
+            if (gpa >= 2.25) return "ACTIVE";
+            if (gpa >= 2.0) return "PROBATION";
+            return "SUSPENDED";
+        }
+
+        // Semester 5+: minimal IPK 2.5
+        if (gpa >= 2.5) return "ACTIVE";
+        if (gpa >= 2.0) return "PROBATION";
+        return "SUSPENDED";
+    }
+
+    /**
+     * Aturan SKS maksimal dalam bentuk bercabang, dipakai untuk mengisi tabel
+     */
+    private static int maxCreditsRule(double gpa) {
         if (gpa >= 3.0) return 24;
         if (gpa >= 2.5) return 21;
         if (gpa >= 2.0) return 18;
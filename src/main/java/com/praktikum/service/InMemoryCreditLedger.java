@@ -0,0 +1,72 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.CreditLimitExceededException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CreditLedger di memori, default EnrollmentService
+ * Setiap perubahan adalah satu compare-and-set pada beban mahasiswa.
+ */
+public class InMemoryCreditLedger implements CreditLedger {
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+    @Override
+    public int adjust(String studentId, int releasedCredits, int reservedCredits, int maxCredits) {
+        // Melepas saja tidak perlu membuat entry baru
+        AtomicInteger load = reservedCredits == 0
+                ? loads.get(studentId)
+                : loads.computeIfAbsent(studentId, id -> new AtomicInteger());
+        if (load == null) {
+            return 0;
+        }
+        int current;
+        int next;
+        do {
+            current = load.get();
+            next = Math.max(0, current - releasedCredits) + reservedCredits;
+            if (next > maxCredits) {
+                throw new CreditLimitExceededException("Credit limit exceeded: "
+                        + next + " of " + maxCredits);
+            }
+        } while (!load.compareAndSet(current, next));
+        return next;
+    }
+
+    @Override
+    public int get(String studentId) {
+        AtomicInteger load = loads.get(studentId);
+        return load == null ? 0 : load.get();
+    }
+
+    @Override
+    public void set(String studentId, int credits) {
+        loads.computeIfAbsent(studentId, id -> new AtomicInteger()).set(credits);
+    }
+
+    /**
+     * @return true jika beban mahasiswa pernah tercatat di ledger ini
+     */
+    public boolean contains(String studentId) {
+        return loads.containsKey(studentId);
+    }
+
+    /**
+     * Menghapus beban mahasiswa dari ledger ini, misal saat dipindah ke ledger lain
+     * @return Beban yang dihapus, 0 jika tidak ada
+     */
+    public int remove(String studentId) {
+        AtomicInteger load = loads.remove(studentId);
+        return load == null ? 0 : load.get();
+    }
+
+    /**
+     * ID mahasiswa yang bebannya tercatat di ledger ini
+     */
+    public Set<String> studentIds() {
+        return new HashSet<>(loads.keySet());
+    }
+}
@@ -1,5 +1,7 @@
 package com.praktikum.service;
 
+import java.util.List;
+
 /**
  * Interface untuk service notifikasi
  * Interface ini akan di-mock dalam unit testing
@@ -13,6 +15,20 @@ public interface NotificationService {
      */
     void sendEmail(String email, String subject, String message);
 
+    /**
+     * Mengirim email yang sama ke banyak mahasiswa
+     * Implementasi default mengirim satu per satu; implementasi yang mendukung
+     * pengiriman batch sebaiknya meng-override method ini
+     * @param emails Daftar alamat email tujuan
+     * @param subject Subject email
+     * @param message Isi pesan email
+     */
+    default void sendBulkEmail(List<String> emails, String subject, String message) {
+        for (String email : emails) {
+            sendEmail(email, subject, message);
+        }
+    }
+
     /**
      * Mengirim SMS ke mahasiswa
      * @param phone Nomor telepon tujuan
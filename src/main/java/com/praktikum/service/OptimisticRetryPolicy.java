@@ -0,0 +1,71 @@
+package com.praktikum.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Aturan pengulangan update optimistik mata kuliah
+ * Setelah konflik ke-n, thread menunggu waktu acak antara 0 dan
+ * min(maxBackoff, baseBackoff * 2^(n-1)) (exponential backoff dengan full jitter),
+ * sehingga penulis yang bentrok tidak mencoba ulang secara bersamaan.
+ */
+public class OptimisticRetryPolicy {
+    static final long DEFAULT_BASE_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    static final long DEFAULT_MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    /**
+     * @param maxAttempts Jumlah maksimum percobaan update, termasuk yang pertama
+     * @throws IllegalArgumentException jika maxAttempts kurang dari 1
+     */
+    public OptimisticRetryPolicy(int maxAttempts) {
+        this(maxAttempts, DEFAULT_BASE_BACKOFF_NANOS, DEFAULT_MAX_BACKOFF_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param maxAttempts Jumlah maksimum percobaan update, termasuk yang pertama
+     * @param baseBackoff Batas atas jeda setelah konflik pertama
+     * @param maxBackoff Batas atas jeda untuk konflik berikutnya
+     * @param unit Satuan waktu baseBackoff dan maxBackoff
+     * @throws IllegalArgumentException jika maxAttempts kurang dari 1 atau jeda negatif
+     */
+    public OptimisticRetryPolicy(int maxAttempts, long baseBackoff, long maxBackoff, TimeUnit unit) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (baseBackoff < 0 || maxBackoff < baseBackoff) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= base <= max");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = unit.toNanos(baseBackoff);
+        this.maxBackoffNanos = unit.toNanos(maxBackoff);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Batas atas jeda setelah konflik ke-attempt
+     */
+    long backoffCeilingNanos(int attempt) {
+        int shift = Math.min(attempt - 1, 30);
+        long ceiling = baseBackoffNanos << shift;
+        return ceiling < 0 || ceiling > maxBackoffNanos ? maxBackoffNanos : ceiling;
+    }
+
+    /**
+     * Menunggu sebelum percobaan berikutnya
+     * @param attempt Nomor percobaan yang baru saja gagal (mulai dari 1)
+     */
+    void backoff(int attempt) {
+        long ceiling = backoffCeilingNanos(attempt);
+        if (ceiling > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+}
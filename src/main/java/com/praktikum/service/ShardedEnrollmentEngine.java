@@ -0,0 +1,253 @@
+package com.praktikum.service;
+
+import com.praktikum.metrics.EnrollmentMetrics;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mode eksekusi enrollment single-writer yang dipartisi per mata kuliah
+ * Kode mata kuliah di-hash ke salah satu dari N shard. Setiap shard dimiliki
+ * satu thread yang menjalankan semua mutasi enroll/drop untuk mata kuliahnya
+ * secara berurutan, sehingga baca-ubah-tulis Course tidak butuh lock.
+ * Pemeriksaan sisi mahasiswa dijalankan di thread pemanggil sebelum perintah
+ * dikirim ke shard. Selama engine dipakai, semua mutasi mata kuliah harus
+ * lewat engine ini, bukan langsung lewat EnrollmentService.
+ */
+public class ShardedEnrollmentEngine implements AutoCloseable {
+    private final EnrollmentService enrollmentService;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    private enum CommandType {
+        ENROLL, DROP
+    }
+
+    private static final class Command {
+        private final CommandType type;
+        private final Student student;
+        private final String courseCode;
+        private final long submittedNanos;
+        // Hanya salah satu yang terisi, sesuai tipe perintah
+        private final CompletableFuture<Enrollment> enrolled;
+        private final CompletableFuture<Void> dropped;
+
+        Command(CommandType type, Student student, String courseCode, long submittedNanos) {
+            this.type = type;
+            this.student = student;
+            this.courseCode = courseCode;
+            this.submittedNanos = submittedNanos;
+            this.enrolled = type == CommandType.ENROLL ? new CompletableFuture<>() : null;
+            this.dropped = type == CommandType.DROP ? new CompletableFuture<>() : null;
+        }
+
+        void fail(Throwable error) {
+            if (type == CommandType.ENROLL) {
+                enrolled.completeExceptionally(error);
+            } else {
+                dropped.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Satu partisi: antrean lock-free banyak produsen, satu konsumen
+     */
+    private final class Shard implements Runnable {
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean idle = new AtomicBoolean();
+        private final Thread thread;
+
+        Shard(int index) {
+            thread = new Thread(this, "enrollment-shard-" + index);
+            thread.setDaemon(true);
+        }
+
+        void submit(Command command) {
+            queue.offer(command);
+            if (idle.get()) {
+                LockSupport.unpark(thread);
+            }
+            // Engine ditutup bersamaan; tarik kembali perintah jika belum diambil shard
+            if (!running && queue.remove(command)) {
+                command.fail(new IllegalStateException("Enrollment engine is closed"));
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Command command = queue.poll();
+                if (command != null) {
+                    execute(command);
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                // Tandai idle dulu, lalu cek ulang agar tidak melewatkan perintah yang baru masuk
+                idle.set(true);
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                idle.set(false);
+            }
+        }
+    }
+
+    /**
+     * @param enrollmentService Service yang menyediakan tahap-tahap enrollment
+     * @param shardCount Jumlah shard (thread penulis)
+     * @throws IllegalArgumentException jika shardCount tidak positif
+     */
+    public ShardedEnrollmentEngine(EnrollmentService enrollmentService, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.enrollmentService = enrollmentService;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Mengirim perintah enroll ke shard pemilik mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future berisi Enrollment, atau gagal dengan exception yang sama seperti enrollCourse
+     * @throws IllegalStateException jika engine sudah ditutup
+     */
+    public CompletableFuture<Enrollment> submitEnroll(String studentId, String courseCode) {
+        ensureRunning();
+        long start = System.nanoTime();
+        Student student;
+        try {
+            student = enrollmentService.findEnrollableStudent(studentId);
+        } catch (RuntimeException e) {
+            return rejected(CommandType.ENROLL, e, start);
+        }
+        Command command = new Command(CommandType.ENROLL, student, courseCode, start);
+        shards[shardFor(courseCode)].submit(command);
+        return command.enrolled;
+    }
+
+    /**
+     * Mengirim perintah drop ke shard pemilik mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future yang selesai saat drop diterapkan, atau gagal seperti dropCourse
+     * @throws IllegalStateException jika engine sudah ditutup
+     */
+    public CompletableFuture<Void> submitDrop(String studentId, String courseCode) {
+        ensureRunning();
+        long start = System.nanoTime();
+        Student student;
+        try {
+            student = enrollmentService.findStudent(studentId);
+        } catch (RuntimeException e) {
+            return rejected(CommandType.DROP, e, start);
+        }
+        Command command = new Command(CommandType.DROP, student, courseCode, start);
+        shards[shardFor(courseCode)].submit(command);
+        return command.dropped;
+    }
+
+    /**
+     * Indeks shard pemilik sebuah mata kuliah
+     */
+    public int shardFor(String courseCode) {
+        int h = courseCode.hashCode();
+        h ^= h >>> 16;
+        return Math.floorMod(h * 0x9E3779B9, shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Jumlah perintah yang sedang menunggu di setiap shard
+     */
+    public int[] queueDepths() {
+        int[] depths = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            depths[i] = shards[i].queue.size();
+        }
+        return depths;
+    }
+
+    /**
+     * Berhenti menerima perintah, menyelesaikan yang sudah antre, lalu menghentikan thread shard
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Perintah yang masuk tepat saat penutupan tidak akan dijalankan lagi
+            Command command;
+            while ((command = shard.queue.poll()) != null) {
+                command.fail(new IllegalStateException("Enrollment engine is closed"));
+            }
+        }
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            throw new IllegalStateException("Enrollment engine is closed");
+        }
+    }
+
+    /**
+     * Pemeriksaan sisi mahasiswa gagal; perintah tidak pernah dikirim ke shard
+     */
+    private <T> CompletableFuture<T> rejected(CommandType type, RuntimeException error, long start) {
+        enrollmentService.getMetrics().recordRejection(operation(type), error, System.nanoTime() - start);
+        return CompletableFuture.failedFuture(error);
+    }
+
+    /**
+     * Dijalankan di thread shard; satu-satunya tempat Course milik shard ini diubah
+     * Semua kegagalan, termasuk Error, diteruskan ke future perintah.
+     */
+    private void execute(Command command) {
+        EnrollmentMetrics metrics = enrollmentService.getMetrics();
+        try {
+            if (command.type == CommandType.ENROLL) {
+                Enrollment enrollment = enrollmentService.enrollStudent(command.student, command.courseCode, 0);
+                metrics.recordSuccess(EnrollmentMetrics.Operation.ENROLL, System.nanoTime() - command.submittedNanos);
+                command.enrolled.complete(enrollment);
+            } else {
+                enrollmentService.dropStudent(command.student, command.courseCode, 0);
+                metrics.recordSuccess(EnrollmentMetrics.Operation.DROP, System.nanoTime() - command.submittedNanos);
+                command.dropped.complete(null);
+            }
+        } catch (Throwable e) {
+            // Errors too: the shard thread must survive, or every queued command would hang
+            metrics.recordRejection(operation(command.type), e, System.nanoTime() - command.submittedNanos);
+            command.fail(e);
+        }
+    }
+
+    private static EnrollmentMetrics.Operation operation(CommandType type) {
+        return type == CommandType.ENROLL ? EnrollmentMetrics.Operation.ENROLL : EnrollmentMetrics.Operation.DROP;
+    }
+}
@@ -0,0 +1,199 @@
+package com.praktikum.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Enrollment aktif setiap mahasiswa sebagai bitset atas ID mata kuliah yang rapat
+ * Kode mata kuliah dipetakan ke ID int berurutan saat pertama kali dipakai.
+ * Bitset per mahasiswa terdiri dari halaman AtomicLongArray yang dialokasikan
+ * sesuai kebutuhan, sehingga mahasiswa dengan sedikit mata kuliah hanya
+ * memakai satu halaman. Set dan clear bit memakai operasi atomik tanpa lock,
+ * jadi dua permintaan bersamaan untuk pasangan yang sama hanya satu yang menang.
+ */
+public class StudentCourseBitsets {
+    // 16 long per halaman = 1024 mata kuliah
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_WORDS = (1 << PAGE_SHIFT) / Long.SIZE;
+
+    private final Map<String, Integer> courseIds = new ConcurrentHashMap<>();
+    private final List<String> courseCodes = new CopyOnWriteArrayList<>();
+    private final Map<String, CourseBitset> students = new ConcurrentHashMap<>();
+
+    /**
+     * Bitset halaman-per-halaman milik satu mahasiswa
+     * Baca halaman tanpa lock; daftar halaman hanya diganti (copy-on-write)
+     * di bawah lock saat halaman baru dibutuhkan.
+     */
+    private static final class CourseBitset {
+        private volatile AtomicLongArray[] pages = new AtomicLongArray[1];
+
+        AtomicLongArray page(int index) {
+            AtomicLongArray[] current = pages;
+            return index < current.length ? current[index] : null;
+        }
+
+        AtomicLongArray pageForWrite(int index) {
+            AtomicLongArray page = page(index);
+            if (page != null) {
+                return page;
+            }
+            synchronized (this) {
+                AtomicLongArray[] current = pages;
+                if (index < current.length && current[index] != null) {
+                    return current[index];
+                }
+                AtomicLongArray[] grown = new AtomicLongArray[Math.max(current.length, index + 1)];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                grown[index] = new AtomicLongArray(PAGE_WORDS);
+                pages = grown;
+                return grown[index];
+            }
+        }
+    }
+
+    /**
+     * Menandai mahasiswa terdaftar di mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika bit baru diset, false jika mahasiswa sudah terdaftar
+     */
+    public boolean add(String studentId, String courseCode) {
+        int id = internCourse(courseCode);
+        CourseBitset bitset = students.computeIfAbsent(studentId, key -> new CourseBitset());
+        AtomicLongArray page = bitset.pageForWrite(id >>> PAGE_SHIFT);
+        int word = wordIndex(id);
+        long mask = 1L << id;
+        long previous;
+        do {
+            previous = page.get(word);
+            if ((previous & mask) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, previous, previous | mask));
+        return true;
+    }
+
+    /**
+     * Menghapus tanda mahasiswa terdaftar di mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika bit dihapus, false jika mahasiswa memang tidak terdaftar
+     */
+    public boolean remove(String studentId, String courseCode) {
+        AtomicLongArray page = pageOf(studentId, courseCode);
+        if (page == null) {
+            return false;
+        }
+        int id = courseIds.get(courseCode);
+        int word = wordIndex(id);
+        long mask = 1L << id;
+        long previous;
+        do {
+            previous = page.get(word);
+            if ((previous & mask) == 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, previous, previous & ~mask));
+        return true;
+    }
+
+    /**
+     * Mengecek apakah mahasiswa terdaftar di mata kuliah
+     */
+    public boolean contains(String studentId, String courseCode) {
+        AtomicLongArray page = pageOf(studentId, courseCode);
+        if (page == null) {
+            return false;
+        }
+        int id = courseIds.get(courseCode);
+        return (page.get(wordIndex(id)) & (1L << id)) != 0;
+    }
+
+    /**
+     * Jumlah mata kuliah aktif seorang mahasiswa
+     */
+    public int countCourses(String studentId) {
+        CourseBitset bitset = students.get(studentId);
+        if (bitset == null) {
+            return 0;
+        }
+        int count = 0;
+        for (AtomicLongArray page : bitset.pages) {
+            if (page != null) {
+                for (int w = 0; w < PAGE_WORDS; w++) {
+                    count += Long.bitCount(page.get(w));
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Kode mata kuliah aktif seorang mahasiswa, urut berdasarkan ID internal
+     */
+    public List<String> coursesOf(String studentId) {
+        List<String> result = new ArrayList<>();
+        CourseBitset bitset = students.get(studentId);
+        if (bitset == null) {
+            return result;
+        }
+        AtomicLongArray[] pages = bitset.pages;
+        for (int p = 0; p < pages.length; p++) {
+            if (pages[p] == null) {
+                continue;
+            }
+            for (int w = 0; w < PAGE_WORDS; w++) {
+                long word = pages[p].get(w);
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    result.add(courseCodes.get((p << PAGE_SHIFT) + w * Long.SIZE + bit));
+                    word &= word - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Jumlah mata kuliah yang sudah mendapat ID internal
+     */
+    public int getCourseCount() {
+        return courseCodes.size();
+    }
+
+    private AtomicLongArray pageOf(String studentId, String courseCode) {
+        Integer id = courseIds.get(courseCode);
+        CourseBitset bitset = students.get(studentId);
+        if (id == null || bitset == null) {
+            return null;
+        }
+        return bitset.page(id >>> PAGE_SHIFT);
+    }
+
+    private int internCourse(String courseCode) {
+        Integer id = courseIds.get(courseCode);
+        if (id != null) {
+            return id;
+        }
+        synchronized (courseCodes) {
+            id = courseIds.get(courseCode);
+            if (id == null) {
+                id = courseCodes.size();
+                courseCodes.add(courseCode);
+                courseIds.put(courseCode, id);
+            }
+            return id;
+        }
+    }
+
+    private static int wordIndex(int id) {
+        return (id >>> 6) & (PAGE_WORDS - 1);
+    }
+}
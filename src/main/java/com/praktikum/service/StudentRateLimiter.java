@@ -0,0 +1,111 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.RateLimitExceededException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pembatas laju per mahasiswa dengan token bucket
+ * Setiap bucket disimpan sebagai satu long berisi "waktu kedatangan teoretis"
+ * (algoritma GCRA), yang setara dengan token bucket berisi burst token dan
+ * diisi ulang rate token per detik. Pengisian dihitung saat permintaan datang,
+ * tanpa thread latar belakang. Bucket yang sudah penuh kembali dan tidak
+ * dipakai selama idle timeout dibuang secara berkala.
+ */
+public class StudentRateLimiter {
+    static final long DEFAULT_IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    /**
+     * @param permitsPerSecond Laju rata-rata permintaan per mahasiswa
+     * @param burst Jumlah permintaan yang boleh datang sekaligus
+     * @throws IllegalArgumentException jika rate atau burst tidak positif
+     */
+    public StudentRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, DEFAULT_IDLE_TIMEOUT_NANOS, System::nanoTime);
+    }
+
+    StudentRateLimiter(double permitsPerSecond, int burst, long idleTimeoutNanos, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstWindowNanos = emissionIntervalNanos * burst;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Mengambil satu token untuk mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @return true jika permintaan diizinkan, false jika melebihi batas
+     */
+    public boolean tryAcquire(String studentId) {
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+
+        AtomicLong bucket = buckets.get(studentId);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(studentId, id -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            if (next - now > burstWindowNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seperti tryAcquire, tetapi melempar exception jika ditolak
+     *
+     * @param studentId ID mahasiswa
+     * @throws RateLimitExceededException jika melebihi batas laju
+     */
+    public void acquire(String studentId) {
+        if (!tryAcquire(studentId)) {
+            throw new RateLimitExceededException("Rate limit exceeded for student: " + studentId);
+        }
+    }
+
+    /**
+     * Jumlah bucket yang sedang disimpan
+     */
+    public int trackedStudents() {
+        return buckets.size();
+    }
+
+    /**
+     * Membuang bucket yang sudah penuh kembali dan tidak dipakai selama idle timeout
+     * @return Jumlah bucket yang dibuang
+     */
+    public int evictIdle() {
+        long cutoff = clock.getAsLong() - idleTimeoutNanos;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - cutoff <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= idleTimeoutNanos && lastSweep.compareAndSet(last, now)) {
+            evictIdle();
+        }
+    }
+}
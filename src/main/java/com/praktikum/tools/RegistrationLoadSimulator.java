@@ -0,0 +1,402 @@
+package com.praktikum.tools;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import com.praktikum.service.OptimisticRetryPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulator beban hari registrasi
+ * Membuat N mahasiswa dan M mata kuliah (kapasitas dan graf prasyarat acak),
+ * lalu menjalankan enrollCourse/dropCourse secara paralel dengan popularitas
+ * mata kuliah berdistribusi Zipf. Setelah selesai, simulator memverifikasi:
+ * - tidak ada mata kuliah yang melebihi kapasitas
+ * - enrolledCount = awal + enrollment sukses - drop
+ * - tidak ada enrollment ID ganda
+ * dan melaporkan throughput serta persentil latency.
+ *
+ * Pemakaian: java com.praktikum.tools.RegistrationLoadSimulator
+ *            [--students=N] [--courses=M] [--threads=T] [--operations=OPS_PER_THREAD]
+ *            [--dropRatio=0.2] [--skew=1.0] [--seed=42] [--optimistic=false]
+ */
+public class RegistrationLoadSimulator {
+    private static final int OPTIMISTIC_MAX_ATTEMPTS = 100;
+
+    private int students = 10_000;
+    private int courses = 500;
+    private int threads = 8;
+    private int operationsPerThread = 50_000;
+    private double dropRatio = 0.2;
+    private double skew = 1.0;
+    private long seed = 42;
+    private boolean optimistic;
+
+    private String[] studentIds;
+    private String[] courseCodes;
+    private int[] initialEnrolled;
+    private InMemoryCourseRepository courseRepository;
+    private EnrollmentService enrollmentService;
+
+    /**
+     * Hasil simulasi: counter, latency, dan pelanggaran invariant
+     */
+    public static class SimulationReport {
+        private long operations;
+        private long successfulEnrollments;
+        private long successfulDrops;
+        private long elapsedNanos;
+        private long[] latencyNanos;
+        private final Map<String, Long> rejections = new TreeMap<>();
+        private final List<String> violations = new ArrayList<>();
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public long getSuccessfulEnrollments() {
+            return successfulEnrollments;
+        }
+
+        public long getSuccessfulDrops() {
+            return successfulDrops;
+        }
+
+        public Map<String, Long> getRejections() {
+            return rejections;
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        public boolean isConsistent() {
+            return violations.isEmpty();
+        }
+
+        /**
+         * Throughput dalam operasi per detik
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0.0 : operations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * Latency pada persentil tertentu dalam mikrodetik
+         * @param percentile Persentil (0 - 100)
+         */
+        public double latencyMicros(double percentile) {
+            if (latencyNanos.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latencyNanos.length);
+            int index = Math.min(latencyNanos.length - 1, Math.max(0, rank - 1));
+            return latencyNanos[index] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("Operations        : %,d%n", operations));
+            report.append(String.format("Throughput        : %,.0f ops/s%n", getThroughput()));
+            report.append(String.format("Enrollments / drops: %,d / %,d%n", successfulEnrollments, successfulDrops));
+            report.append(String.format("Latency (us)      : p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                    latencyMicros(50), latencyMicros(90), latencyMicros(99), latencyMicros(99.9),
+                    latencyMicros(100)));
+            report.append("Rejections        : ").append(rejections).append(System.lineSeparator());
+            if (violations.isEmpty()) {
+                report.append("Invariants        : OK");
+            } else {
+                report.append("Invariants        : ").append(violations.size()).append(" VIOLATION(S)");
+                for (String violation : violations) {
+                    report.append(System.lineSeparator()).append("  - ").append(violation);
+                }
+            }
+            return report.toString();
+        }
+    }
+
+    /**
+     * NotificationService yang tidak mengirim apa pun, agar yang diukur hanya service
+     */
+    static class SilentNotificationService implements NotificationService {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        RegistrationLoadSimulator simulator = new RegistrationLoadSimulator();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            simulator.configure(pair[0], pair[1]);
+        }
+
+        SimulationReport report = simulator.run();
+        System.out.println(report);
+        if (!report.isConsistent()) {
+            System.exit(1);
+        }
+    }
+
+    private void configure(String name, String value) {
+        switch (name) {
+            case "students": setStudents(Integer.parseInt(value)); break;
+            case "courses": setCourses(Integer.parseInt(value)); break;
+            case "threads": setThreads(Integer.parseInt(value)); break;
+            case "operations": setOperationsPerThread(Integer.parseInt(value)); break;
+            case "dropRatio": setDropRatio(Double.parseDouble(value)); break;
+            case "skew": setSkew(Double.parseDouble(value)); break;
+            case "seed": setSeed(Long.parseLong(value)); break;
+            case "optimistic": setOptimistic(Boolean.parseBoolean(value)); break;
+            default: throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Menjalankan satu simulasi lengkap: setup data, beban paralel, verifikasi
+     * @return Laporan simulasi
+     */
+    public SimulationReport run() throws InterruptedException {
+        setUp();
+
+        AtomicIntegerArray enrolledPerCourse = new AtomicIntegerArray(courses);
+        AtomicIntegerArray droppedPerCourse = new AtomicIntegerArray(courses);
+        Set<String> enrollmentIds = ConcurrentHashMap.newKeySet();
+        LongAdder duplicateIds = new LongAdder();
+        Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+        long[][] latencies = new long[threads][];
+        ZipfSampler courseSampler = new ZipfSampler(courses, skew);
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    latencies[worker] = runWorker(worker, courseSampler, enrolledPerCourse,
+                            droppedPerCourse, enrollmentIds, duplicateIds, rejections);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "registration-load-" + t);
+            thread.start();
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startedAt;
+
+        SimulationReport report = new SimulationReport();
+        report.elapsedNanos = elapsed;
+        report.latencyNanos = merge(latencies);
+        report.operations = report.latencyNanos.length;
+        for (Map.Entry<String, LongAdder> entry : rejections.entrySet()) {
+            report.rejections.put(entry.getKey(), entry.getValue().sum());
+        }
+        verify(report, enrolledPerCourse, droppedPerCourse, duplicateIds.sum());
+        return report;
+    }
+
+    private void setUp() {
+        SplittableRandom random = new SplittableRandom(seed);
+        GradeCalculator gradeCalculator = new GradeCalculator();
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        // Mata kuliah dengan kapasitas realistis dan prasyarat ke mata kuliah sebelumnya,
+        // sehingga graf prasyarat selalu berupa DAG
+        courseCodes = new String[courses];
+        initialEnrolled = new int[courses];
+        Course[] catalog = new Course[courses];
+        for (int i = 0; i < courses; i++) {
+            courseCodes[i] = String.format("C%05d", i);
+            int capacity = 20 + random.nextInt(101);
+            // Sebagian kursi sudah terisi dari periode registrasi sebelumnya
+            initialEnrolled[i] = random.nextInt(capacity / 2);
+            catalog[i] = new Course(courseCodes[i], "Course " + i, 2 + random.nextInt(3),
+                    capacity, initialEnrolled[i], "Dr. " + random.nextInt(Math.max(1, courses / 4)));
+            int prerequisiteCount = i == 0 ? 0 : random.nextInt(3);
+            for (int p = 0; p < prerequisiteCount; p++) {
+                String prerequisite = courseCodes[random.nextInt(i)];
+                if (!catalog[i].getPrerequisites().contains(prerequisite)) {
+                    catalog[i].addPrerequisite(prerequisite);
+                }
+            }
+            courseRepository.update(catalog[i]);
+        }
+
+        studentIds = new String[students];
+        for (int i = 0; i < students; i++) {
+            studentIds[i] = String.format("S%07d", i);
+            int semester = 1 + random.nextInt(8);
+            double gpa = random.nextInt(401) / 100.0;
+            studentRepository.update(new Student(studentIds[i], "Student " + i,
+                    "student" + i + "@email.com", "Major " + (i % 20), semester, gpa,
+                    gradeCalculator.determineAcademicStatus(gpa, semester)));
+            // Mahasiswa semester lanjut sudah menyelesaikan sebagian mata kuliah
+            int completed = random.nextInt(1 + semester * 4);
+            for (int c = 0; c < completed; c++) {
+                studentRepository.addCompletedCourse(studentIds[i], catalog[random.nextInt(courses)]);
+            }
+        }
+
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                new SilentNotificationService(), gradeCalculator);
+        if (optimistic) {
+            enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(OPTIMISTIC_MAX_ATTEMPTS));
+        }
+    }
+
+    /**
+     * Satu worker hanya melayani mahasiswa dengan indeks i % threads == worker,
+     * sehingga daftar mata kuliah aktif mahasiswa tidak perlu dikunci
+     */
+    private long[] runWorker(int worker, ZipfSampler courseSampler,
+                             AtomicIntegerArray enrolledPerCourse, AtomicIntegerArray droppedPerCourse,
+                             Set<String> enrollmentIds, LongAdder duplicateIds,
+                             Map<String, LongAdder> rejections) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + worker);
+        Map<Integer, List<Integer>> holdings = new HashMap<>();
+        int ownedStudents = (students - worker + threads - 1) / threads;
+        long[] latencies = new long[operationsPerThread];
+        int recorded = 0;
+
+        if (ownedStudents <= 0) {
+            return new long[0];
+        }
+
+        for (int op = 0; op < operationsPerThread; op++) {
+            int student = worker + random.nextInt(ownedStudents) * threads;
+            List<Integer> held = holdings.computeIfAbsent(student, key -> new ArrayList<>());
+            boolean drop = !held.isEmpty() && random.nextDouble() < dropRatio;
+            int course = drop ? held.get(random.nextInt(held.size())) : courseSampler.next(random);
+
+            long startedAt = System.nanoTime();
+            try {
+                if (drop) {
+                    enrollmentService.dropCourse(studentIds[student], courseCodes[course]);
+                    latencies[recorded++] = System.nanoTime() - startedAt;
+                    held.remove(Integer.valueOf(course));
+                    droppedPerCourse.incrementAndGet(course);
+                } else {
+                    Enrollment enrollment = enrollmentService.enrollCourse(studentIds[student], courseCodes[course]);
+                    latencies[recorded++] = System.nanoTime() - startedAt;
+                    held.add(course);
+                    enrolledPerCourse.incrementAndGet(course);
+                    if (!enrollmentIds.add(enrollment.getEnrollmentId())) {
+                        duplicateIds.increment();
+                    }
+                }
+            } catch (RuntimeException e) {
+                latencies[recorded++] = System.nanoTime() - startedAt;
+                rejections.computeIfAbsent(e.getClass().getSimpleName(), key -> new LongAdder()).increment();
+            }
+        }
+        return Arrays.copyOf(latencies, recorded);
+    }
+
+    private void verify(SimulationReport report, AtomicIntegerArray enrolledPerCourse,
+                        AtomicIntegerArray droppedPerCourse, long duplicateIds) {
+        for (int i = 0; i < courses; i++) {
+            Course course = courseRepository.findByCourseCode(courseCodes[i]);
+            int enrolled = enrolledPerCourse.get(i);
+            int dropped = droppedPerCourse.get(i);
+            report.successfulEnrollments += enrolled;
+            report.successfulDrops += dropped;
+
+            int expected = initialEnrolled[i] + enrolled - dropped;
+            if (course.getEnrolledCount() != expected) {
+                report.violations.add(String.format("%s enrolledCount=%d, expected %d (lost update)",
+                        course.getCourseCode(), course.getEnrolledCount(), expected));
+            }
+            if (course.getEnrolledCount() > course.getCapacity()) {
+                report.violations.add(String.format("%s over capacity: %d of %d",
+                        course.getCourseCode(), course.getEnrolledCount(), course.getCapacity()));
+            }
+        }
+        if (duplicateIds > 0) {
+            report.violations.add(duplicateIds + " duplicate enrollment ID(s)");
+        }
+    }
+
+    private static long[] merge(long[][] latencies) {
+        int total = 0;
+        for (long[] part : latencies) {
+            total += part == null ? 0 : part.length;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long[] part : latencies) {
+            if (part != null) {
+                System.arraycopy(part, 0, merged, offset, part.length);
+                offset += part.length;
+            }
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    // Setters untuk konfigurasi
+    public void setStudents(int students) {
+        this.students = students;
+    }
+
+    public void setCourses(int courses) {
+        this.courses = courses;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setOperationsPerThread(int operationsPerThread) {
+        this.operationsPerThread = operationsPerThread;
+    }
+
+    public void setDropRatio(double dropRatio) {
+        this.dropRatio = dropRatio;
+    }
+
+    public void setSkew(double skew) {
+        this.skew = skew;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Menjalankan enrollCourse/dropCourse dengan update mata kuliah optimistik
+     */
+    public void setOptimistic(boolean optimistic) {
+        this.optimistic = optimistic;
+    }
+}
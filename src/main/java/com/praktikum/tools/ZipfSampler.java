@@ -0,0 +1,55 @@
+package com.praktikum.tools;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler indeks 0..n-1 dengan distribusi Zipf
+ * Exponent 0 menghasilkan distribusi seragam, exponent mendekati 1
+ * membuat sebagian kecil mata kuliah menerima sebagian besar trafik.
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    /**
+     * @param size Jumlah item
+     * @param exponent Exponent Zipf (>= 0)
+     */
+    public ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+
+        cumulative = new double[size];
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    /**
+     * Mengambil satu indeks acak
+     * @param random Sumber angka acak milik thread pemanggil
+     * @return Indeks 0..size-1, indeks kecil lebih sering muncul
+     */
+    public int next(SplittableRandom random) {
+        double target = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,211 @@
+package com.praktikum.cluster;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.CreditLimitExceededException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ClusterNode Tests")
+class ClusterNodeTest {
+
+    private static final int COURSES = 30;
+
+    private InMemoryStudentRepository studentRepository;
+    private final List<ClusterNode> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        for (int i = 0; i < 20; i++) {
+            studentRepository.update(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ClusterNode::close);
+    }
+
+    private ClusterNode startNode(String nodeId) {
+        ClusterNode node = new ClusterNode(nodeId, studentRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        nodes.add(node);
+        node.start();
+        return node;
+    }
+
+    private List<ClusterNode> startCluster(int size) {
+        List<ClusterNode> cluster = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ClusterNode node = startNode("node-" + i);
+            if (i > 0) {
+                node.join(cluster.get(0).getAddress());
+            }
+            cluster.add(node);
+        }
+        for (int c = 0; c < COURSES; c++) {
+            cluster.get(0).addCourse(new Course("C" + c, "Course " + c, 3, 5, 0, "Dr. Node"));
+        }
+        return cluster;
+    }
+
+    private static int totalLocalCourses(List<ClusterNode> cluster) {
+        return cluster.stream().mapToInt(ClusterNode::getLocalCourseCount).sum();
+    }
+
+    @Test
+    @DisplayName("Courses should be stored only on their owner and every node should agree on ownership")
+    void testOwnershipAgreement() {
+        List<ClusterNode> cluster = startCluster(3);
+
+        assertEquals(COURSES, totalLocalCourses(cluster));
+        for (ClusterNode node : cluster) {
+            assertEquals(3, node.getMembers().size());
+            assertTrue(node.getLocalCourseCount() > 0, node.getNodeId() + " owns nothing");
+            for (int c = 0; c < COURSES; c++) {
+                assertEquals(cluster.get(0).ownerOf("C" + c), node.ownerOf("C" + c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Requests from any node should be forwarded to the owner, including exceptions")
+    void testForwarding() {
+        List<ClusterNode> cluster = startCluster(3);
+
+        for (int s = 0; s < 5; s++) {
+            Enrollment enrollment = cluster.get(s % 3).enrollCourse("S" + s, "C1");
+            assertEquals("C1", enrollment.getCourseCode());
+            assertEquals("S" + s, enrollment.getStudentId());
+        }
+
+        assertThrows(CourseFullException.class, () -> cluster.get(1).enrollCourse("S9", "C1"));
+        assertThrows(StudentNotFoundException.class, () -> cluster.get(2).enrollCourse("UNKNOWN", "C2"));
+        for (ClusterNode node : cluster) {
+            assertEquals(5, node.findCourse("C1").getEnrolledCount());
+        }
+
+        cluster.get(2).dropCourse("S0", "C1");
+        assertEquals(4, cluster.get(0).findCourse("C1").getEnrolledCount());
+        assertNull(cluster.get(1).findCourse("UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("Joining node should receive the seat state of the courses it now owns")
+    void testHandoffOnJoin() {
+        List<ClusterNode> cluster = startCluster(2);
+        for (int c = 0; c < COURSES; c++) {
+            cluster.get(c % 2).enrollCourse("S" + (c % 20), "C" + c);
+        }
+
+        ClusterNode joining = startNode("node-new");
+        joining.join(cluster.get(1).getAddress());
+        cluster.add(joining);
+
+        assertTrue(joining.getLocalCourseCount() > 0);
+        assertEquals(COURSES, totalLocalCourses(cluster));
+        for (int c = 0; c < COURSES; c++) {
+            assertEquals(1, joining.findCourse("C" + c).getEnrolledCount(), "C" + c);
+        }
+    }
+
+    @Test
+    @DisplayName("Leaving node should hand its courses to the remaining nodes")
+    void testHandoffOnLeave() {
+        List<ClusterNode> cluster = startCluster(3);
+        for (int c = 0; c < COURSES; c++) {
+            cluster.get(0).enrollCourse("S" + (c % 20), "C" + c);
+        }
+
+        ClusterNode leaving = cluster.remove(2);
+        leaving.leave();
+
+        assertEquals(COURSES, totalLocalCourses(cluster));
+        for (ClusterNode node : cluster) {
+            assertEquals(2, node.getMembers().size());
+        }
+        for (int c = 0; c < COURSES; c++) {
+            assertEquals(1, cluster.get(1).findCourse("C" + c).getEnrolledCount(), "C" + c);
+        }
+        assertThrows(IllegalStateException.class, () -> leaving.enrollCourse("S1", "C1"));
+    }
+
+    @Test
+    @DisplayName("Credit limit should hold across courses owned by different nodes")
+    void testCreditLimitAcrossNodes() {
+        ClusterNode first = startNode("node-0");
+        ClusterNode second = startNode("node-1");
+        second.join(first.getAddress());
+        // GPA 3.5 allows 24 credits; two 10-credit courses on one node, one on the other
+        List<String> onFirst = new ArrayList<>();
+        List<String> onSecond = new ArrayList<>();
+        for (int c = 0; onFirst.size() < 2 || onSecond.isEmpty(); c++) {
+            String code = "K" + c;
+            (first.ownerOf(code).equals("node-0") ? onFirst : onSecond).add(code);
+            first.addCourse(new Course(code, "Heavy " + c, 10, 5, 0, "Dr. Load"));
+        }
+
+        first.enrollCourse("S1", onFirst.get(0));
+        second.enrollCourse("S1", onSecond.get(0));
+        assertThrows(CreditLimitExceededException.class, () -> second.enrollCourse("S1", onFirst.get(1)));
+        assertThrows(CreditLimitExceededException.class, () -> first.enrollCourse("S1", onFirst.get(1)));
+
+        assertEquals(0, first.findCourse(onFirst.get(1)).getEnrolledCount());
+        assertEquals(20, first.getLocalService().getCurrentCredits("S1"));
+        assertEquals(20, second.getLocalService().getCurrentCredits("S1"));
+
+        // Dropping on one node frees credits for a course on the other
+        second.dropCourse("S1", onSecond.get(0));
+        first.enrollCourse("S1", onFirst.get(1));
+        assertEquals(20, second.getLocalService().getCurrentCredits("S1"));
+    }
+
+    @Test
+    @DisplayName("Handoff should move enrollment records and keep every student's credit load whole")
+    void testHandoffMovesEnrollmentsAndCredits() {
+        List<ClusterNode> cluster = startCluster(2);
+        for (int c = 0; c < COURSES; c++) {
+            cluster.get(c % 2).enrollCourse("S" + (c % 20), "C" + c);
+        }
+        assertThrows(EnrollmentException.class, () -> cluster.get(1).enrollCourse("S1", "C1"));
+
+        ClusterNode joining = startNode("node-new");
+        joining.join(cluster.get(1).getAddress());
+        cluster.add(joining);
+
+        for (int c = 0; c < COURSES; c++) {
+            String studentId = "S" + (c % 20);
+            String courseCode = "C" + c;
+            assertThrows(EnrollmentException.class, () -> joining.enrollCourse(studentId, courseCode), courseCode);
+            assertEquals(1, cluster.get(0).findCourse(courseCode).getEnrolledCount(), courseCode);
+        }
+        // Every node reports the full load: 3 credits for each enrolled course, wherever it lives
+        for (ClusterNode node : cluster) {
+            for (int s = 0; s < 20; s++) {
+                int enrolled = s + 20 < COURSES ? 2 : 1;
+                assertEquals(3 * enrolled, node.getLocalService().getCurrentCredits("S" + s),
+                        node.getNodeId() + "/S" + s);
+            }
+        }
+
+        joining.dropCourse("S0", "C0");
+        assertEquals(0, cluster.get(1).findCourse("C0").getEnrolledCount());
+    }
+}
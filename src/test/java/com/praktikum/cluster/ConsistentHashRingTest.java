@@ -0,0 +1,68 @@
+package com.praktikum.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsistentHashRing Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    @DisplayName("ownerOf should spread keys roughly evenly across nodes")
+    void testBalancedOwnership() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("A", "B", "C", "D"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("C" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / 4 * 0.7 && count < KEYS / 4 * 1.3, counts.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Adding a node should only move keys to the new node")
+    void testMinimalMovementOnJoin() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("A", "B", "C"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("A", "B", "C", "D"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String oldOwner = before.ownerOf("C" + i);
+            String newOwner = after.ownerOf("C" + i);
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("D", newOwner);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 4 * 0.7 && moved < KEYS / 4 * 1.3, "moved " + moved);
+    }
+
+    @Test
+    @DisplayName("Ownership should not depend on member order")
+    void testDeterministic() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of("A", "B", "C"), 16);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("C", "A", "B"), 16);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.ownerOf("K" + i), second.ownerOf("K" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Empty ring and invalid virtual node count should be rejected")
+    void testInvalidRing() {
+        assertThrows(IllegalStateException.class, () -> new ConsistentHashRing(List.of(), 8).ownerOf("CS101"));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("A"), 0));
+    }
+}
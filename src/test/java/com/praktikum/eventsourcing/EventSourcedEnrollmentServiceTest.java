@@ -0,0 +1,154 @@
+package com.praktikum.eventsourcing;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.CreditLimitExceededException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("EventSourcedEnrollmentService Tests")
+class EventSourcedEnrollmentServiceTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private EnrollmentEventLog log;
+    private CheckpointStore checkpointStore;
+    private EventSourcedEnrollmentService service;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        for (int i = 0; i < 20; i++) {
+            studentRepository.update(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 5, 0, "Dr. Smith"));
+        courseRepository.update(new Course("CS102", "Databases", 4, 40, 0, "Dr. Jones"));
+        log = new EnrollmentEventLog();
+        checkpointStore = new InMemoryCheckpointStore();
+        service = newService(4);
+    }
+
+    private EventSourcedEnrollmentService newService(int checkpointInterval) {
+        return new EventSourcedEnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator(), log, checkpointStore, checkpointInterval);
+    }
+
+    @Test
+    @DisplayName("Enroll should append an event and update every projection")
+    void testEnrollUpdatesProjections() {
+        Enrollment enrollment = service.enrollCourse("S1", "CS101");
+
+        assertEquals("ENR-0", enrollment.getEnrollmentId());
+        assertEquals(1, log.size());
+        assertEquals(EnrollmentEvent.Type.ENROLLED, log.get(0).getType());
+        assertEquals(1, service.getSeats().getSeatsTaken("CS101"));
+        assertEquals(Set.of("CS101"), service.getStudentEnrollments().getCourses("S1"));
+        assertEquals(3, service.getStudentEnrollments().getCredits("S1"));
+        assertEquals(Set.of("S1"), service.getRosters().getRoster("CS101"));
+        // Course di repository tidak diubah dalam mode event sourcing
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Drop should append a Dropped event and reverse the projections")
+    void testDrop() {
+        service.enrollCourse("S1", "CS101");
+
+        service.dropCourse("S1", "CS101");
+
+        assertEquals(EnrollmentEvent.Type.DROPPED, log.get(1).getType());
+        assertEquals(0, service.getSeats().getSeatsTaken("CS101"));
+        assertTrue(service.getStudentEnrollments().getCourses("S1").isEmpty());
+        assertEquals(0, service.getStudentEnrollments().getCredits("S1"));
+        assertTrue(service.getRosters().getRoster("CS101").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid commands should be rejected without appending events")
+    void testRejections() {
+        for (int i = 0; i < 5; i++) {
+            service.enrollCourse("S" + i, "CS101");
+        }
+
+        assertThrows(CourseFullException.class, () -> service.enrollCourse("S10", "CS101"));
+        assertThrows(EnrollmentException.class, () -> service.enrollCourse("S1", "CS101"));
+        assertThrows(EnrollmentException.class, () -> service.dropCourse("S10", "CS101"));
+        assertEquals(5, log.size());
+    }
+
+    @Test
+    @DisplayName("Credit limit should be checked against the student projection")
+    void testCreditLimit() {
+        studentRepository.update(new Student("LOW", "Low", "low@email.com",
+                "Computer Science", 3, 1.5, "ACTIVE"));
+        for (int i = 0; i < 3; i++) {
+            courseRepository.update(new Course("EL" + i, "Elective " + i, 4, 40, 0, "Dr. E"));
+            service.enrollCourse("LOW", "EL" + i);
+        }
+
+        assertThrows(CreditLimitExceededException.class, () -> service.enrollCourse("LOW", "CS102"));
+    }
+
+    @Test
+    @DisplayName("Restart should rebuild projections from checkpoint plus remaining log")
+    void testRecoveryFromCheckpoint() {
+        for (int i = 0; i < 10; i++) {
+            service.enrollCourse("S" + i, "CS102");
+        }
+        service.dropCourse("S3", "CS102");
+
+        // Checkpoint otomatis setiap 4 event: terakhir di posisi 7
+        assertEquals(7, checkpointStore.load(CourseSeatProjection.NAME).getPosition());
+
+        EventSourcedEnrollmentService restarted = newService(4);
+
+        assertEquals(9, restarted.getSeats().getSeatsTaken("CS102"));
+        assertFalse(restarted.getStudentEnrollments().isEnrolled("S3", "CS102"));
+        assertEquals(9, restarted.getRosters().getRoster("CS102").size());
+        assertEquals(10, restarted.getSeats().getPosition());
+    }
+
+    @Test
+    @DisplayName("Rebuild without checkpoints should replay the whole log in parallel")
+    void testParallelRebuildFromScratch() {
+        for (int i = 0; i < 10; i++) {
+            service.enrollCourse("S" + i, "CS102");
+        }
+        CourseSeatProjection seats = new CourseSeatProjection();
+        CourseRosterProjection rosters = new CourseRosterProjection();
+
+        long[] replayed = new ProjectionRebuilder(log, new InMemoryCheckpointStore())
+                .rebuild(List.of(seats, rosters));
+
+        assertArrayEquals(new long[] {10, 10}, replayed);
+        assertEquals(10, seats.getSeatsTaken("CS102"));
+        assertEquals(10, rosters.getRoster("CS102").size());
+    }
+
+    @Test
+    @DisplayName("Applying an already applied event should be ignored")
+    void testIdempotentApply() {
+        service.enrollCourse("S1", "CS101");
+        CourseSeatProjection seats = service.getSeats();
+
+        seats.apply(log.get(0));
+
+        assertEquals(1, seats.getSeatsTaken("CS101"));
+    }
+}
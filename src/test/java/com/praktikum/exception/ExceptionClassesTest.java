@@ -160,4 +160,73 @@ class ExceptionClassesTest {
             throw new StudentNotFoundException("S999 not found");
         });
     }
+
+    // ==================== CreditLimitExceededException Tests ====================
+
+    @Test
+    @DisplayName("CreditLimitExceededException - Should create with message")
+    void testCreditLimitExceededExceptionWithMessage() {
+        String message = "Credit limit exceeded";
+        CreditLimitExceededException exception = new CreditLimitExceededException(message);
+
+        assertEquals(message, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    @DisplayName("CreditLimitExceededException - Should create with message and cause")
+    void testCreditLimitExceededExceptionWithMessageAndCause() {
+        String message = "Credit limit exceeded";
+        Throwable cause = new RuntimeException("Original cause");
+        CreditLimitExceededException exception = new CreditLimitExceededException(message, cause);
+
+        assertEquals(message, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    // ==================== RateLimitExceededException Tests ====================
+
+    @Test
+    @DisplayName("RateLimitExceededException - Should create with message")
+    void testRateLimitExceededExceptionWithMessage() {
+        String message = "Rate limit exceeded";
+        RateLimitExceededException exception = new RateLimitExceededException(message);
+
+        assertEquals(message, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    @DisplayName("RateLimitExceededException - Should create with message and cause")
+    void testRateLimitExceededExceptionWithMessageAndCause() {
+        String message = "Rate limit exceeded";
+        Throwable cause = new RuntimeException("Original cause");
+        RateLimitExceededException exception = new RateLimitExceededException(message, cause);
+
+        assertEquals(message, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    // ==================== ServiceOverloadedException Tests ====================
+
+    @Test
+    @DisplayName("ServiceOverloadedException - Should create with message")
+    void testServiceOverloadedExceptionWithMessage() {
+        String message = "Service overloaded";
+        ServiceOverloadedException exception = new ServiceOverloadedException(message);
+
+        assertEquals(message, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    @DisplayName("ServiceOverloadedException - Should create with message and cause")
+    void testServiceOverloadedExceptionWithMessageAndCause() {
+        String message = "Service overloaded";
+        Throwable cause = new RuntimeException("Original cause");
+        ServiceOverloadedException exception = new ServiceOverloadedException(message, cause);
+
+        assertEquals(message, exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
 }
@@ -0,0 +1,115 @@
+package com.praktikum.metrics;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.StudentNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnrollmentMetrics Tests")
+class EnrollmentMetricsTest {
+
+    private EnrollmentMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new EnrollmentMetrics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 31, 32, 33, 1000, 123_456, 10_000_000_000L, Long.MAX_VALUE})
+    @DisplayName("Bucket midpoint should stay within ~3% of the recorded value")
+    void testBucketPrecision(long value) {
+        long midpoint = LatencyHistogram.bucketMidpoint(LatencyHistogram.bucketIndex(value));
+        assertEquals(value, midpoint, Math.max(1.0, value * 0.032));
+    }
+
+    @Test
+    @DisplayName("Histogram percentiles should follow recorded latencies")
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50.0, snapshot.percentileMicros(50), 50.0 * 0.03);
+        assertEquals(99.0, snapshot.percentileMicros(99), 99.0 * 0.03);
+        assertEquals(100.0, snapshot.getMaxMicros(), 0.001);
+        assertEquals(50.5, snapshot.getMeanMicros(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Empty histogram should report zero latency")
+    void testEmptyHistogram() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0.0, snapshot.percentileMicros(99));
+        assertEquals(0.0, snapshot.getMeanMicros());
+    }
+
+    @Test
+    @DisplayName("Percentile outside 0 - 100 should throw IllegalArgumentException")
+    void testInvalidPercentile() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentileMicros(101));
+    }
+
+    @Test
+    @DisplayName("Rejections should be counted per exception type")
+    void testRejectionCounts() {
+        metrics.recordSuccess(EnrollmentMetrics.Operation.ENROLL, 1_000);
+        metrics.recordRejection(EnrollmentMetrics.Operation.ENROLL, new CourseFullException("full"), 2_000);
+        metrics.recordRejection(EnrollmentMetrics.Operation.ENROLL, new CourseFullException("full"), 2_000);
+        metrics.recordRejection(EnrollmentMetrics.Operation.DROP, new StudentNotFoundException("none"), 500);
+
+        EnrollmentMetricsSnapshot snapshot = metrics.snapshot();
+
+        EnrollmentMetricsSnapshot.OperationSnapshot enroll = snapshot.get(EnrollmentMetrics.Operation.ENROLL);
+        assertEquals(1, enroll.getSuccessCount());
+        assertEquals(2, enroll.getRejectionCount(CourseFullException.class));
+        assertEquals(0, enroll.getRejectionCount(StudentNotFoundException.class));
+        assertEquals(3, enroll.getLatency().getCount());
+        assertEquals(1, snapshot.get(EnrollmentMetrics.Operation.DROP).getRejectionCount());
+        assertEquals(2L, metrics.getRejectionCounts().get("ENROLL:CourseFullException"));
+    }
+
+    @Test
+    @DisplayName("reset should clear counters and histograms")
+    void testReset() {
+        metrics.recordSuccess(EnrollmentMetrics.Operation.DROP, 1_000);
+        metrics.recordRejection(EnrollmentMetrics.Operation.DROP, new CourseFullException("full"), 1_000);
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getDropSuccessCount());
+        assertEquals(0, metrics.getDropRejectionCount());
+        assertEquals(0.0, metrics.getDropLatencyP99Micros());
+    }
+
+    @Test
+    @DisplayName("Metrics should be readable through the platform MBean server")
+    void testRegisterMBean() throws Exception {
+        metrics.recordSuccess(EnrollmentMetrics.Operation.ENROLL, 1_000);
+        ObjectName name = metrics.registerMBean("metrics-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "EnrollSuccessCount"));
+            assertThrows(IllegalStateException.class, () -> metrics.registerMBean("metrics-test"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.praktikum.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HeavyHitterTracker Tests")
+class HeavyHitterTrackerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong clock;
+    private HeavyHitterTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * SECOND);
+        // Jendela 60 detik, 6 sub-jendela masing-masing 10 detik
+        tracker = new HeavyHitterTracker(3, 1024, 60 * SECOND, 6, clock::get);
+    }
+
+    @Test
+    @DisplayName("topK should return the most frequent keys in order")
+    void testTopK() {
+        recordTimes("CS101", 500);
+        recordTimes("CS102", 300);
+        recordTimes("CS103", 200);
+        for (int i = 0; i < 1000; i++) {
+            tracker.record("RARE" + i);
+        }
+
+        List<HeavyHitterTracker.HeavyHitter> top = tracker.topK();
+
+        assertEquals(3, top.size());
+        assertEquals("CS101", top.get(0).getKey());
+        assertEquals("CS102", top.get(1).getKey());
+        assertEquals("CS103", top.get(2).getKey());
+        assertTrue(top.get(0).getCount() >= 500);
+        assertEquals(2000, tracker.totalCount());
+    }
+
+    @Test
+    @DisplayName("Estimate should never be below the true count")
+    void testEstimateUpperBound() {
+        recordTimes("CS101", 42);
+        for (int i = 0; i < 5000; i++) {
+            tracker.record("K" + i);
+        }
+
+        assertTrue(tracker.estimate("CS101") >= 42);
+        assertTrue(tracker.estimate("K1") >= 1);
+    }
+
+    @Test
+    @DisplayName("Old events should expire as the window slides")
+    void testSlidingWindow() {
+        recordTimes("OLD", 100);
+        clock.addAndGet(30 * SECOND);
+        recordTimes("NEW", 10);
+
+        assertEquals(100, tracker.estimate("OLD"));
+
+        clock.addAndGet(35 * SECOND);
+        recordTimes("NEW", 10);
+
+        assertEquals(0, tracker.estimate("OLD"));
+        assertEquals(20, tracker.estimate("NEW"));
+        assertEquals("NEW", tracker.topK().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("Rotation should keep heavy candidates but let new keys replace expired ones")
+    void testCandidatesAcrossRotation() {
+        recordTimes("CS101", 50);
+        recordTimes("CS102", 40);
+        recordTimes("CS103", 30);
+
+        clock.addAndGet(10 * SECOND);
+        for (int i = 0; i < 100; i++) {
+            tracker.record("RARE" + i);
+        }
+        assertEquals(List.of("CS101", "CS102", "CS103"),
+                tracker.topK().stream().map(HeavyHitterTracker.HeavyHitter::getKey).toList());
+
+        clock.addAndGet(60 * SECOND);
+        recordTimes("CS201", 5);
+        recordTimes("CS202", 4);
+        recordTimes("CS203", 3);
+        assertEquals(List.of("CS201", "CS202", "CS203"),
+                tracker.topK().stream().map(HeavyHitterTracker.HeavyHitter::getKey).toList());
+    }
+
+    @Test
+    @DisplayName("isHeavyHitter should compare the key share against a fraction")
+    void testIsHeavyHitter() {
+        recordTimes("HOT", 90);
+        recordTimes("COLD", 10);
+
+        assertTrue(tracker.isHeavyHitter("HOT", 0.5));
+        assertFalse(tracker.isHeavyHitter("COLD", 0.5));
+    }
+
+    @Test
+    @DisplayName("Invalid parameters should throw IllegalArgumentException")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HeavyHitterTracker(0, 60, TimeUnit.SECONDS, 6));
+    }
+
+    private void recordTimes(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(key);
+        }
+    }
+}
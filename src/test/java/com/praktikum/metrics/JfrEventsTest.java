@@ -0,0 +1,75 @@
+package com.praktikum.metrics;
+
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.CourseGrade;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("JFR Events Tests")
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Enabled events should be recorded with outcome and fields")
+    void testEventsRecorded() throws Exception {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        EnrollmentService service = new EnrollmentService(studentRepository,
+                new InMemoryCourseRepository(studentRepository), mock(NotificationService.class),
+                new GradeCalculator());
+        Path file = tempDir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.praktikum.EnrollmentAttempt");
+            recording.enable("com.praktikum.GpaCalculation");
+            recording.start();
+
+            assertThrows(StudentNotFoundException.class, () -> service.dropCourse("S404", "CS101"));
+            new GradeCalculator().calculateGPA(List.of(new CourseGrade("CS101", 3, 4.0)));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> attempts = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.praktikum.EnrollmentAttempt"))
+                .collect(Collectors.toList());
+        assertEquals(1, attempts.size());
+        assertEquals("DROP", attempts.get(0).getString("operation"));
+        assertEquals("S404", attempts.get(0).getString("studentId"));
+        assertEquals("StudentNotFoundException", attempts.get(0).getString("outcome"));
+
+        RecordedEvent gpa = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.praktikum.GpaCalculation"))
+                .findFirst().orElseThrow();
+        assertEquals(1, gpa.getInt("gradeCount"));
+        assertEquals(4.0, gpa.getDouble("gpa"));
+    }
+
+    @Test
+    @DisplayName("Events should not be committed when disabled")
+    void testDisabledEvent() {
+        EnrollmentAttemptEvent event = new EnrollmentAttemptEvent();
+        event.begin();
+
+        assertFalse(event.shouldCommit());
+    }
+}
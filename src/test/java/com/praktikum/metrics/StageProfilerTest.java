@@ -0,0 +1,59 @@
+package com.praktikum.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StageProfiler Tests")
+class StageProfilerTest {
+
+    @Test
+    @DisplayName("Sampled calls should record every marked stage")
+    void testMarkRecordsStages() {
+        StageProfiler profiler = new StageProfiler();
+        long t = profiler.start();
+        t = profiler.mark(EnrollmentMetrics.Operation.DROP, StageProfiler.Stage.FIND_STUDENT, t);
+        profiler.mark(EnrollmentMetrics.Operation.DROP, StageProfiler.Stage.FIND_COURSE, t);
+
+        Map<StageProfiler.Stage, LatencySnapshot> breakdown =
+                profiler.breakdown(EnrollmentMetrics.Operation.DROP);
+
+        assertEquals(2, breakdown.size());
+        assertEquals(1, breakdown.get(StageProfiler.Stage.FIND_STUDENT).getCount());
+        assertTrue(profiler.breakdown(EnrollmentMetrics.Operation.ENROLL).isEmpty());
+        assertTrue(profiler.report().contains("FIND_COURSE"));
+    }
+
+    @Test
+    @DisplayName("Unsampled calls should not record anything")
+    void testUnsampledCall() {
+        StageProfiler profiler = new StageProfiler();
+
+        long t = profiler.mark(EnrollmentMetrics.Operation.ENROLL, StageProfiler.Stage.FIND_STUDENT, 0);
+
+        assertEquals(0, t);
+        assertTrue(profiler.breakdown(EnrollmentMetrics.Operation.ENROLL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sample interval should grow when call rate exceeds the target")
+    void testAdaptiveInterval() throws InterruptedException {
+        StageProfiler profiler = new StageProfiler(1);
+        long deadline = System.nanoTime() + 300_000_000L;
+        while (System.nanoTime() < deadline) {
+            profiler.start();
+        }
+
+        assertTrue(profiler.getSampleInterval() > 1);
+        assertTrue(profiler.getSampleInterval() <= StageProfiler.MAX_SAMPLE_INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Non-positive sample target should throw IllegalArgumentException")
+    void testInvalidTarget() {
+        assertThrows(IllegalArgumentException.class, () -> new StageProfiler(0));
+    }
+}
@@ -183,6 +183,24 @@ class ModelClassesTest {
         assertTrue(course.getPrerequisites().contains("CS102"));
     }
 
+    @Test
+    @DisplayName("Course - Copy constructor should copy version and prerequisites independently")
+    void testCourseCopyConstructor() {
+        Course course = new Course("CS301", "Algorithms", 3, 40, 10, "Dr. Lee");
+        course.addPrerequisite("CS101");
+        course.setVersion(7);
+
+        Course copy = new Course(course);
+        copy.setEnrolledCount(11);
+        copy.addPrerequisite("CS201");
+
+        assertEquals(7, copy.getVersion());
+        assertEquals("Algorithms", copy.getCourseName());
+        assertEquals(10, course.getEnrolledCount());
+        assertEquals(1, course.getPrerequisites().size());
+        assertEquals(2, copy.getPrerequisites().size());
+    }
+
     // ==================== Enrollment Model Tests ====================
 
     @Test
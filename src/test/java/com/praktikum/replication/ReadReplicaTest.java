@@ -0,0 +1,184 @@
+package com.praktikum.replication;
+
+import com.praktikum.exception.StaleReplicaException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import com.praktikum.service.EnrollmentService;
+import com.praktikum.service.GradeCalculator;
+import com.praktikum.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Read Replica Tests")
+class ReadReplicaTest {
+
+    private InMemoryStudentRepository students;
+    private InMemoryCourseRepository courses;
+    private InMemoryEnrollmentRepository enrollments;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        students = new InMemoryStudentRepository();
+        courses = new InMemoryCourseRepository(students);
+        enrollments = new InMemoryEnrollmentRepository();
+        for (int i = 0; i < 10; i++) {
+            students.update(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        courses.update(new Course("CS101", "Programming", 3, 30, 0, "Dr. Smith"));
+        courses.update(new Course("CS102", "Data Structures", 3, 30, 0, "Dr. Jones"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    private ReplicationPrimary startPrimary(int logCapacity) {
+        ReplicationPrimary primary = new ReplicationPrimary(courses, students, enrollments, logCapacity);
+        resources.add(primary);
+        primary.start();
+        return primary;
+    }
+
+    private ReadReplica startReplica(ReplicationPrimary primary, long maxStalenessMillis) {
+        ReadReplica replica = new ReadReplica(primary.getAddress(), maxStalenessMillis, TimeUnit.MILLISECONDS);
+        resources.add(replica);
+        replica.start();
+        return replica;
+    }
+
+    private EnrollmentService serviceOn(ReplicationPrimary primary) {
+        EnrollmentService service = new EnrollmentService(primary.getStudentRepository(),
+                primary.getCourseRepository(), mock(NotificationService.class), new GradeCalculator());
+        service.setEnrollmentRepository(primary.getEnrollmentRepository());
+        return service;
+    }
+
+    private static void awaitCaughtUp(ReadReplica replica, ReplicationPrimary primary) throws InterruptedException {
+        assertTrue(replica.awaitSequence(primary.getHeadSequence(), 5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replica.getSnapshotCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Replica should serve the primary's existing data and then apply streamed changes in order")
+    void testStreamsChanges() throws InterruptedException {
+        ReplicationPrimary primary = startPrimary(ReplicationLog.DEFAULT_CAPACITY);
+        ReadReplica replica = startReplica(primary, 5_000);
+        EnrollmentService service = serviceOn(primary);
+
+        for (int i = 0; i < 5; i++) {
+            service.enrollCourse("S" + i, "CS101");
+        }
+        service.enrollCourse("S0", "CS102");
+        service.dropCourse("S1", "CS101");
+        awaitCaughtUp(replica, primary);
+
+        assertEquals(26, replica.getSeatsLeft("CS101"));
+        assertEquals(29, replica.getSeatsLeft("CS102"));
+        assertEquals(4, replica.findEnrollmentsByCourse("CS101").size());
+        assertEquals(List.of("CS101", "CS102"), replica.findEnrollmentsByStudent("S0").stream()
+                .map(Enrollment::getCourseCode).sorted().toList());
+        assertTrue(replica.findEnrollmentsByStudent("S1").isEmpty());
+        assertEquals("Student 3", replica.findStudent("S3").getName());
+        assertEquals(1, replica.getSnapshotCount());
+        assertEquals(0, replica.getLagEntries());
+        assertTrue(replica.isConnected());
+        assertEquals(1, primary.getFollowerCount());
+    }
+
+    @Test
+    @DisplayName("Replica should report no seats left for a cancelled course")
+    void testCancelledCourseHasNoSeats() throws InterruptedException {
+        ReplicationPrimary primary = startPrimary(ReplicationLog.DEFAULT_CAPACITY);
+        ReadReplica replica = startReplica(primary, 5_000);
+        EnrollmentService service = serviceOn(primary);
+        service.enrollCourse("S0", "CS102");
+        service.enrollCourse("S1", "CS102");
+
+        service.cancelCourse("CS102");
+        awaitCaughtUp(replica, primary);
+
+        assertEquals(0, replica.getSeatsLeft("CS102"));
+        assertTrue(replica.findCourse("CS102").isCancelled());
+        assertEquals(30, replica.getSeatsLeft("CS101"));
+    }
+
+    @Test
+    @DisplayName("Follower joining after the log wrapped should catch up from a snapshot")
+    void testSnapshotCatchUp() throws InterruptedException {
+        ReplicationPrimary primary = startPrimary(4);
+        EnrollmentService service = serviceOn(primary);
+        for (int i = 0; i < 10; i++) {
+            service.enrollCourse("S" + i, "CS102");
+        }
+
+        ReadReplica replica = startReplica(primary, 5_000);
+        awaitCaughtUp(replica, primary);
+        assertEquals(20, replica.getSeatsLeft("CS102"));
+        assertEquals(10, replica.findEnrollmentsByCourse("CS102").size());
+        assertEquals(1, replica.getSnapshotCount());
+
+        service.dropCourse("S9", "CS102");
+        awaitCaughtUp(replica, primary);
+        assertEquals(21, replica.getSeatsLeft("CS102"));
+        assertEquals(1, replica.getSnapshotCount());
+    }
+
+    @Test
+    @DisplayName("Log should report truncated ranges so a lagging follower falls back to a snapshot")
+    void testLogTruncation() {
+        ReplicationLog log = new ReplicationLog(4);
+        assertEquals(0, log.entriesAfter(0, 10).size());
+        for (int i = 0; i < 6; i++) {
+            log.onEnrollmentDeleted("S" + i, "CS101");
+        }
+
+        assertEquals(6, log.head());
+        assertNull(log.entriesAfter(1, 10));
+        assertEquals(4, log.entriesAfter(2, 10).size());
+        assertEquals(2, log.entriesAfter(2, 2).size());
+        assertNull(log.entriesAfter(7, 10));
+    }
+
+    @Test
+    @DisplayName("Reads should fail once the replica exceeds its staleness bound")
+    void testBoundedStaleness() throws InterruptedException {
+        ReplicationPrimary primary = startPrimary(ReplicationLog.DEFAULT_CAPACITY);
+        ReadReplica replica = new ReadReplica(primary.getAddress(), 300, TimeUnit.MILLISECONDS);
+        resources.add(replica);
+        assertThrows(StaleReplicaException.class, () -> replica.getSeatsLeft("CS101"));
+        assertEquals(Long.MAX_VALUE, replica.getStalenessMillis());
+
+        replica.start();
+        awaitCaughtUp(replica, primary);
+        assertEquals(30, replica.getSeatsLeft("CS101"));
+
+        primary.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replica.getStalenessMillis() <= 300 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThrows(StaleReplicaException.class, () -> replica.getSeatsLeft("CS101"));
+        assertThrows(StaleReplicaException.class, () -> replica.findEnrollmentsByStudent("S0"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CourseSearchIndex Tests")
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex searchIndex;
+    private ObservableCourseRepository courseRepository;
+
+    class CourseRepositoryStub implements CourseRepository {
+        private Map<String, Course> courses = new HashMap<>();
+
+        @Override
+        public Course findByCourseCode(String courseCode) {
+            return courses.get(courseCode);
+        }
+
+        @Override
+        public void update(Course course) {
+            courses.put(course.getCourseCode(), course);
+        }
+
+        @Override
+        public boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new CourseSearchIndex();
+        courseRepository = new ObservableCourseRepository(new CourseRepositoryStub());
+        courseRepository.addListener(searchIndex);
+
+        courseRepository.update(new Course("CS101", "Introduction to Programming", 3, 40, 10, "Dr. Smith"));
+        courseRepository.update(new Course("CS201", "Data Structures", 3, 40, 20, "Dr. Smith"));
+        courseRepository.update(new Course("CS301", "Database Systems", 4, 35, 30, "Dr. Lee"));
+        courseRepository.update(new Course("DS101", "Introduction to Data Science", 2, 30, 5, "Dr. Lee"));
+        courseRepository.update(new Course("NET401", "Advanced Networking", 4, 25, 20, "Dr. Gray"));
+    }
+
+    private static String[] codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("findByLecturer - Should find courses case-insensitively")
+    void testFindByLecturer() {
+        assertArrayEquals(new String[]{"CS101", "CS201"}, codes(searchIndex.findByLecturer("dr. smith")));
+        assertEquals(0, searchIndex.findByLecturer("Dr. Nobody").size());
+    }
+
+    @Test
+    @DisplayName("search - Should match name substring through the trigram index")
+    void testSearch_NameContains() {
+        CourseSearchCriteria criteria = new CourseSearchCriteria();
+        criteria.setNameContains("DATA");
+
+        assertArrayEquals(new String[]{"CS201", "CS301", "DS101"}, codes(searchIndex.search(criteria)));
+    }
+
+    @Test
+    @DisplayName("search - Should match short substrings and name prefix")
+    void testSearch_ShortSubstringAndPrefix() {
+        CourseSearchCriteria shortCriteria = new CourseSearchCriteria();
+        shortCriteria.setNameContains("ne");
+        assertArrayEquals(new String[]{"NET401"}, codes(searchIndex.search(shortCriteria)));
+
+        CourseSearchCriteria prefixCriteria = new CourseSearchCriteria();
+        prefixCriteria.setNamePrefix("intro");
+        assertArrayEquals(new String[]{"CS101", "DS101"}, codes(searchIndex.search(prefixCriteria)));
+    }
+
+    @Test
+    @DisplayName("search - Should combine lecturer, name and credit filters")
+    void testSearch_CombinedFilters() {
+        CourseSearchCriteria criteria = new CourseSearchCriteria();
+        criteria.setLecturer("Dr. Lee");
+        criteria.setNameContains("data");
+        criteria.setCredits(4);
+
+        assertArrayEquals(new String[]{"CS301"}, codes(searchIndex.search(criteria)));
+
+        CourseSearchCriteria range = new CourseSearchCriteria();
+        range.setMinCredits(3);
+        range.setMaxCredits(4);
+        range.setNamePrefix("d");
+        assertArrayEquals(new String[]{"CS201", "CS301"}, codes(searchIndex.search(range)));
+    }
+
+    @Test
+    @DisplayName("search - Should return every course when no criteria is set")
+    void testSearch_NoCriteria() {
+        assertEquals(5, searchIndex.search(new CourseSearchCriteria()).size());
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should re-index lecturer, name and credits on update")
+    void testOnCourseUpdated_Reindex() {
+        courseRepository.update(new Course("CS201", "Algorithms", 4, 40, 20, "Dr. Brown"));
+
+        assertArrayEquals(new String[]{"CS101"}, codes(searchIndex.findByLecturer("Dr. Smith")));
+        assertArrayEquals(new String[]{"CS201"}, codes(searchIndex.findByLecturer("Dr. Brown")));
+
+        CourseSearchCriteria oldName = new CourseSearchCriteria();
+        oldName.setNameContains("structures");
+        assertEquals(0, searchIndex.search(oldName).size());
+
+        CourseSearchCriteria credits = new CourseSearchCriteria();
+        credits.setCredits(4);
+        assertArrayEquals(new String[]{"CS201", "CS301", "NET401"}, codes(searchIndex.search(credits)));
+        assertEquals(5, searchIndex.size());
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should ignore a copy older than the indexed version")
+    void testOnCourseUpdated_IgnoresOlderVersion() {
+        Course newer = new Course("CS201", "Algorithms", 4, 40, 20, "Dr. Brown");
+        newer.setVersion(5);
+        Course older = new Course("CS201", "Data Structures", 3, 40, 20, "Dr. Smith");
+        older.setVersion(4);
+
+        searchIndex.onCourseUpdated(newer);
+        searchIndex.onCourseUpdated(older);
+
+        assertArrayEquals(new String[]{"CS201"}, codes(searchIndex.findByLecturer("Dr. Brown")));
+        assertArrayEquals(new String[]{"CS101"}, codes(searchIndex.findByLecturer("Dr. Smith")));
+    }
+}
@@ -0,0 +1,167 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryCourseRepository Tests")
+class InMemoryCourseRepositoryTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        studentRepository.update(new Student("S001", "John Doe", "john@email.com",
+                "Computer Science", 3, 3.5, "ACTIVE"));
+
+        Course programming = new Course("CS101", "Programming", 3, 40, 10, "Dr. Smith");
+        Course dataStructures = new Course("CS201", "Data Structures", 3, 40, 10, "Dr. Smith");
+        dataStructures.addPrerequisite("CS101");
+        Course algorithms = new Course("CS301", "Algorithms", 3, 40, 10, "Dr. Lee");
+        algorithms.addPrerequisite("CS101");
+        algorithms.addPrerequisite("CS201");
+        courseRepository.update(programming);
+        courseRepository.update(dataStructures);
+        courseRepository.update(algorithms);
+    }
+
+    @Test
+    @DisplayName("findByCourseCode - Should return stored course or null")
+    void testFindByCourseCode() {
+        assertEquals("Programming", courseRepository.findByCourseCode("CS101").getCourseName());
+        assertNull(courseRepository.findByCourseCode("INVALID"));
+        assertEquals(3, courseRepository.size());
+    }
+
+    @Test
+    @DisplayName("isPrerequisiteMet - Should be true for course without prerequisites")
+    void testIsPrerequisiteMet_NoPrerequisites() {
+        assertTrue(courseRepository.isPrerequisiteMet("S001", "CS101"));
+    }
+
+    @Test
+    @DisplayName("isPrerequisiteMet - Should require every prerequisite to be completed")
+    void testIsPrerequisiteMet_CompletedCourses() {
+        assertFalse(courseRepository.isPrerequisiteMet("S001", "CS201"));
+
+        studentRepository.addCompletedCourse("S001", courseRepository.findByCourseCode("CS101"));
+        assertTrue(courseRepository.isPrerequisiteMet("S001", "CS201"));
+        assertFalse(courseRepository.isPrerequisiteMet("S001", "CS301"));
+
+        studentRepository.addCompletedCourse("S001", courseRepository.findByCourseCode("CS201"));
+        assertTrue(courseRepository.isPrerequisiteMet("S001", "CS301"));
+    }
+
+    @Test
+    @DisplayName("compareAndUpdate - Should reject a stale version and bump the stored one")
+    void testCompareAndUpdate_Versioning() {
+        Course stale = new Course(courseRepository.findByCourseCode("CS101"));
+        Course fresh = new Course(stale);
+        long version = stale.getVersion();
+
+        fresh.setEnrolledCount(11);
+        assertTrue(courseRepository.compareAndUpdate(fresh, version));
+        assertEquals(version + 1, courseRepository.findByCourseCode("CS101").getVersion());
+
+        stale.setEnrolledCount(99);
+        assertFalse(courseRepository.compareAndUpdate(stale, version));
+        assertEquals(11, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertFalse(courseRepository.compareAndUpdate(new Course("NEW", "New", 3, 10, 0, "Dr. X"), 0));
+        assertNull(courseRepository.findByCourseCode("NEW"));
+    }
+
+    @Test
+    @DisplayName("compareAndUpdate - Observable decorator should stay atomic and notify only on success")
+    void testCompareAndUpdate_Observable() {
+        ObservableCourseRepository observable = new ObservableCourseRepository(courseRepository);
+        List<Course> notified = new ArrayList<>();
+        observable.addListener(notified::add);
+        Course stale = new Course(observable.findByCourseCode("CS101"));
+        long version = stale.getVersion();
+
+        Course fresh = new Course(stale);
+        fresh.setEnrolledCount(11);
+        assertTrue(observable.compareAndUpdate(fresh, version));
+        assertFalse(observable.compareAndUpdate(stale, version));
+
+        assertEquals(List.of(fresh), notified);
+        assertEquals(version + 1, notified.get(0).getVersion());
+        assertEquals(11, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("compareAndUpdate - Repositories without an atomic implementation should refuse it")
+    void testCompareAndUpdate_UnsupportedByDefault() {
+        CourseRepository plain = new CourseRepository() {
+            @Override
+            public Course findByCourseCode(String courseCode) {
+                return courseRepository.findByCourseCode(courseCode);
+            }
+
+            @Override
+            public void update(Course course) {
+                courseRepository.update(course);
+            }
+
+            @Override
+            public boolean isPrerequisiteMet(String studentId, String courseCode) {
+                return true;
+            }
+        };
+
+        Course course = new Course(plain.findByCourseCode("CS101"));
+        assertThrows(UnsupportedOperationException.class, () -> plain.compareAndUpdate(course, course.getVersion()));
+    }
+
+    @Test
+    @DisplayName("update - Unconditional update should still invalidate older versions")
+    void testUpdate_BumpsVersion() {
+        Course snapshot = new Course(courseRepository.findByCourseCode("CS101"));
+        courseRepository.update(new Course(snapshot));
+
+        assertFalse(courseRepository.compareAndUpdate(new Course(snapshot), snapshot.getVersion()));
+    }
+
+    @Test
+    @DisplayName("compareAndUpdate - Concurrent read-modify-write loops should not lose updates")
+    void testCompareAndUpdate_Concurrent() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    while (true) {
+                        Course current = courseRepository.findByCourseCode("CS101");
+                        Course next = new Course(current);
+                        next.setEnrolledCount(current.getEnrolledCount() + 1);
+                        if (courseRepository.compareAndUpdate(next, current.getVersion())) {
+                            break;
+                        }
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10 + 2000, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("isPrerequisiteMet - Should be false for unknown course")
+    void testIsPrerequisiteMet_UnknownCourse() {
+        assertFalse(courseRepository.isPrerequisiteMet("S001", "INVALID"));
+    }
+}
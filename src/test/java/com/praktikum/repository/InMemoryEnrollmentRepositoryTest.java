@@ -0,0 +1,116 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryEnrollmentRepository Tests")
+class InMemoryEnrollmentRepositoryTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 2, 12, 8, 30, 15, 123_456_789);
+
+    private InMemoryEnrollmentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryEnrollmentRepository();
+        repository.save(new Enrollment("E1", "S001", "CS101", DATE, "APPROVED"));
+        repository.save(new Enrollment("E2", "S001", "CS201", DATE, "PENDING"));
+        repository.save(new Enrollment("E3", "S002", "CS101", DATE, "APPROVED"));
+    }
+
+    @Test
+    @DisplayName("findByStudentAndCourse - Should round-trip every field")
+    void testFindByStudentAndCourse() {
+        Enrollment found = repository.findByStudentAndCourse("S001", "CS201");
+
+        assertEquals("E2", found.getEnrollmentId());
+        assertEquals("S001", found.getStudentId());
+        assertEquals("CS201", found.getCourseCode());
+        assertEquals(DATE, found.getEnrollmentDate());
+        assertEquals("PENDING", found.getStatus());
+        assertNull(repository.findByStudentAndCourse("S002", "CS201"));
+        assertNull(repository.findByStudentAndCourse("UNKNOWN", "CS101"));
+    }
+
+    @Test
+    @DisplayName("findByStudent/findByCourse - Should use the secondary indexes")
+    void testFindByStudentAndByCourse() {
+        assertEquals(2, repository.findByStudent("S001").size());
+        assertEquals(2, repository.findByCourse("CS101").size());
+        assertEquals(2, repository.countByCourse("CS101"));
+        assertTrue(repository.findByStudent("UNKNOWN").isEmpty());
+        assertEquals(0, repository.countByCourse("UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("save - Should update an existing pair in place with a custom status")
+    void testSave_UpdatesExistingPair() {
+        repository.save(new Enrollment("E1", "S001", "CS101", null, "WAITLISTED"));
+
+        Enrollment found = repository.findByStudentAndCourse("S001", "CS101");
+        assertEquals("WAITLISTED", found.getStatus());
+        assertNull(found.getEnrollmentDate());
+        assertEquals(3, repository.size());
+    }
+
+    @Test
+    @DisplayName("delete - Should remove from every index and reuse the row")
+    void testDelete_ReusesRow() {
+        assertTrue(repository.delete("S001", "CS101"));
+        assertFalse(repository.delete("S001", "CS101"));
+        assertFalse(repository.delete("UNKNOWN", "CS101"));
+
+        assertFalse(repository.exists("S001", "CS101"));
+        assertEquals(1, repository.findByStudent("S001").size());
+        assertEquals(1, repository.countByCourse("CS101"));
+
+        repository.save(new Enrollment("E4", "S003", "CS301", DATE, "APPROVED"));
+        assertEquals(3, repository.size());
+        assertEquals("E4", repository.findByStudentAndCourse("S003", "CS301").getEnrollmentId());
+    }
+
+    @Test
+    @DisplayName("save/delete - Should stay consistent past the initial capacity")
+    void testGrowthAndChurn() {
+        for (int i = 0; i < 500; i++) {
+            repository.save(new Enrollment("G" + i, "S" + (i % 50), "C" + (i / 50), DATE, "APPROVED"));
+        }
+        for (int i = 0; i < 500; i += 2) {
+            assertTrue(repository.delete("S" + (i % 50), "C" + (i / 50)));
+        }
+
+        assertEquals(253, repository.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 == 1, repository.exists("S" + (i % 50), "C" + (i / 50)), "row " + i);
+        }
+        List<Enrollment> course = repository.findByCourse("C3");
+        assertEquals(25, course.size());
+        assertTrue(course.stream().allMatch(e -> e.getEnrollmentId().startsWith("G")));
+    }
+
+    @Test
+    @DisplayName("LongIntHashMap - Should keep probe chains intact after removal")
+    void testLongIntHashMap_Remove() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 0; key < 1000; key++) {
+            map.put(key * 31, (int) key);
+        }
+        for (long key = 0; key < 1000; key += 3) {
+            assertEquals((int) key, map.remove(key * 31));
+        }
+
+        for (long key = 0; key < 1000; key++) {
+            int expected = key % 3 == 0 ? LongIntHashMap.MISSING : (int) key;
+            assertEquals(expected, map.get(key * 31));
+        }
+        assertEquals(666, map.size());
+        assertEquals(LongIntHashMap.MISSING, map.remove(-5));
+    }
+}
@@ -0,0 +1,61 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Enrollment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ObservableEnrollmentRepository Tests")
+class ObservableEnrollmentRepositoryTest {
+
+    @Test
+    @DisplayName("Listeners should see a save and a racing delete in mutation order")
+    void testNotifiesInMutationOrder() throws InterruptedException {
+        InMemoryEnrollmentRepository delegate = new InMemoryEnrollmentRepository();
+        ObservableEnrollmentRepository repository = new ObservableEnrollmentRepository(delegate);
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        repository.addListener(new EnrollmentChangeListener() {
+            @Override
+            public void onEnrollmentSaved(Enrollment enrollment) {
+                saving.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add("SAVED");
+            }
+
+            @Override
+            public void onEnrollmentDeleted(String studentId, String courseCode) {
+                events.add("DELETED");
+            }
+        });
+
+        Thread saver = new Thread(() -> repository.save(
+                new Enrollment("E1", "S001", "CS101", LocalDateTime.now(), "APPROVED")));
+        saver.start();
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+
+        // Delete harus menunggu notifikasi save selesai, bukan menyalipnya
+        Thread deleter = new Thread(() -> repository.delete("S001", "CS101"));
+        deleter.start();
+        deleter.join(200);
+        assertTrue(deleter.isAlive());
+
+        release.countDown();
+        saver.join(5_000);
+        deleter.join(5_000);
+        assertEquals(List.of("SAVED", "DELETED"), events);
+        assertFalse(delegate.exists("S001", "CS101"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SeatAvailabilityIndex Tests")
+class SeatAvailabilityIndexTest {
+
+    private SeatAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new SeatAvailabilityIndex();
+        availabilityIndex.onCourseUpdated(new Course("CS101", "Programming", 3, 40, 10, "Dr. Smith"));
+        availabilityIndex.onCourseUpdated(new Course("CS201", "Data Structures", 3, 40, 40, "Dr. Smith"));
+        availabilityIndex.onCourseUpdated(new Course("CS301", "Database", 3, 35, 30, "Dr. Lee"));
+        availabilityIndex.onCourseUpdated(new Course("NET401", "Networking", 4, 25, 5, "Dr. Gray"));
+    }
+
+    private static String[] codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("openCourses - Should list open courses by remaining seats and skip full ones")
+    void testOpenCourses() {
+        assertArrayEquals(new String[]{"CS101", "NET401", "CS301"}, codes(availabilityIndex.openCourses()));
+    }
+
+    @Test
+    @DisplayName("openCourses - Should filter by major derived from course code")
+    void testOpenCourses_ByMajor() {
+        assertArrayEquals(new String[]{"CS101", "CS301"}, codes(availabilityIndex.openCourses("CS")));
+        assertArrayEquals(new String[]{"NET401"}, codes(availabilityIndex.openCourses("NET")));
+        assertEquals(0, availabilityIndex.openCourses("IS").size());
+    }
+
+    @Test
+    @DisplayName("emptiest - Should return top N courses with the most remaining seats")
+    void testEmptiest() {
+        assertArrayEquals(new String[]{"CS101", "NET401"}, codes(availabilityIndex.emptiest(2)));
+        assertThrows(IllegalArgumentException.class, () -> availabilityIndex.emptiest(-1));
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should reorder course after seat change")
+    void testOnCourseUpdated_SeatChange() {
+        Course full = new Course("CS201", "Data Structures", 3, 40, 39, "Dr. Smith");
+        availabilityIndex.onCourseUpdated(full);
+        assertEquals(1, availabilityIndex.remainingSeats("CS201"));
+
+        Course course = new Course("CS301", "Database", 3, 35, 35, "Dr. Lee");
+        availabilityIndex.onCourseUpdated(course);
+        assertArrayEquals(new String[]{"CS101", "NET401", "CS201"}, codes(availabilityIndex.openCourses()));
+        assertEquals(0, availabilityIndex.remainingSeats("CS301"));
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should treat a cancelled course as having no seats left")
+    void testOnCourseUpdated_CancelledCourse() {
+        Course cancelled = new Course("CS301", "Database", 3, 35, 0, "Dr. Lee");
+        cancelled.setCancelled(true);
+        cancelled.setVersion(1);
+        availabilityIndex.onCourseUpdated(cancelled);
+
+        assertEquals(0, availabilityIndex.remainingSeats("CS301"));
+        assertArrayEquals(new String[]{"CS101", "NET401"}, codes(availabilityIndex.openCourses()));
+        assertArrayEquals(new String[]{"CS101"}, codes(availabilityIndex.openCourses("CS")));
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should ignore a copy older than the indexed version")
+    void testOnCourseUpdated_IgnoresOlderVersion() {
+        Course newer = new Course("CS201", "Data Structures", 3, 40, 30, "Dr. Smith");
+        newer.setVersion(3);
+        Course older = new Course("CS201", "Data Structures", 3, 40, 29, "Dr. Smith");
+        older.setVersion(2);
+
+        availabilityIndex.onCourseUpdated(newer);
+        availabilityIndex.onCourseUpdated(older);
+
+        assertEquals(10, availabilityIndex.remainingSeats("CS201"));
+    }
+
+    @Test
+    @DisplayName("onCourseUpdated - Should stay consistent under concurrent seat changes")
+    void testOnCourseUpdated_Concurrent() throws InterruptedException {
+        Course course = new Course("HOT101", "Hot Course", 3, 1000, 0, "Dr. Hot");
+        availabilityIndex.onCourseUpdated(course);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(500);
+
+        for (int i = 0; i < 500; i++) {
+            executor.submit(() -> {
+                synchronized (course) {
+                    course.setEnrolledCount(course.getEnrolledCount() + 1);
+                }
+                availabilityIndex.onCourseUpdated(course);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(500, availabilityIndex.remainingSeats("HOT101"));
+        assertEquals(4, availabilityIndex.openCourses().size());
+        assertEquals(1, availabilityIndex.openCourses("HOT").size());
+    }
+}
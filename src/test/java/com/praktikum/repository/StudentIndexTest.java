@@ -0,0 +1,107 @@
+package com.praktikum.repository;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StudentIndex Tests")
+class StudentIndexTest {
+
+    private StudentIndex studentIndex;
+    private ObservableStudentRepository studentRepository;
+
+    class StudentRepositoryStub implements StudentRepository {
+        private Map<String, Student> students = new HashMap<>();
+
+        @Override
+        public Student findById(String studentId) {
+            return students.get(studentId);
+        }
+
+        @Override
+        public void update(Student student) {
+            students.put(student.getStudentId(), student);
+        }
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            return new ArrayList<>();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new ObservableStudentRepository(new StudentRepositoryStub());
+        studentIndex = new StudentIndex(studentRepository);
+        studentRepository.addListener(studentIndex);
+
+        for (int i = 1; i <= 25; i++) {
+            String id = String.format("S%03d", i);
+            String major = i % 5 == 0 ? "Data Science" : "Computer Science";
+            studentRepository.update(new Student(id, "Student " + i, id.toLowerCase() + "@email.com",
+                    new String(major), 3, 3.0, "ACTIVE"));
+        }
+    }
+
+    private static String[] ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("findByEmail - Should find student by normalized email")
+    void testFindByEmail() {
+        assertEquals("S007", studentIndex.findByEmail("  S007@Email.COM ").getStudentId());
+        assertNull(studentIndex.findByEmail("unknown@email.com"));
+        assertNull(studentIndex.findByEmail(null));
+    }
+
+    @Test
+    @DisplayName("findByEmail - Should follow email changes")
+    void testFindByEmail_EmailChanged() {
+        studentRepository.update(new Student("S007", "Student 7", "new.mail@email.com",
+                "Computer Science", 3, 3.0, "ACTIVE"));
+
+        assertNull(studentIndex.findByEmail("s007@email.com"));
+        assertEquals("S007", studentIndex.findByEmail("new.mail@email.com").getStudentId());
+    }
+
+    @Test
+    @DisplayName("findByMajor - Should page through students of a major")
+    void testFindByMajor_Paging() {
+        assertEquals(20, studentIndex.countByMajor("Computer Science"));
+        assertEquals(5, studentIndex.countByMajor("Data Science"));
+
+        assertArrayEquals(new String[]{"S005", "S010"}, ids(studentIndex.findByMajor("Data Science", 0, 2)));
+        assertArrayEquals(new String[]{"S015", "S020"}, ids(studentIndex.findByMajor("Data Science", 2, 2)));
+        assertArrayEquals(new String[]{"S025"}, ids(studentIndex.findByMajor("Data Science", 4, 2)));
+        assertEquals(0, studentIndex.findByMajor("Data Science", 5, 2).size());
+        assertEquals(0, studentIndex.findByMajor("Unknown", 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("findByMajor - Should move student when major changes")
+    void testFindByMajor_MajorChanged() {
+        studentRepository.update(new Student("S001", "Student 1", "s001@email.com",
+                "Data Science", 3, 3.0, "ACTIVE"));
+
+        assertEquals(19, studentIndex.countByMajor("Computer Science"));
+        assertEquals(6, studentIndex.countByMajor("Data Science"));
+        assertEquals("S001", studentIndex.findByMajor("Data Science", 0, 1).get(0).getStudentId());
+    }
+
+    @Test
+    @DisplayName("findByMajor - Should reject negative offset or limit")
+    void testFindByMajor_InvalidPaging() {
+        assertThrows(IllegalArgumentException.class, () -> studentIndex.findByMajor("Data Science", -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> studentIndex.findByMajor("Data Science", 0, -2));
+    }
+}
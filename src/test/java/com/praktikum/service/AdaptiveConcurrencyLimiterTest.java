@@ -0,0 +1,130 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.ServiceOverloadedException;
+import com.praktikum.metrics.EnrollmentMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Requests above the limit should be shed and counted")
+    void testShedAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertThrows(ServiceOverloadedException.class, limiter::acquire);
+
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(2, limiter.getShedCount());
+        assertEquals(2, limiter.getAcceptedCount());
+    }
+
+    @Test
+    @DisplayName("Limit should grow while latency stays flat under load")
+    void testLimitGrowsWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 10);
+
+        runWindows(limiter, 30, 1_000_000L);
+
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    @DisplayName("Limit should shrink when latency rises above the baseline")
+    void testLimitShrinksWithRisingLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 10);
+        runWindows(limiter, 5, 1_000_000L);
+        int before = limiter.getLimit();
+
+        runWindows(limiter, 10, 10_000_000L);
+
+        assertTrue(limiter.getLimit() < before);
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Limit should not grow when traffic never uses half of it")
+    void testNoGrowthWhenAppLimited() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 2, 100, 10);
+
+        for (int i = 0; i < 300; i++) {
+            limiter.tryAcquire();
+            limiter.release(1_000_000L);
+        }
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Concurrent releases should keep the limit within bounds and in-flight balanced")
+    void testConcurrentReleases() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 10);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire()) {
+                        limiter.release(1_000L + i % 7);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getLimit() >= 2 && limiter.getLimit() <= 100);
+        assertEquals(80_000, limiter.getAcceptedCount() + limiter.getShedCount());
+    }
+
+    @Test
+    @DisplayName("Service metrics should expose the limiter state once it is configured")
+    void testMetricsExposeLimiter() {
+        EnrollmentService service = new EnrollmentService(null, null, null, new GradeCalculator());
+        EnrollmentMetrics metrics = service.getMetrics();
+        assertEquals(0, metrics.getConcurrencyLimit());
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 10);
+        service.setConcurrencyLimiter(limiter);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        assertEquals(2, metrics.getConcurrencyLimit());
+        assertEquals(2, metrics.getConcurrencyInFlight());
+        assertEquals(1, metrics.getLoadShedCount());
+    }
+
+    @Test
+    @DisplayName("Inconsistent limits should throw IllegalArgumentException")
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 5, 10, 10));
+    }
+
+    /**
+     * Mengisi batas penuh lalu melepas semuanya dengan latency tertentu, berulang
+     */
+    private void runWindows(AdaptiveConcurrencyLimiter limiter, int windows, long rttNanos) {
+        for (int w = 0; w < windows; w++) {
+            int acquired = 0;
+            while (acquired < 10 && limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
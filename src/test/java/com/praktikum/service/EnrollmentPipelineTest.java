@@ -0,0 +1,185 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.CourseNotFoundException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("EnrollmentPipeline Tests")
+class EnrollmentPipelineTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private Map<Long, RuntimeException> results;
+    private Map<Long, Boolean> successes;
+    private CountDownLatch done;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        for (int i = 0; i < 500; i++) {
+            studentRepository.update(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        results = new ConcurrentHashMap<>();
+        successes = new ConcurrentHashMap<>();
+    }
+
+    private EnrollmentPipeline.ResultHandler handler() {
+        return (correlationId, studentId, courseCode, error) -> {
+            if (error == null) {
+                successes.put(correlationId, true);
+            } else {
+                results.put(correlationId, error);
+            }
+            done.countDown();
+        };
+    }
+
+    @Test
+    @DisplayName("Pipeline should fill a course exactly to capacity across buffer wraps")
+    void testCapacityAcrossWraps() throws InterruptedException {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 120, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        done = new CountDownLatch(500);
+
+        try (EnrollmentPipeline pipeline = new EnrollmentPipeline(service, handler(), 64)) {
+            for (int i = 0; i < 500; i++) {
+                pipeline.publish(i, "S" + i, "CS101");
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(499, pipeline.getCompletedSequence());
+        }
+
+        assertEquals(120, successes.size());
+        assertEquals(380, results.size());
+        assertTrue(results.values().stream().allMatch(e -> e instanceof CourseFullException));
+        assertEquals(120, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Validation failures should skip later stages and be reported")
+    void testValidationFailures() throws InterruptedException {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 10, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        done = new CountDownLatch(3);
+
+        try (EnrollmentPipeline pipeline = new EnrollmentPipeline(service, handler(), 8)) {
+            pipeline.publish(1, "S1", "CS101");
+            pipeline.publish(2, "NOPE", "CS101");
+            pipeline.publish(3, "S2", "XX999");
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(successes.containsKey(1L));
+        assertInstanceOf(StudentNotFoundException.class, results.get(2L));
+        assertInstanceOf(CourseNotFoundException.class, results.get(3L));
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Persistence failure should roll back the seat and the credits")
+    void testPersistenceFailureCompensation() throws InterruptedException {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository) {
+            private int updates;
+
+            @Override
+            public void update(Course course) {
+                if (course.getEnrolledCount() > 0 && ++updates == 2) {
+                    throw new IllegalStateException("Database error");
+                }
+                super.update(course);
+            }
+        };
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 10, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        done = new CountDownLatch(3);
+
+        try (EnrollmentPipeline pipeline = new EnrollmentPipeline(service, handler(), 8)) {
+            pipeline.publish(1, "S1", "CS101");
+            pipeline.publish(2, "S2", "CS101");
+            pipeline.publish(3, "S3", "CS101");
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, successes.size());
+        assertEquals(1, results.size());
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        long failed = results.keySet().iterator().next();
+        assertEquals(0, service.getCurrentCredits("S" + failed));
+    }
+
+    @Test
+    @DisplayName("Pipeline should record enrollments and reject duplicates like enrollCourse")
+    void testRecordsEnrollmentsAndRejectsDuplicates() throws InterruptedException {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository) {
+            @Override
+            public void update(Course course) {
+                if ("CS102".equals(course.getCourseCode()) && course.getEnrolledCount() > 0) {
+                    throw new IllegalStateException("Database error");
+                }
+                super.update(course);
+            }
+        };
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 10, 0, "Dr. Smith"));
+        courseRepository.update(new Course("CS102", "Networks", 3, 10, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        InMemoryEnrollmentRepository enrollments = new InMemoryEnrollmentRepository();
+        StudentCourseBitsets bitsets = new StudentCourseBitsets();
+        service.setEnrollmentRepository(enrollments);
+        service.setCourseBitsets(bitsets);
+        done = new CountDownLatch(4);
+
+        try (EnrollmentPipeline pipeline = new EnrollmentPipeline(service, handler(), 8)) {
+            pipeline.publish(1, "S1", "CS101");
+            pipeline.publish(2, "S1", "CS101");
+            pipeline.publish(3, "S2", "CS101");
+            pipeline.publish(4, "S3", "CS102");
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, successes.size());
+        assertInstanceOf(EnrollmentException.class, results.get(2L));
+        assertInstanceOf(IllegalStateException.class, results.get(4L));
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(2, enrollments.findByCourse("CS101").size());
+        assertTrue(bitsets.contains("S1", "CS101"));
+        // A failed persist leaves neither a record nor a bit behind
+        assertTrue(enrollments.findByCourse("CS102").isEmpty());
+        assertFalse(bitsets.contains("S3", "CS102"));
+    }
+
+    @Test
+    @DisplayName("Closed pipeline should reject publish and buffer size must be a power of two")
+    void testClosedAndInvalidSize() {
+        EnrollmentService service = new EnrollmentService(studentRepository,
+                new InMemoryCourseRepository(studentRepository), mock(NotificationService.class),
+                new GradeCalculator());
+        EnrollmentPipeline pipeline = new EnrollmentPipeline(service, handler(), 8);
+        pipeline.close();
+
+        assertThrows(IllegalStateException.class, () -> pipeline.publish(1, "S1", "CS101"));
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentPipeline(service, handler(), 10));
+    }
+}
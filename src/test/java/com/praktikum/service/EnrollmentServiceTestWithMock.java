@@ -1,10 +1,12 @@
 package com.praktikum.service;
 
 import com.praktikum.exception.*;
+import com.praktikum.metrics.EnrollmentMetrics;
 import com.praktikum.model.Course;
 import com.praktikum.model.Enrollment;
 import com.praktikum.model.Student;
 import com.praktikum.repository.CourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
 import com.praktikum.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -53,6 +59,7 @@ class EnrollmentServiceTestWithMock {
         testStudent = new Student("S001", "John Doe", "john@email.com",
                 "Computer Science", 3, 3.5, "ACTIVE");
         testCourse = new Course("CS301", "Algorithm Design", 3, 40, 30, "Dr. Smith");
+        lenient().when(gradeCalculator.calculateMaxCredits(anyDouble())).thenReturn(24);
     }
 
     // ==================== enrollCourse() Success Tests ====================
@@ -548,4 +555,236 @@ class EnrollmentServiceTestWithMock {
 
         verify(courseRepository, never()).update(any());
     }
+
+    // ==================== Credit Load Tests ====================
+
+    @Test
+    @DisplayName("MOCK - enrollCourse should reject enrollment over the credit limit")
+    void testEnrollCourse_CreditLimitExceeded() {
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(3.5)).thenReturn(24);
+        enrollmentService.setCurrentCredits("S001", 22);
+
+        CreditLimitExceededException exception = assertThrows(
+                CreditLimitExceededException.class,
+                () -> enrollmentService.enrollCourse("S001", "CS301")
+        );
+
+        assertTrue(exception.getMessage().contains("Credit limit exceeded"));
+        assertEquals(22, enrollmentService.getCurrentCredits("S001"));
+        assertEquals(30, testCourse.getEnrolledCount());
+        verify(courseRepository, never()).update(any(Course.class));
+        verify(notificationService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("MOCK - enrollCourse should roll back credit load when update fails")
+    void testEnrollCourse_UpdateFailureReleasesCredits() {
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        doThrow(new RuntimeException("Database error")).when(courseRepository).update(any(Course.class));
+
+        assertThrows(RuntimeException.class, () -> enrollmentService.enrollCourse("S001", "CS301"));
+
+        assertEquals(0, enrollmentService.getCurrentCredits("S001"));
+        assertEquals(30, testCourse.getEnrolledCount());
+        verify(notificationService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("MOCK - enrollCourse should reject rate-limited student before any repository call")
+    void testEnrollCourse_RateLimitedBeforeRepository() {
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        enrollmentService.setRateLimiter(new StudentRateLimiter(0.001, 1));
+
+        enrollmentService.enrollCourse("S001", "CS301");
+        assertThrows(RateLimitExceededException.class,
+                () -> enrollmentService.enrollCourse("S001", "CS301"));
+
+        verify(studentRepository, times(1)).findById("S001");
+        verify(courseRepository, times(1)).findByCourseCode("CS301");
+        verify(courseRepository, times(1)).update(any(Course.class));
+    }
+
+    @Test
+    @DisplayName("MOCK - enrollCourse should shed load before any repository call when limit is full")
+    void testEnrollCourse_ShedWhenOverloaded() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 10);
+        limiter.tryAcquire();
+        enrollmentService.setConcurrencyLimiter(limiter);
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> enrollmentService.enrollCourse("S001", "CS301"));
+
+        assertEquals(1, limiter.getShedCount());
+        verifyNoInteractions(studentRepository, courseRepository, notificationService);
+    }
+
+    @Test
+    @DisplayName("MOCK - cancelCourse should drop all enrollees with one update and one bulk email")
+    void testCancelCourse_SingleUpdateAndBulkEmail() {
+        InMemoryEnrollmentRepository enrollments = new InMemoryEnrollmentRepository();
+        enrollmentService.setEnrollmentRepository(enrollments);
+        Course course = new Course("CS999", "Cancelled", 3, 400, 300, "Dr. Smith");
+        when(courseRepository.findByCourseCode("CS999")).thenReturn(course);
+        for (int i = 0; i < 300; i++) {
+            String studentId = "C" + i;
+            enrollments.save(new Enrollment("E" + i, studentId, "CS999", LocalDateTime.now(), "APPROVED"));
+            enrollmentService.setCurrentCredits(studentId, 3);
+            when(studentRepository.findById(studentId)).thenReturn(new Student(studentId, "Student " + i,
+                    studentId + "@email.com", "Computer Science", 3, 3.0, "ACTIVE"));
+        }
+
+        List<String> dropped = enrollmentService.cancelCourse("CS999");
+
+        assertEquals(300, dropped.size());
+        assertEquals(0, course.getEnrolledCount());
+        assertEquals(0, enrollmentService.getCurrentCredits("C42"));
+        assertTrue(enrollments.findByCourse("CS999").isEmpty());
+        verify(courseRepository, times(1)).update(course);
+        verify(notificationService, times(1)).sendBulkEmail(argThat(emails -> emails.size() == 300),
+                eq("Course Cancellation"), anyString());
+        verify(notificationService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("MOCK - optimistic cancelCourse should close the course and store the new count with compareAndUpdate")
+    void testCancelCourse_Optimistic() {
+        InMemoryEnrollmentRepository enrollments = new InMemoryEnrollmentRepository();
+        enrollmentService.setEnrollmentRepository(enrollments);
+        enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(3, 0, 0, TimeUnit.NANOSECONDS));
+        Course course = new Course("CS999", "Cancelled", 3, 40, 2, "Dr. Smith");
+        when(courseRepository.findByCourseCode("CS999")).thenReturn(course);
+        when(courseRepository.compareAndUpdate(any(Course.class), eq(0L))).thenReturn(false, true);
+        enrollments.save(new Enrollment("E1", "C1", "CS999", LocalDateTime.now(), "APPROVED"));
+        enrollments.save(new Enrollment("E2", "C2", "CS999", LocalDateTime.now(), "APPROVED"));
+
+        assertEquals(2, enrollmentService.cancelCourse("CS999").size());
+
+        // Marked cancelled first (one conflict, then success), then the count is lowered
+        verify(courseRepository, times(3)).compareAndUpdate(courseCaptor.capture(), eq(0L));
+        assertTrue(courseCaptor.getAllValues().get(1).isCancelled());
+        assertEquals(2, courseCaptor.getAllValues().get(1).getEnrolledCount());
+        assertTrue(courseCaptor.getValue().isCancelled());
+        assertEquals(0, courseCaptor.getValue().getEnrolledCount());
+        assertEquals(2, course.getEnrolledCount());
+        assertFalse(course.isCancelled());
+        verify(courseRepository, never()).update(any(Course.class));
+    }
+
+    @Test
+    @DisplayName("MOCK - cancelled course should reject new enrollments and record a CANCEL operation")
+    void testCancelCourse_RejectsLaterEnrollments() {
+        enrollmentService.setEnrollmentRepository(new InMemoryEnrollmentRepository());
+        Course course = new Course("CS999", "Cancelled", 3, 40, 0, "Dr. Smith");
+        when(courseRepository.findByCourseCode("CS999")).thenReturn(course);
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+
+        assertTrue(enrollmentService.cancelCourse("CS999").isEmpty());
+        EnrollmentException error = assertThrows(EnrollmentException.class,
+                () -> enrollmentService.enrollCourse("S001", "CS999"));
+
+        assertEquals("Course is cancelled: CS999", error.getMessage());
+        assertTrue(course.isCancelled());
+        assertEquals(0, course.getEnrolledCount());
+        verify(courseRepository, times(1)).update(course);
+        assertEquals(1, enrollmentService.getMetrics().snapshot()
+                .get(EnrollmentMetrics.Operation.CANCEL).getSuccessCount());
+    }
+
+    @Test
+    @DisplayName("MOCK - cancelCourse should throw CourseNotFoundException before touching enrollments")
+    void testCancelCourse_CourseNotFound() {
+        enrollmentService.setEnrollmentRepository(new InMemoryEnrollmentRepository());
+        when(courseRepository.findByCourseCode("INVALID")).thenReturn(null);
+
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.cancelCourse("INVALID"));
+
+        verify(courseRepository, never()).update(any(Course.class));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("MOCK - optimistic enrollCourse should retry on a version conflict and never update blindly")
+    void testEnrollCourse_OptimisticRetry() {
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        when(courseRepository.compareAndUpdate(any(Course.class), eq(0L))).thenReturn(false, true);
+        enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(3, 0, 0, TimeUnit.NANOSECONDS));
+
+        enrollmentService.enrollCourse("S001", "CS301");
+
+        verify(courseRepository, times(2)).compareAndUpdate(courseCaptor.capture(), eq(0L));
+        assertEquals(31, courseCaptor.getValue().getEnrolledCount());
+        assertEquals(30, testCourse.getEnrolledCount());
+        verify(courseRepository, never()).update(any(Course.class));
+        assertEquals(1, enrollmentService.getMetrics().snapshot()
+                .get(EnrollmentMetrics.Operation.ENROLL).getConflictCount());
+    }
+
+    @Test
+    @DisplayName("MOCK - optimistic enrollCourse should give up after max attempts and release credits")
+    void testEnrollCourse_OptimisticGivesUp() {
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        when(courseRepository.compareAndUpdate(any(Course.class), anyLong())).thenReturn(false);
+        enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(2, 0, 0, TimeUnit.NANOSECONDS));
+
+        assertThrows(ConcurrentUpdateException.class, () -> enrollmentService.enrollCourse("S001", "CS301"));
+
+        verify(courseRepository, times(2)).compareAndUpdate(any(Course.class), anyLong());
+        assertEquals(0, enrollmentService.getCurrentCredits("S001"));
+        verify(notificationService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("MOCK - optimistic swapCourse should move both seats with compareAndUpdate")
+    void testSwapCourse_Optimistic() {
+        Course from = new Course("CS201", "Data Structures", 3, 40, 10, "Dr. Lee");
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.findByCourseCode("CS201")).thenReturn(from);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        when(courseRepository.compareAndUpdate(any(Course.class), eq(0L))).thenReturn(true);
+        enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(3, 0, 0, TimeUnit.NANOSECONDS));
+
+        enrollmentService.swapCourse("S001", "CS201", "CS301");
+
+        verify(courseRepository, times(2)).compareAndUpdate(courseCaptor.capture(), eq(0L));
+        assertEquals(31, courseCaptor.getAllValues().get(0).getEnrolledCount());
+        assertEquals(9, courseCaptor.getAllValues().get(1).getEnrolledCount());
+        assertEquals(30, testCourse.getEnrolledCount());
+        assertEquals(10, from.getEnrolledCount());
+        verify(courseRepository, never()).update(any(Course.class));
+    }
+
+    @Test
+    @DisplayName("MOCK - optimistic swapCourse should give the target seat back when the source update fails")
+    void testSwapCourse_OptimisticCompensates() {
+        Course from = new Course("CS201", "Data Structures", 3, 40, 10, "Dr. Lee");
+        from.setVersion(5);
+        when(studentRepository.findById("S001")).thenReturn(testStudent);
+        when(courseRepository.findByCourseCode("CS301")).thenReturn(testCourse);
+        when(courseRepository.findByCourseCode("CS201")).thenReturn(from);
+        when(courseRepository.isPrerequisiteMet("S001", "CS301")).thenReturn(true);
+        when(courseRepository.compareAndUpdate(any(Course.class), eq(0L))).thenReturn(true);
+        when(courseRepository.compareAndUpdate(any(Course.class), eq(5L))).thenReturn(false);
+        enrollmentService.setOptimisticRetryPolicy(new OptimisticRetryPolicy(1, 0, 0, TimeUnit.NANOSECONDS));
+        enrollmentService.setCurrentCredits("S001", 3);
+
+        assertThrows(ConcurrentUpdateException.class, () -> enrollmentService.swapCourse("S001", "CS201", "CS301"));
+
+        verify(courseRepository, times(2)).compareAndUpdate(courseCaptor.capture(), eq(0L));
+        assertEquals(31, courseCaptor.getAllValues().get(0).getEnrolledCount());
+        assertEquals(30, courseCaptor.getAllValues().get(1).getEnrolledCount());
+        assertEquals(3, enrollmentService.getCurrentCredits("S001"));
+        verify(courseRepository, never()).update(any(Course.class));
+    }
 }
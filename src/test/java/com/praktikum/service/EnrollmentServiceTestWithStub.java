@@ -1,10 +1,20 @@
 package com.praktikum.service;
 
+import com.praktikum.exception.CourseFullException;
 import com.praktikum.exception.CourseNotFoundException;
+import com.praktikum.exception.CreditLimitExceededException;
+import com.praktikum.exception.EnrollmentException;
 import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.metrics.EnrollmentMetrics;
+import com.praktikum.metrics.EnrollmentMetricsSnapshot;
+import com.praktikum.metrics.EnrollmentTrafficMonitor;
+import com.praktikum.metrics.LatencySnapshot;
+import com.praktikum.metrics.StageProfiler;
 import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
 import com.praktikum.model.Student;
 import com.praktikum.repository.CourseRepository;
+import com.praktikum.repository.InMemoryEnrollmentRepository;
 import com.praktikum.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +24,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -464,4 +479,383 @@ class EnrollmentServiceTestWithStub {
         // Act & Assert - GPA 3.8 should allow 24 credits
         assertTrue(enrollmentService.validateCreditLimit("S027", 24));
     }
+
+    // ==================== Credit Load Tests with STUB ====================
+
+    @Test
+    @DisplayName("STUB - enrollCourse should track credit load and enforce the limit")
+    void testEnrollCourse_CreditLoadLimit() {
+        // Arrange: GPA 1.8 -> max 15 SKS
+        Student student = new Student("S030", "Load Test", "load@email.com",
+                "CS", 2, 1.8, "PROBATION");
+        studentRepositoryStub.addStudent(student);
+        for (int i = 1; i <= 6; i++) {
+            courseRepositoryStub.addCourse(new Course("LD10" + i, "Load " + i, 3, 40, 0, "Dr. Load"));
+        }
+
+        // Act: 5 x 3 SKS = 15 SKS
+        for (int i = 1; i <= 5; i++) {
+            enrollmentService.enrollCourse("S030", "LD10" + i);
+        }
+
+        // Assert
+        assertEquals(15, enrollmentService.getCurrentCredits("S030"));
+        assertThrows(CreditLimitExceededException.class,
+                () -> enrollmentService.enrollCourse("S030", "LD106"));
+        assertEquals(0, courseRepositoryStub.findByCourseCode("LD106").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("STUB - dropCourse should release credits for a new enrollment")
+    void testDropCourse_ReleasesCredits() {
+        // Arrange: GPA 1.8 -> max 15 SKS
+        Student student = new Student("S031", "Release Test", "release@email.com",
+                "CS", 2, 1.8, "PROBATION");
+        studentRepositoryStub.addStudent(student);
+        courseRepositoryStub.addCourse(new Course("RL101", "Release 1", 4, 40, 0, "Dr. Release"));
+        courseRepositoryStub.addCourse(new Course("RL102", "Release 2", 4, 40, 0, "Dr. Release"));
+        enrollmentService.setCurrentCredits("S031", 8);
+        enrollmentService.enrollCourse("S031", "RL101");
+
+        // Act
+        enrollmentService.dropCourse("S031", "RL101");
+        enrollmentService.enrollCourse("S031", "RL102");
+
+        // Assert
+        assertEquals(12, enrollmentService.getCurrentCredits("S031"));
+    }
+
+    @Test
+    @DisplayName("STUB - dropCourse should never make credit load negative")
+    void testDropCourse_CreditLoadNotNegative() {
+        // Arrange
+        Student student = new Student("S032", "Zero Load", "zeroload@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        courseRepositoryStub.addCourse(new Course("ZL101", "Zero", 3, 40, 10, "Dr. Zero"));
+
+        // Act
+        enrollmentService.dropCourse("S032", "ZL101");
+
+        // Assert
+        assertEquals(0, enrollmentService.getCurrentCredits("S032"));
+    }
+
+    @Test
+    @DisplayName("STUB - metrics should count successes and rejections by exception type")
+    void testMetrics_SuccessAndRejection() {
+        // Arrange
+        Student student = new Student("S033", "Metric", "metric@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        courseRepositoryStub.addCourse(new Course("MT101", "Metrics", 3, 1, 0, "Dr. Metric"));
+
+        // Act
+        enrollmentService.enrollCourse("S033", "MT101");
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S033", "MT101"));
+        assertThrows(StudentNotFoundException.class, () -> enrollmentService.dropCourse("S999", "MT101"));
+
+        // Assert
+        EnrollmentMetricsSnapshot snapshot = enrollmentService.getMetrics().snapshot();
+        EnrollmentMetricsSnapshot.OperationSnapshot enroll = snapshot.get(EnrollmentMetrics.Operation.ENROLL);
+        assertEquals(1, enroll.getSuccessCount());
+        assertEquals(1, enroll.getRejectionCount(CourseFullException.class));
+        assertEquals(2, enroll.getLatency().getCount());
+        assertEquals(1, snapshot.get(EnrollmentMetrics.Operation.DROP)
+                .getRejectionCount(StudentNotFoundException.class));
+    }
+
+    @Test
+    @DisplayName("STUB - stage profiler should break enrollCourse down per repository call")
+    void testStageProfiler_EnrollBreakdown() {
+        // Arrange
+        Student student = new Student("S034", "Stage", "stage@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        courseRepositoryStub.addCourse(new Course("SP101", "Stages", 3, 40, 0, "Dr. Stage"));
+        enrollmentService.setStageProfiler(new StageProfiler());
+
+        // Act
+        enrollmentService.enrollCourse("S034", "SP101");
+
+        // Assert
+        Map<StageProfiler.Stage, LatencySnapshot> breakdown = enrollmentService.getStageProfiler()
+                .breakdown(EnrollmentMetrics.Operation.ENROLL);
+        assertEquals(StageProfiler.Stage.values().length, breakdown.size());
+        assertEquals(1, breakdown.get(StageProfiler.Stage.SEND_NOTIFICATION).getCount());
+    }
+
+    @Test
+    @DisplayName("STUB - traffic monitor should track the hottest course of enrollCourse attempts")
+    void testTrafficMonitor_HottestCourse() {
+        // Arrange
+        Student student = new Student("S035", "Hot", "hot@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        courseRepositoryStub.addCourse(new Course("HT101", "Hot Course", 3, 1, 1, "Dr. Hot"));
+        enrollmentService.setTrafficMonitor(new EnrollmentTrafficMonitor());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S035", "HT101"));
+        }
+
+        // Assert
+        EnrollmentTrafficMonitor monitor = enrollmentService.getTrafficMonitor();
+        assertEquals("HT101", monitor.hottestCourses().get(0).getKey());
+        assertEquals(5, monitor.mostActiveStudents().get(0).getCount());
+        assertTrue(monitor.isHotCourse("HT101", 0.5));
+    }
+
+    @Test
+    @DisplayName("STUB - enrollment repository should reject duplicate enroll and drop without enrollment")
+    void testEnrollmentRepository_RejectsDuplicateAndUnknownDrop() {
+        // Arrange
+        Student student = new Student("S036", "Record", "record@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        Course course = new Course("ER101", "Records", 3, 40, 0, "Dr. Record");
+        courseRepositoryStub.addCourse(course);
+        enrollmentService.setEnrollmentRepository(new InMemoryEnrollmentRepository());
+
+        // Act & Assert
+        enrollmentService.enrollCourse("S036", "ER101");
+        assertThrows(EnrollmentException.class, () -> enrollmentService.enrollCourse("S036", "ER101"));
+        assertEquals(1, course.getEnrolledCount());
+        assertEquals(1, enrollmentService.getEnrollments("S036").size());
+
+        enrollmentService.dropCourse("S036", "ER101");
+        assertThrows(EnrollmentException.class, () -> enrollmentService.dropCourse("S036", "ER101"));
+        assertEquals(0, course.getEnrolledCount());
+        assertTrue(enrollmentService.getEnrollments("S036").isEmpty());
+    }
+
+    @Test
+    @DisplayName("STUB - failing to save the enrollment should give back the saved seat and credits")
+    void testEnrollmentRepository_SaveFailureReturnsSeat() {
+        // Arrange
+        Student student = new Student("S039", "Unlucky", "unlucky@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        Course course = new Course("ER201", "Records", 3, 40, 5, "Dr. Record");
+        courseRepositoryStub.addCourse(course);
+        boolean[] failSave = {true};
+        enrollmentService.setEnrollmentRepository(new InMemoryEnrollmentRepository() {
+            @Override
+            public synchronized void save(Enrollment enrollment) {
+                if (failSave[0]) {
+                    throw new IllegalStateException("Enrollment store unavailable");
+                }
+                super.save(enrollment);
+            }
+        });
+        StudentCourseBitsets bitsets = new StudentCourseBitsets();
+        enrollmentService.setCourseBitsets(bitsets);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> enrollmentService.enrollCourse("S039", "ER201"));
+        assertEquals(5, courseRepositoryStub.findByCourseCode("ER201").getEnrolledCount());
+        assertEquals(0, enrollmentService.getCurrentCredits("S039"));
+        assertFalse(bitsets.contains("S039", "ER201"));
+
+        failSave[0] = false;
+        enrollmentService.enrollCourse("S039", "ER201");
+        assertEquals(6, courseRepositoryStub.findByCourseCode("ER201").getEnrolledCount());
+        assertEquals(3, enrollmentService.getCurrentCredits("S039"));
+    }
+
+    @Test
+    @DisplayName("STUB - course bitsets should block a second enroll before taking a seat")
+    void testCourseBitsets_DuplicateEnroll() {
+        // Arrange
+        Student student = new Student("S037", "Bits", "bits@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        Course course = new Course("BS101", "Bitsets", 3, 40, 0, "Dr. Bits");
+        courseRepositoryStub.addCourse(course);
+        courseRepositoryStub.addCourse(new Course("BS201", "Full", 3, 1, 1, "Dr. Bits"));
+        StudentCourseBitsets bitsets = new StudentCourseBitsets();
+        enrollmentService.setCourseBitsets(bitsets);
+
+        // Act & Assert
+        enrollmentService.enrollCourse("S037", "BS101");
+        assertThrows(EnrollmentException.class, () -> enrollmentService.enrollCourse("S037", "BS101"));
+        assertEquals(1, course.getEnrolledCount());
+
+        // A failed enroll must not leave its bit behind
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S037", "BS201"));
+        assertFalse(bitsets.contains("S037", "BS201"));
+
+        enrollmentService.dropCourse("S037", "BS101");
+        assertThrows(EnrollmentException.class, () -> enrollmentService.dropCourse("S037", "BS101"));
+        assertEquals(0, course.getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("STUB - swapCourse should move the seat and send a single notification")
+    void testSwapCourse_Success() {
+        // Arrange
+        Student student = new Student("S038", "Swap", "swap@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        Course from = new Course("SW101", "From", 3, 40, 0, "Dr. Swap");
+        Course to = new Course("SW201", "To", 4, 40, 0, "Dr. Swap");
+        courseRepositoryStub.addCourse(from);
+        courseRepositoryStub.addCourse(to);
+        enrollmentService.setCourseBitsets(new StudentCourseBitsets());
+        enrollmentService.enrollCourse("S038", "SW101");
+        notificationServiceStub.emailSentCount = 0;
+
+        // Act
+        Enrollment enrollment = enrollmentService.swapCourse("S038", "SW101", "SW201");
+
+        // Assert
+        assertEquals("SW201", enrollment.getCourseCode());
+        assertEquals(0, from.getEnrolledCount());
+        assertEquals(1, to.getEnrolledCount());
+        assertEquals(4, enrollmentService.getCurrentCredits("S038"));
+        assertEquals(1, notificationServiceStub.emailSentCount);
+        assertEquals("Course Swap Confirmation", notificationServiceStub.lastEmailSubject);
+        assertThrows(EnrollmentException.class, () -> enrollmentService.swapCourse("S038", "SW101", "SW201"));
+    }
+
+    @Test
+    @DisplayName("STUB - swapCourse should keep the current seat when the target is full")
+    void testSwapCourse_TargetFullKeepsSeat() {
+        // Arrange
+        Student student = new Student("S039", "Keep", "keep@email.com",
+                "CS", 3, 3.0, "ACTIVE");
+        studentRepositoryStub.addStudent(student);
+        Course from = new Course("KP101", "From", 3, 40, 0, "Dr. Keep");
+        Course to = new Course("KP201", "Full", 3, 10, 10, "Dr. Keep");
+        courseRepositoryStub.addCourse(from);
+        courseRepositoryStub.addCourse(to);
+        enrollmentService.enrollCourse("S039", "KP101");
+
+        // Act & Assert
+        assertThrows(CourseFullException.class, () -> enrollmentService.swapCourse("S039", "KP101", "KP201"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.swapCourse("S039", "KP101", "INVALID"));
+        assertEquals(1, from.getEnrolledCount());
+        assertEquals(10, to.getEnrolledCount());
+        assertEquals(3, enrollmentService.getCurrentCredits("S039"));
+    }
+
+    @Test
+    @DisplayName("STUB - opposite concurrent swaps between two courses should not deadlock or lose seats")
+    void testSwapCourse_ConcurrentOppositeSwaps() throws Exception {
+        // Arrange: half the students in A, half in B
+        Course a = new Course("CA101", "A", 3, 200, 0, "Dr. A");
+        Course b = new Course("CB101", "B", 3, 200, 0, "Dr. B");
+        courseRepositoryStub.addCourse(a);
+        courseRepositoryStub.addCourse(b);
+        enrollmentService.setCourseBitsets(new StudentCourseBitsets());
+        int students = 100;
+        for (int i = 0; i < students; i++) {
+            studentRepositoryStub.addStudent(new Student("X" + i, "Student", "x@email.com",
+                    "CS", 3, 3.0, "ACTIVE"));
+            enrollmentService.enrollCourse("X" + i, i % 2 == 0 ? "CA101" : "CB101");
+        }
+
+        // Act: each student swaps back and forth
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < students; i++) {
+                final String studentId = "X" + i;
+                final boolean startsInA = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 10; round++) {
+                        boolean inA = startsInA == (round % 2 == 0);
+                        enrollmentService.swapCourse(studentId, inA ? "CA101" : "CB101", inA ? "CB101" : "CA101");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: every student is back where they started
+        assertEquals(50, a.getEnrolledCount());
+        assertEquals(50, b.getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("STUB - enroll and drop racing with swaps on the same courses should keep counts consistent")
+    void testSwapCourse_RacesWithEnrollAndDrop() throws Exception {
+        // Arrange: a repository that hands out copies, like a real database would,
+        // so every read-modify-write spans two repository calls
+        Map<String, Course> stored = new ConcurrentHashMap<>();
+        stored.put("RA101", new Course("RA101", "A", 3, 20, 0, "Dr. A"));
+        stored.put("RB101", new Course("RB101", "B", 3, 20, 0, "Dr. B"));
+        CourseRepository copying = new CourseRepositoryStub() {
+            @Override
+            public Course findByCourseCode(String courseCode) {
+                Course course = stored.get(courseCode);
+                return course == null ? null : new Course(course);
+            }
+
+            @Override
+            public void update(Course course) {
+                stored.put(course.getCourseCode(), new Course(course));
+            }
+        };
+        EnrollmentService service = new EnrollmentService(studentRepositoryStub, copying,
+                notificationServiceStub, gradeCalculator);
+        InMemoryEnrollmentRepository enrollments = new InMemoryEnrollmentRepository();
+        service.setEnrollmentRepository(enrollments);
+        for (int i = 0; i < 40; i++) {
+            studentRepositoryStub.addStudent(new Student("R" + i, "Student", "r@email.com",
+                    "CS", 3, 3.0, "ACTIVE"));
+        }
+        // Swappers start in A, churners enroll and drop both courses
+        for (int i = 0; i < 10; i++) {
+            service.enrollCourse("R" + i, "RA101");
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final String studentId = "R" + i;
+                final boolean swapper = i < 10;
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        String code = round % 2 == 0 ? "RA101" : "RB101";
+                        String other = round % 2 == 0 ? "RB101" : "RA101";
+                        try {
+                            if (swapper) {
+                                service.swapCourse(studentId, code, other);
+                            } else if (round % 4 < 2) {
+                                service.enrollCourse(studentId, code);
+                            } else {
+                                service.dropCourse(studentId, other);
+                            }
+                        } catch (CourseFullException | EnrollmentException e) {
+                            // Expected under contention: full target or not (yet) enrolled
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: the seat counts match the enrollment records and never overflow
+        Course a = copying.findByCourseCode("RA101");
+        Course b = copying.findByCourseCode("RB101");
+        assertEquals(enrollments.findByCourse("RA101").size(), a.getEnrolledCount());
+        assertEquals(enrollments.findByCourse("RB101").size(), b.getEnrolledCount());
+        assertTrue(a.getEnrolledCount() <= 20);
+        assertTrue(b.getEnrolledCount() <= 20);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, enrollments.findByStudent("R" + i).size());
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.praktikum.service;
+
+import com.praktikum.model.Course;
+import com.praktikum.model.Student;
+import com.praktikum.repository.ObservableStudentRepository;
+import com.praktikum.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GpaDistributionService Tests")
+class GpaDistributionServiceTest {
+
+    private GpaDistributionService distributionService;
+    private ObservableStudentRepository studentRepository;
+    private int nextStudentId;
+
+    class StudentRepositoryStub implements StudentRepository {
+        private Map<String, Student> students = new HashMap<>();
+
+        @Override
+        public Student findById(String studentId) {
+            return students.get(studentId);
+        }
+
+        @Override
+        public void update(Student student) {
+            students.put(student.getStudentId(), student);
+        }
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            return new ArrayList<>();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        distributionService = new GpaDistributionService();
+        studentRepository = new ObservableStudentRepository(new StudentRepositoryStub());
+        studentRepository.addListener(distributionService);
+    }
+
+    private void addStudents(String major, int semester, double... gpas) {
+        for (double gpa : gpas) {
+            String id = "S" + (++nextStudentId);
+            studentRepository.update(new Student(id, "Student", id + "@email.com",
+                    major, semester, gpa, "ACTIVE"));
+        }
+    }
+
+    @Test
+    @DisplayName("percentile - Should return nearest-rank percentiles per major and semester")
+    void testPercentile_PerGroup() {
+        double[] gpas = new double[100];
+        for (int i = 0; i < 100; i++) {
+            gpas[i] = 2.0 + i * 0.02; // 2.00, 2.02, ..., 3.98
+        }
+        addStudents("Computer Science", 5, gpas);
+
+        assertEquals(2.98, distributionService.percentile("Computer Science", 5, 50));
+        assertEquals(3.78, distributionService.percentile("Computer Science", 5, 90));
+        assertEquals(3.96, distributionService.percentile("Computer Science", 5, 99));
+        assertEquals(100, distributionService.count("Computer Science", 5));
+    }
+
+    @Test
+    @DisplayName("percentile - Should return 0.0 for unknown group")
+    void testPercentile_EmptyGroup() {
+        assertEquals(0.0, distributionService.percentile("Unknown", 1, 50));
+        assertEquals(0.0, distributionService.majorPercentile("Unknown", 50));
+        assertEquals(0, distributionService.count("Unknown", 1));
+    }
+
+    @Test
+    @DisplayName("onStudentUpdated - Should move student when GPA, major or semester changes")
+    void testOnStudentUpdated_MovesStudent() {
+        Student student = new Student("S001", "John Doe", "john@email.com",
+                "Computer Science", 3, 3.5, "ACTIVE");
+        studentRepository.update(student);
+        assertEquals(3.5, distributionService.percentile("Computer Science", 3, 50));
+
+        studentRepository.update(new Student("S001", "John Doe", "john@email.com",
+                "Computer Science", 3, 2.1, "PROBATION"));
+        assertEquals(2.1, distributionService.percentile("Computer Science", 3, 50));
+        assertEquals(1, distributionService.count("Computer Science", 3));
+
+        studentRepository.update(new Student("S001", "John Doe", "john@email.com",
+                "Data Science", 4, 2.1, "PROBATION"));
+        assertEquals(0, distributionService.count("Computer Science", 3));
+        assertEquals(1, distributionService.count("Data Science", 4));
+    }
+
+    @Test
+    @DisplayName("majorPercentile - Should merge all semesters of a major")
+    void testMajorPercentile() {
+        addStudents("Information Systems", 1, 1.0, 2.0);
+        addStudents("Information Systems", 3, 3.0, 4.0);
+
+        assertEquals(2.0, distributionService.majorPercentile("Information Systems", 50));
+        assertEquals(4.0, distributionService.majorPercentile("Information Systems", 99));
+    }
+
+    @Test
+    @DisplayName("campusPercentile - Should merge every major and semester")
+    void testCampusPercentile() {
+        addStudents("Computer Science", 1, 3.0, 3.2);
+        addStudents("Data Science", 2, 2.0, 2.2);
+        addStudents("Software Engineering", 7, 4.0);
+
+        assertEquals(5, distributionService.campusHistogram().count());
+        assertEquals(2.0, distributionService.campusPercentile(0));
+        assertEquals(3.0, distributionService.campusPercentile(50));
+        assertEquals(4.0, distributionService.campusPercentile(100));
+    }
+
+    @Test
+    @DisplayName("GpaHistogram - Should reject percentile outside 0-100")
+    void testHistogram_InvalidPercentile() {
+        GpaHistogram histogram = new GpaHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-1));
+    }
+}
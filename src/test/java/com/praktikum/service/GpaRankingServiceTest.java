@@ -0,0 +1,95 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.StudentNotFoundException;
+import com.praktikum.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GpaRankingService Tests")
+class GpaRankingServiceTest {
+
+    private GpaRankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new GpaRankingService();
+        rankingService.onStudentUpdated(new Student("S001", "Alice", "alice@email.com",
+                "Computer Science", 5, 3.9, "ACTIVE"));
+        rankingService.onStudentUpdated(new Student("S002", "Bob", "bob@email.com",
+                "Computer Science", 5, 3.5, "ACTIVE"));
+        rankingService.onStudentUpdated(new Student("S003", "Charlie", "charlie@email.com",
+                "Computer Science", 5, 3.5, "ACTIVE"));
+        rankingService.onStudentUpdated(new Student("S004", "Diana", "diana@email.com",
+                "Computer Science", 3, 4.0, "ACTIVE"));
+        rankingService.onStudentUpdated(new Student("S005", "Edward", "edward@email.com",
+                "Data Science", 5, 3.7, "ACTIVE"));
+    }
+
+    private static String[] ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("top - Should return top-K of a major and semester ordered by GPA")
+    void testTop_Cohort() {
+        assertArrayEquals(new String[]{"S001", "S002", "S003"},
+                ids(rankingService.top("Computer Science", 5, 50)));
+        assertArrayEquals(new String[]{"S001", "S002"},
+                ids(rankingService.top("Computer Science", 5, 2)));
+        assertTrue(rankingService.top("Computer Science", 7, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("topByMajor / topBySemester - Should rank across the wider group")
+    void testTop_MajorAndSemester() {
+        assertArrayEquals(new String[]{"S004", "S001"},
+                ids(rankingService.topByMajor("Computer Science", 2)));
+        assertArrayEquals(new String[]{"S001", "S005", "S002", "S003"},
+                ids(rankingService.topBySemester(5, 10)));
+    }
+
+    @Test
+    @DisplayName("rank - Should give equal GPA the same competition rank")
+    void testRank_Ties() {
+        assertEquals(1, rankingService.rank("S001"));
+        assertEquals(2, rankingService.rank("S002"));
+        assertEquals(2, rankingService.rank("S003"));
+        assertEquals(3, rankingService.rankInMajor("S002"));
+        assertEquals(3, rankingService.rankInSemester("S002"));
+    }
+
+    @Test
+    @DisplayName("onStudentUpdated - Should re-rank student after GPA change")
+    void testOnStudentUpdated_GpaChange() {
+        rankingService.onStudentUpdated(new Student("S003", "Charlie", "charlie@email.com",
+                "Computer Science", 5, 3.95, "ACTIVE"));
+
+        assertEquals(1, rankingService.rank("S003"));
+        assertEquals(2, rankingService.rank("S001"));
+        assertEquals(3, rankingService.rank("S002"));
+        assertEquals(3, rankingService.top("Computer Science", 5, 50).size());
+    }
+
+    @Test
+    @DisplayName("onStudentUpdated - Should move student between groups")
+    void testOnStudentUpdated_GroupChange() {
+        rankingService.onStudentUpdated(new Student("S001", "Alice", "alice@email.com",
+                "Computer Science", 6, 3.9, "ACTIVE"));
+
+        assertArrayEquals(new String[]{"S002", "S003"},
+                ids(rankingService.top("Computer Science", 5, 50)));
+        assertArrayEquals(new String[]{"S001"},
+                ids(rankingService.top("Computer Science", 6, 50)));
+    }
+
+    @Test
+    @DisplayName("rank - Should throw StudentNotFoundException for unknown student")
+    void testRank_UnknownStudent() {
+        assertThrows(StudentNotFoundException.class, () -> rankingService.rank("UNKNOWN"));
+    }
+}
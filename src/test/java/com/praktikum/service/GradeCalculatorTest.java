@@ -11,6 +11,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -374,4 +375,91 @@ class GradeCalculatorTest {
         assertEquals(18, gradeCalculator.calculateMaxCredits(2.0));
         assertEquals(15, gradeCalculator.calculateMaxCredits(1.99));
     }
+
+    // ==================== Lookup Table Equivalence Tests ====================
+
+    /**
+     * Referensi aturan bercabang asli, dipakai untuk membandingkan hasil tabel
+     */
+    private static String referenceAcademicStatus(double gpa, int semester) {
+        if (semester <= 2) {
+            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+        }
+        if (semester <= 4) {
+            if (gpa >= 2.25) return "ACTIVE";
+            if (gpa >= 2.0) return "PROBATION";
+            return "SUSPENDED";
+        }
+        if (gpa >= 2.5) return "ACTIVE";
+        if (gpa >= 2.0) return "PROBATION";
+        return "SUSPENDED";
+    }
+
+    private static int referenceMaxCredits(double gpa) {
+        if (gpa >= 3.0) return 24;
+        if (gpa >= 2.5) return 21;
+        if (gpa >= 2.0) return 18;
+        return 15;
+    }
+
+    private void assertMatchesReference(double gpa) {
+        for (int semester = 1; semester <= 14; semester++) {
+            assertEquals(referenceAcademicStatus(gpa, semester),
+                    gradeCalculator.determineAcademicStatus(gpa, semester),
+                    "status for gpa=" + gpa + ", semester=" + semester);
+        }
+        assertEquals(referenceMaxCredits(gpa), gradeCalculator.calculateMaxCredits(gpa),
+                "max credits for gpa=" + gpa);
+    }
+
+    @Test
+    @DisplayName("Lookup table - Should match branch rules for every GPA step 0.00-4.00")
+    void testLookupTable_AllHundredths() {
+        for (int i = 0; i <= 400; i++) {
+            assertMatchesReference(i / 100.0);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {2.0, 2.25, 2.5, 3.0})
+    @DisplayName("Lookup table - Should match branch rules exactly around rule boundaries")
+    void testLookupTable_Boundaries(double boundary) {
+        assertMatchesReference(boundary);
+        assertMatchesReference(Math.nextDown(boundary));
+        assertMatchesReference(Math.nextUp(boundary));
+        assertMatchesReference(boundary - 0.001);
+        assertMatchesReference(boundary - 0.0000001);
+    }
+
+    @Test
+    @DisplayName("Lookup table - Should match branch rules for the GPA range endpoints")
+    void testLookupTable_RangeEndpoints() {
+        assertMatchesReference(0.0);
+        assertMatchesReference(Double.MIN_VALUE);
+        assertMatchesReference(Math.nextDown(4.0));
+        assertMatchesReference(4.0);
+    }
+
+    @Test
+    @DisplayName("Lookup table - Should match branch rules for random GPA values")
+    void testLookupTable_RandomValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double gpa = random.nextDouble() * 4.0;
+            int semester = 1 + random.nextInt(14);
+            assertEquals(referenceAcademicStatus(gpa, semester),
+                    gradeCalculator.determineAcademicStatus(gpa, semester));
+            assertEquals(referenceMaxCredits(gpa), gradeCalculator.calculateMaxCredits(gpa));
+        }
+    }
+
+    @Test
+    @DisplayName("gpaIndex - Should keep values just below a step in the previous step")
+    void testGpaIndex_StepEdges() {
+        assertEquals(0, GradeCalculator.gpaIndex(0.0));
+        assertEquals(225, GradeCalculator.gpaIndex(2.25));
+        assertEquals(224, GradeCalculator.gpaIndex(Math.nextDown(2.25)));
+        assertEquals(29, GradeCalculator.gpaIndex(0.29));
+        assertEquals(400, GradeCalculator.gpaIndex(4.0));
+    }
 }
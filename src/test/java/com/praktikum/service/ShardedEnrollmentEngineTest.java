@@ -0,0 +1,163 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.CourseFullException;
+import com.praktikum.exception.EnrollmentException;
+import com.praktikum.metrics.EnrollmentMetrics;
+import com.praktikum.model.Course;
+import com.praktikum.model.Enrollment;
+import com.praktikum.model.Student;
+import com.praktikum.repository.InMemoryCourseRepository;
+import com.praktikum.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ShardedEnrollmentEngine Tests")
+class ShardedEnrollmentEngineTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private EnrollmentService enrollmentService;
+    private ShardedEnrollmentEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        for (int i = 0; i < 200; i++) {
+            studentRepository.update(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        engine = new ShardedEnrollmentEngine(enrollmentService, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("Concurrent enrollments should never exceed capacity")
+    void testConcurrentEnrollRespectsCapacity() throws Exception {
+        courseRepository.update(new Course("CS101", "Algorithms", 3, 50, 0, "Dr. Smith"));
+        courseRepository.update(new Course("CS102", "Databases", 3, 50, 0, "Dr. Jones"));
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<Future<List<CompletableFuture<Enrollment>>>> batches = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 50;
+            batches.add(callers.submit(() -> {
+                List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+                for (int i = offset; i < offset + 50; i++) {
+                    futures.add(engine.submitEnroll("S" + i, i % 2 == 0 ? "CS101" : "CS102"));
+                }
+                return futures;
+            }));
+        }
+
+        int succeeded = 0;
+        int full = 0;
+        for (Future<List<CompletableFuture<Enrollment>>> batch : batches) {
+            for (CompletableFuture<Enrollment> future : batch.get()) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(CourseFullException.class, e.getCause());
+                    full++;
+                }
+            }
+        }
+        callers.shutdown();
+
+        assertEquals(100, succeeded);
+        assertEquals(100, full);
+        assertEquals(50, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(50, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+        assertEquals(100, enrollmentService.getMetrics().snapshot()
+                .get(EnrollmentMetrics.Operation.ENROLL).getRejectionCount(CourseFullException.class));
+    }
+
+    @Test
+    @DisplayName("Student checks should fail before the command reaches a shard")
+    void testSuspendedStudentRejectedBeforeRouting() {
+        studentRepository.update(new Student("SUS", "Suspended", "sus@email.com",
+                "Computer Science", 3, 1.5, "SUSPENDED"));
+
+        CompletableFuture<Enrollment> future = engine.submitEnroll("SUS", "CS404");
+
+        assertTrue(future.isCompletedExceptionally());
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(EnrollmentException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Drop should be applied on the owning shard after the enrollment")
+    void testEnrollThenDrop() {
+        courseRepository.update(new Course("CS201", "Networks", 3, 10, 0, "Dr. Net"));
+
+        engine.submitEnroll("S1", "CS201").join();
+        engine.submitDrop("S1", "CS201").join();
+
+        assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+        assertEquals(0, enrollmentService.getCurrentCredits("S1"));
+    }
+
+    @Test
+    @DisplayName("An Error in one command should fail its future and keep the shard running")
+    void testErrorDoesNotKillShard() {
+        NotificationService notificationService = mock(NotificationService.class);
+        doThrow(new AssertionError("mail client broke")).doNothing()
+                .when(notificationService).sendEmail(anyString(), anyString(), anyString());
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator());
+        courseRepository.update(new Course("CS301", "Compilers", 3, 10, 0, "Dr. Aho"));
+
+        try (ShardedEnrollmentEngine singleShard = new ShardedEnrollmentEngine(service, 1)) {
+            CompletableFuture<Enrollment> broken = singleShard.submitEnroll("S1", "CS301");
+            CompletableFuture<Enrollment> next = singleShard.submitEnroll("S2", "CS301");
+
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> broken.orTimeout(5, TimeUnit.SECONDS).join());
+            assertInstanceOf(AssertionError.class, exception.getCause());
+            assertEquals("S2", next.orTimeout(5, TimeUnit.SECONDS).join().getStudentId());
+        }
+        assertEquals(1, service.getMetrics().snapshot()
+                .get(EnrollmentMetrics.Operation.ENROLL).getRejectionCount(AssertionError.class));
+    }
+
+    @Test
+    @DisplayName("Shard assignment should be stable and within range")
+    void testShardFor() {
+        int shard = engine.shardFor("CS101");
+
+        assertEquals(shard, engine.shardFor("CS101"));
+        assertTrue(shard >= 0 && shard < engine.getShardCount());
+    }
+
+    @Test
+    @DisplayName("Closed engine should reject new commands")
+    void testClosedEngine() {
+        engine.close();
+
+        assertThrows(IllegalStateException.class, () -> engine.submitEnroll("S1", "CS101"));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedEnrollmentEngine(enrollmentService, 0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.praktikum.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StudentCourseBitsets Tests")
+class StudentCourseBitsetsTest {
+
+    private StudentCourseBitsets bitsets;
+
+    @BeforeEach
+    void setUp() {
+        bitsets = new StudentCourseBitsets();
+    }
+
+    @Test
+    @DisplayName("add should report duplicates and remove should report unknown drops")
+    void testAddAndRemove() {
+        assertTrue(bitsets.add("S001", "CS101"));
+        assertFalse(bitsets.add("S001", "CS101"));
+        assertTrue(bitsets.add("S002", "CS101"));
+
+        assertTrue(bitsets.contains("S001", "CS101"));
+        assertFalse(bitsets.contains("S001", "CS201"));
+        assertFalse(bitsets.remove("S001", "CS201"));
+        assertFalse(bitsets.remove("UNKNOWN", "CS101"));
+
+        assertTrue(bitsets.remove("S001", "CS101"));
+        assertFalse(bitsets.remove("S001", "CS101"));
+        assertTrue(bitsets.contains("S002", "CS101"));
+    }
+
+    @Test
+    @DisplayName("Bits past the first page should be allocated on demand")
+    void testMultiplePages() {
+        for (int i = 0; i < 3000; i++) {
+            bitsets.add("FILLER", "C" + i);
+        }
+        bitsets.add("S001", "C5");
+        bitsets.add("S001", "C2500");
+
+        assertEquals(3000, bitsets.getCourseCount());
+        assertEquals(3000, bitsets.countCourses("FILLER"));
+        assertEquals(List.of("C5", "C2500"), bitsets.coursesOf("S001"));
+        assertFalse(bitsets.contains("S001", "C1500"));
+        assertEquals(0, bitsets.countCourses("UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("Concurrent adds of the same pair should succeed exactly once")
+    void testConcurrentAdds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    // Different bits in the same word must not clobber each other
+                    for (int c = 0; c < 64; c++) {
+                        if (bitsets.add("S001", "C" + c) && c == 0) {
+                            winners.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, winners.get());
+        assertEquals(64, bitsets.countCourses("S001"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.praktikum.service;
+
+import com.praktikum.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StudentRateLimiter Tests")
+class StudentRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong clock;
+    private StudentRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(100 * SECOND);
+        // 2 permintaan per detik, burst 3, bucket idle dibuang setelah 60 detik
+        limiter = new StudentRateLimiter(2.0, 3, 60 * SECOND, clock::get);
+    }
+
+    @Test
+    @DisplayName("Burst should be allowed and the next request rejected")
+    void testBurst() {
+        assertTrue(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S001"));
+        assertFalse(limiter.tryAcquire("S001"));
+    }
+
+    @Test
+    @DisplayName("Tokens should refill lazily at the configured rate")
+    void testRefill() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("S001");
+        }
+
+        clock.addAndGet(SECOND / 2);
+
+        assertTrue(limiter.tryAcquire("S001"));
+        assertFalse(limiter.tryAcquire("S001"));
+    }
+
+    @Test
+    @DisplayName("Buckets should be independent per student")
+    void testPerStudent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("S001");
+        }
+
+        assertFalse(limiter.tryAcquire("S001"));
+        assertTrue(limiter.tryAcquire("S002"));
+    }
+
+    @Test
+    @DisplayName("acquire should throw RateLimitExceededException when rejected")
+    void testAcquireThrows() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("S001");
+        }
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("S001"));
+        assertTrue(exception.getMessage().contains("S001"));
+    }
+
+    @Test
+    @DisplayName("Idle buckets should be evicted, active ones kept")
+    void testIdleEviction() {
+        limiter.tryAcquire("IDLE");
+        clock.addAndGet(61 * SECOND);
+        limiter.tryAcquire("ACTIVE");
+
+        assertEquals(1, limiter.trackedStudents());
+        assertTrue(limiter.tryAcquire("IDLE"));
+    }
+
+    @Test
+    @DisplayName("Non-positive rate should throw IllegalArgumentException")
+    void testInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new StudentRateLimiter(0, 1));
+    }
+}
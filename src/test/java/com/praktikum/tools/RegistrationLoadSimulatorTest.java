@@ -0,0 +1,70 @@
+package com.praktikum.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RegistrationLoadSimulator Tests")
+class RegistrationLoadSimulatorTest {
+
+    private RegistrationLoadSimulator smallSimulator(int threads) {
+        RegistrationLoadSimulator simulator = new RegistrationLoadSimulator();
+        simulator.setStudents(500);
+        simulator.setCourses(50);
+        simulator.setThreads(threads);
+        simulator.setOperationsPerThread(2_000);
+        return simulator;
+    }
+
+    @Test
+    @DisplayName("run - Should report every operation and keep invariants with one thread")
+    void testRun_SingleThread() throws InterruptedException {
+        RegistrationLoadSimulator.SimulationReport report = smallSimulator(1).run();
+
+        assertEquals(2_000, report.getOperations());
+        assertTrue(report.getSuccessfulEnrollments() > 0);
+        assertTrue(report.isConsistent(), report.toString());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.latencyMicros(99) >= report.latencyMicros(50));
+    }
+
+    @Test
+    @DisplayName("run - Should produce unique enrollment IDs with concurrent workers")
+    void testRun_UniqueEnrollmentIds() throws InterruptedException {
+        RegistrationLoadSimulator.SimulationReport report = smallSimulator(4).run();
+
+        assertEquals(8_000, report.getOperations());
+        assertFalse(report.getViolations().stream().anyMatch(v -> v.contains("duplicate")),
+                report.toString());
+    }
+
+    @Test
+    @DisplayName("run - Optimistic course updates should keep counts exact with concurrent workers")
+    void testRun_OptimisticConcurrentWorkers() throws InterruptedException {
+        RegistrationLoadSimulator simulator = smallSimulator(4);
+        simulator.setOptimistic(true);
+
+        RegistrationLoadSimulator.SimulationReport report = simulator.run();
+
+        assertEquals(8_000, report.getOperations());
+        assertTrue(report.isConsistent(), report.toString());
+    }
+
+    @Test
+    @DisplayName("ZipfSampler - Should favour low indexes when skewed")
+    void testZipfSampler_Skew() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.2);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] hits = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.next(random)]++;
+        }
+
+        assertTrue(hits[0] > hits[9] * 5);
+        assertTrue(hits[99] > 0);
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}